@@ -11,5 +11,5 @@ import org.springframework.scheduling.annotation.EnableAsync;
 @EnableAsync
 public class AsyncConfig {
     // Async processing enabled for audit logging
-    // Uses default task executor from Spring Boot
+    // Uses default task executor from Spring Boot, or virtual threads (see VirtualThreadConfig)
 }
@@ -0,0 +1,79 @@
+package com.wom.auth.config;
+
+import com.wom.auth.ratelimit.DistributedRateLimiter;
+import com.wom.auth.ratelimit.LocalRateLimiter;
+import com.wom.auth.ratelimit.RateLimitPolicy;
+import com.wom.auth.ratelimit.RateLimitPolicyResolver;
+import com.wom.auth.ratelimit.RateLimiter;
+import com.wom.auth.repository.redis.RateLimitRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rate limiter selection and per-endpoint policies.
+ * {@code rate-limit.mode=local} keeps buckets in memory per replica;
+ * {@code rate-limit.mode=distributed} shares them across replicas through Redis.
+ */
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+
+    private final RateLimitProperties properties;
+
+    public RateLimitConfig(RateLimitProperties properties) {
+        this.properties = properties;
+    }
+
+    @Bean
+    public RateLimitPolicyResolver rateLimitPolicyResolver() {
+        Map<RateLimitPolicy, List<String>> endpointPaths = new LinkedHashMap<>();
+        endpointPaths.put(properties.getLogin().toPolicy("login"), properties.getLogin().getPaths());
+        endpointPaths.put(properties.getRefresh().toPolicy("refresh"), properties.getRefresh().getPaths());
+        endpointPaths.put(properties.getLogout().toPolicy("logout"), properties.getLogout().getPaths());
+
+        Map<RateLimitPolicy, List<String>> dedicatedPaths = Map.of(
+                properties.getIntrospection().toPolicy("introspection"), properties.getIntrospection().getPaths());
+
+        return new RateLimitPolicyResolver(
+                properties.getGeneral().toPolicy("general"),
+                endpointPaths,
+                dedicatedPaths,
+                properties.getExemptPaths()
+        );
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "rate-limit.mode", havingValue = "local", matchIfMissing = true)
+    public RateLimiter localRateLimiter(MeterRegistry meterRegistry) {
+        return createLocalRateLimiter(meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "rate-limit.mode", havingValue = "distributed")
+    public RateLimiter distributedRateLimiter(RateLimitRepository rateLimitRepository, MeterRegistry meterRegistry) {
+        return new DistributedRateLimiter(
+                rateLimitRepository,
+                createLocalRateLimiter(meterRegistry),
+                properties.getDistributed().getPrefetchTokens(),
+                properties.getDistributed().getPrefetchLeaseMs(),
+                properties.getMaxTrackedKeys(),
+                meterRegistry
+        );
+    }
+
+    private LocalRateLimiter createLocalRateLimiter(MeterRegistry meterRegistry) {
+        return new LocalRateLimiter(
+                properties.getMaxTrackedKeys(),
+                Duration.ofMinutes(properties.getIdleTimeoutMinutes()),
+                meterRegistry
+        );
+    }
+}
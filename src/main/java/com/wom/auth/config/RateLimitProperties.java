@@ -0,0 +1,91 @@
+package com.wom.auth.config;
+
+import com.wom.auth.ratelimit.RateLimitPolicy;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Typed binding of the {@code rate-limit.*} properties.
+ */
+@Data
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * local: in-memory buckets per replica; distributed: buckets shared in Redis.
+     */
+    private String mode = "local";
+
+    private long maxTrackedKeys = 100_000;
+
+    private long idleTimeoutMinutes = 10;
+
+    private Distributed distributed = new Distributed();
+
+    /**
+     * Per-client ceiling charged for every non-exempt request.
+     */
+    private Limit general = limit(100, List.of(), RateLimitPolicy.KeyStrategy.CLIENT);
+
+    private Limit login = limit(5, List.of("/auth/login"), RateLimitPolicy.KeyStrategy.CLIENT_AND_IDENTIFIER);
+
+    private Limit refresh = limit(10, List.of("/auth/refresh"), RateLimitPolicy.KeyStrategy.CLIENT);
+
+    private Limit logout = limit(10, List.of("/auth/logout", "/auth/logout-all"), RateLimitPolicy.KeyStrategy.CLIENT);
+
+    /**
+     * Charged instead of the general limit: a gateway introspects tokens for all
+     * of its traffic from one client address.
+     */
+    private Limit introspection = limit(3000, List.of("/auth/introspect"), RateLimitPolicy.KeyStrategy.CLIENT);
+
+    /**
+     * Paths that are never throttled (exact paths or prefixes ending in /**).
+     */
+    private List<String> exemptPaths = new ArrayList<>(List.of(
+            "/actuator/**",
+            "/swagger-ui/**",
+            "/swagger-ui.html",
+            "/v3/api-docs/**",
+            "/swagger-resources/**",
+            "/webjars/**"
+    ));
+
+    @Data
+    public static class Limit {
+        private long capacity;
+        private long refillTokens;
+        private long refillDurationMinutes = 1;
+        private List<String> paths = new ArrayList<>();
+        private RateLimitPolicy.KeyStrategy keyBy = RateLimitPolicy.KeyStrategy.CLIENT;
+
+        public RateLimitPolicy toPolicy(String name) {
+            return new RateLimitPolicy(
+                    name,
+                    capacity,
+                    refillTokens,
+                    Duration.ofMinutes(refillDurationMinutes),
+                    keyBy
+            );
+        }
+    }
+
+    @Data
+    public static class Distributed {
+        private long prefetchTokens = 10;
+        private long prefetchLeaseMs = 1000;
+    }
+
+    private static Limit limit(long tokensPerMinute, List<String> paths, RateLimitPolicy.KeyStrategy keyBy) {
+        Limit limit = new Limit();
+        limit.setCapacity(tokensPerMinute);
+        limit.setRefillTokens(tokensPerMinute);
+        limit.setPaths(new ArrayList<>(paths));
+        limit.setKeyBy(keyBy);
+        return limit;
+    }
+}
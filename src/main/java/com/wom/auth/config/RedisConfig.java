@@ -1,20 +1,75 @@
 package com.wom.auth.config;
 
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.ReadFrom;
+import io.lettuce.core.SocketOptions;
+import io.lettuce.core.TimeoutOptions;
+import io.lettuce.core.cluster.ClusterClientOptions;
+import io.lettuce.core.cluster.ClusterTopologyRefreshOptions;
+import io.lettuce.core.metrics.MicrometerCommandLatencyRecorder;
+import io.lettuce.core.metrics.MicrometerOptions;
+import io.lettuce.core.resource.ClientResources;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.data.redis.connection.RedisClusterConfiguration;
+import org.springframework.data.redis.connection.RedisConfiguration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisSentinelConfiguration;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnection;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettucePoolingClientConfiguration;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+
 /**
  * Redis configuration for token storage and rate limiting.
+ *
+ * Single commands share one multiplexed Lettuce connection; pipelines (refresh
+ * token store, bulk revocation, revocation checks) take a dedicated connection
+ * from the {@code spring.redis.lettuce.pool} pool. Every command fails after
+ * {@code spring.redis.timeout} instead of blocking the request thread while
+ * Redis stalls, and its latency is published as {@code lettuce.command.*} metrics.
+ *
+ * {@code redis.mode} selects the topology: a single node ({@code standalone}),
+ * a primary found through Sentinel ({@code sentinel}), or Redis Cluster
+ * ({@code cluster}), whose topology is refreshed periodically and on
+ * MOVED/ASK redirects. Writes always go to the primary; in the replicated
+ * modes, {@code replicaRedisTemplate} serves blacklist lookups from replicas.
  */
 @Configuration
 public class RedisConfig {
 
+    /** Commands buffered before a pipeline is written to the socket. */
+    private static final int PIPELINE_FLUSH_BUFFER = 64;
+
+    private static final Duration DEFAULT_COMMAND_TIMEOUT = Duration.ofSeconds(1);
+
+    public enum Mode {
+        STANDALONE,
+        SENTINEL,
+        CLUSTER
+    }
+
+    @Value("${redis.mode:standalone}")
+    private Mode redisMode = Mode.STANDALONE;
+
     @Value("${spring.redis.host}")
     private String redisHost;
 
@@ -24,21 +79,112 @@ public class RedisConfig {
     @Value("${spring.redis.password:}")
     private String redisPassword;
 
+    @Value("${spring.redis.sentinel.master:}")
+    private String sentinelMaster;
+
+    @Value("${spring.redis.sentinel.nodes:}")
+    private List<String> sentinelNodes = List.of();
+
+    @Value("${spring.redis.sentinel.password:}")
+    private String sentinelPassword;
+
+    @Value("${spring.redis.cluster.nodes:}")
+    private List<String> clusterNodes = List.of();
+
+    @Value("${spring.redis.cluster.max-redirects:3}")
+    private int clusterMaxRedirects = 3;
+
+    @Bean(destroyMethod = "shutdown")
+    public ClientResources lettuceClientResources(MeterRegistry meterRegistry) {
+        return ClientResources.builder()
+                .commandLatencyRecorder(new MicrometerCommandLatencyRecorder(meterRegistry,
+                        MicrometerOptions.builder().histogram(true).build()))
+                .build();
+    }
+
     @Bean
-    public LettuceConnectionFactory redisConnectionFactory() {
-        RedisStandaloneConfiguration config = new RedisStandaloneConfiguration();
-        config.setHostName(redisHost);
-        config.setPort(redisPort);
-        
-        if (redisPassword != null && !redisPassword.isEmpty()) {
-            config.setPassword(redisPassword);
+    public LettuceClientConfiguration lettuceClientConfiguration(ClientResources clientResources,
+                                                                 RedisProperties redisProperties) {
+        return clientConfiguration(clientResources, redisProperties, null);
+    }
+
+    /**
+     * @param readFrom replica selection for reads, or null to read from the primary only
+     */
+    private LettuceClientConfiguration clientConfiguration(ClientResources clientResources,
+                                                           RedisProperties redisProperties,
+                                                           ReadFrom readFrom) {
+        Duration commandTimeout = redisProperties.getTimeout() != null
+                ? redisProperties.getTimeout()
+                : DEFAULT_COMMAND_TIMEOUT;
+        SocketOptions.Builder socketOptions = SocketOptions.builder();
+        if (redisProperties.getConnectTimeout() != null) {
+            socketOptions.connectTimeout(redisProperties.getConnectTimeout());
+        }
+        ClientOptions clientOptions = clientOptionsBuilder(redisProperties)
+                .socketOptions(socketOptions.build())
+                .timeoutOptions(TimeoutOptions.enabled(commandTimeout))
+                .build();
+
+        LettucePoolingClientConfiguration.LettucePoolingClientConfigurationBuilder builder =
+                LettucePoolingClientConfiguration.builder()
+                        .clientResources(clientResources)
+                        .clientOptions(clientOptions)
+                        .commandTimeout(commandTimeout);
+        if (readFrom != null) {
+            builder.readFrom(readFrom);
+        }
+        RedisProperties.Pool pool = redisProperties.getLettuce().getPool();
+        if (pool != null) {
+            builder.poolConfig(poolConfig(pool));
         }
-        
-        return new LettuceConnectionFactory(config);
+        if (redisProperties.isSsl()) {
+            builder.useSsl();
+        }
+        return builder.build();
+    }
+
+    @Bean
+    @Primary
+    public LettuceConnectionFactory redisConnectionFactory(LettuceClientConfiguration lettuceClientConfiguration) {
+        return connectionFactory(lettuceClientConfiguration);
+    }
+
+    /**
+     * Connection factory that prefers replicas for reads. Only declared in the
+     * replicated modes; a standalone node has no replicas to read from.
+     */
+    @Bean("replicaRedisConnectionFactory")
+    @Conditional(ReplicatedModeCondition.class)
+    public LettuceConnectionFactory replicaRedisConnectionFactory(ClientResources clientResources,
+                                                                  RedisProperties redisProperties) {
+        return connectionFactory(clientConfiguration(clientResources, redisProperties, ReadFrom.REPLICA_PREFERRED));
+    }
+
+    private LettuceConnectionFactory connectionFactory(LettuceClientConfiguration clientConfiguration) {
+        LettuceConnectionFactory factory = new LettuceConnectionFactory(topology(), clientConfiguration);
+        factory.setPipeliningFlushPolicy(LettuceConnection.PipeliningFlushPolicy.buffered(PIPELINE_FLUSH_BUFFER));
+        return factory;
     }
 
     @Bean
+    @Primary
     public RedisTemplate<String, String> redisTemplate(RedisConnectionFactory connectionFactory) {
+        return stringTemplate(connectionFactory);
+    }
+
+    /**
+     * Template for reads that tolerate replication lag. In standalone mode there
+     * is no replica connection factory and it shares the primary one.
+     */
+    @Bean
+    public RedisTemplate<String, String> replicaRedisTemplate(
+            RedisConnectionFactory connectionFactory,
+            @Qualifier("replicaRedisConnectionFactory") Optional<RedisConnectionFactory> replicaConnectionFactory) {
+        return stringTemplate(replicaConnectionFactory.orElse(connectionFactory));
+    }
+
+    private static RedisTemplate<String, String> stringTemplate(RedisConnectionFactory connectionFactory) {
         RedisTemplate<String, String> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
         template.setKeySerializer(new StringRedisSerializer());
@@ -57,4 +203,88 @@ public class RedisConfig {
         template.afterPropertiesSet();
         return template;
     }
+
+    RedisConfiguration topology() {
+        switch (redisMode) {
+            case SENTINEL:
+                if (sentinelMaster == null || sentinelMaster.isBlank() || sentinelNodes.isEmpty()) {
+                    throw new IllegalStateException(
+                            "redis.mode=sentinel requires spring.redis.sentinel.master and spring.redis.sentinel.nodes");
+                }
+                RedisSentinelConfiguration sentinel =
+                        new RedisSentinelConfiguration(sentinelMaster, new HashSet<>(sentinelNodes));
+                if (hasText(redisPassword)) {
+                    sentinel.setPassword(redisPassword);
+                }
+                if (hasText(sentinelPassword)) {
+                    sentinel.setSentinelPassword(sentinelPassword);
+                }
+                return sentinel;
+            case CLUSTER:
+                if (clusterNodes.isEmpty()) {
+                    throw new IllegalStateException("redis.mode=cluster requires spring.redis.cluster.nodes");
+                }
+                RedisClusterConfiguration cluster = new RedisClusterConfiguration(clusterNodes);
+                cluster.setMaxRedirects(clusterMaxRedirects);
+                if (hasText(redisPassword)) {
+                    cluster.setPassword(redisPassword);
+                }
+                return cluster;
+            default:
+                RedisStandaloneConfiguration standalone = new RedisStandaloneConfiguration();
+                standalone.setHostName(redisHost);
+                standalone.setPort(redisPort);
+                if (hasText(redisPassword)) {
+                    standalone.setPassword(redisPassword);
+                }
+                return standalone;
+        }
+    }
+
+    /**
+     * Cluster clients re-read the slot map every {@code spring.redis.lettuce.cluster.refresh.period}
+     * and, when adaptive refresh is on, as soon as a redirect or reconnect reveals a change.
+     */
+    private ClientOptions.Builder clientOptionsBuilder(RedisProperties redisProperties) {
+        if (redisMode != Mode.CLUSTER) {
+            return ClientOptions.builder();
+        }
+        RedisProperties.Lettuce.Cluster.Refresh refresh = redisProperties.getLettuce().getCluster().getRefresh();
+        ClusterTopologyRefreshOptions.Builder refreshOptions = ClusterTopologyRefreshOptions.builder()
+                .dynamicRefreshSources(refresh.isDynamicRefreshSources());
+        if (refresh.getPeriod() != null) {
+            refreshOptions.enablePeriodicRefresh(refresh.getPeriod());
+        }
+        if (refresh.isAdaptive()) {
+            refreshOptions.enableAllAdaptiveRefreshTriggers();
+        }
+        return ClusterClientOptions.builder().topologyRefreshOptions(refreshOptions.build());
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isEmpty();
+    }
+
+    /**
+     * Matches when {@code redis.mode} is {@code sentinel} or {@code cluster}.
+     */
+    static class ReplicatedModeCondition implements Condition {
+
+        @Override
+        public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            String mode = context.getEnvironment().getProperty("redis.mode", Mode.STANDALONE.name());
+            return !Mode.STANDALONE.name().equalsIgnoreCase(mode.trim());
+        }
+    }
+
+    private static GenericObjectPoolConfig<?> poolConfig(RedisProperties.Pool pool) {
+        GenericObjectPoolConfig<?> config = new GenericObjectPoolConfig<>();
+        config.setMaxTotal(pool.getMaxActive());
+        config.setMaxIdle(pool.getMaxIdle());
+        config.setMinIdle(pool.getMinIdle());
+        if (pool.getMaxWait() != null) {
+            config.setMaxWait(pool.getMaxWait());
+        }
+        return config;
+    }
 }
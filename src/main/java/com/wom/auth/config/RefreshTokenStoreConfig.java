@@ -0,0 +1,49 @@
+package com.wom.auth.config;
+
+import com.wom.auth.repository.RefreshTokenStore;
+import com.wom.auth.repository.jpa.JpaRefreshTokenStore;
+import com.wom.auth.repository.jpa.RefreshTokenRepository;
+import com.wom.auth.repository.jpa.RefreshTokenWriteBehind;
+import com.wom.auth.repository.redis.RedisRefreshTokenStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.RedisTemplate;
+
+/**
+ * Refresh token store selection.
+ * {@code refresh-token.store=jpa} reads and writes Postgres synchronously;
+ * {@code refresh-token.store=redis} serves tokens from Redis and copies changes
+ * to Postgres in the background.
+ */
+@Configuration
+public class RefreshTokenStoreConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "refresh-token.store", havingValue = "jpa", matchIfMissing = true)
+    public RefreshTokenStore jpaRefreshTokenStore(RefreshTokenRepository refreshTokenRepository) {
+        return new JpaRefreshTokenStore(refreshTokenRepository);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnProperty(name = "refresh-token.store", havingValue = "redis")
+    public RefreshTokenWriteBehind refreshTokenWriteBehind(
+            RefreshTokenRepository refreshTokenRepository,
+            @Value("${refresh-token.write-behind.queue-capacity:100000}") int queueCapacity,
+            @Value("${refresh-token.write-behind.batch-size:500}") int batchSize,
+            @Value("${refresh-token.write-behind.flush-interval-ms:1000}") long flushIntervalMs,
+            MeterRegistry meterRegistry) {
+        return new RefreshTokenWriteBehind(refreshTokenRepository, queueCapacity, batchSize, flushIntervalMs,
+                meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "refresh-token.store", havingValue = "redis")
+    public RefreshTokenStore redisRefreshTokenStore(RedisTemplate<String, String> redisTemplate,
+                                                    RefreshTokenRepository refreshTokenRepository,
+                                                    RefreshTokenWriteBehind refreshTokenWriteBehind) {
+        return new RedisRefreshTokenStore(redisTemplate, refreshTokenRepository, refreshTokenWriteBehind);
+    }
+}
@@ -0,0 +1,14 @@
+package com.wom.auth.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration for scheduled tasks.
+ * Enables @Scheduled annotation for periodic background jobs.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+    // Used by JWT key reload and the refresh token purge
+}
@@ -52,7 +52,9 @@ public class SecurityConfig {
                 .csrf().disable()
                 .authorizeHttpRequests()
                 .antMatchers("/auth/login", "/auth/refresh").permitAll()
+                .antMatchers("/.well-known/jwks.json").permitAll()
                 .antMatchers("/actuator/**").permitAll()
+                .antMatchers("/admin/**").hasRole("ADMIN")
                 .antMatchers(
                         "/swagger-ui/**",
                         "/swagger-ui.html",
@@ -0,0 +1,84 @@
+package com.wom.auth.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Runs Tomcat request handling and {@code @Async} work (audit logging) on
+ * virtual threads when {@code spring.threads.virtual.enabled=true}, the same
+ * property Spring Boot 3.2+ reads natively.
+ *
+ * The build still targets Java 17, so the Java 21 API is looked up reflectively
+ * and startup fails if the mode is enabled on an older runtime. Virtual threads
+ * only help the blocking I/O (JDBC, Redis); BCrypt and JWT signing stay CPU bound,
+ * and concurrent JDBC work is still capped by the Hikari pool.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        ExecutorService executor = newVirtualThreadPerTaskExecutor("tomcat-handler-");
+        log.info("Tomcat requests will run on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    /**
+     * Replaces Spring Boot's pooled {@code applicationTaskExecutor}, which
+     * {@code @Async} methods use by default.
+     */
+    @Bean(name = {
+            TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME
+    })
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(newVirtualThreadPerTaskExecutor("task-"));
+    }
+
+    /**
+     * Equivalent to {@code Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(prefix, 0).factory())}.
+     *
+     * @throws IllegalStateException if the runtime has no virtual threads (before Java 21)
+     */
+    static ExecutorService newVirtualThreadPerTaskExecutor(String namePrefix) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            ThreadFactory factory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+
+            Method newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) newThreadPerTaskExecutor.invoke(null, factory);
+        } catch (NoSuchMethodException | ClassNotFoundException e) {
+            throw unsupportedRuntime(e);
+        } catch (InvocationTargetException e) {
+            // Java 19 and 20 only have virtual threads as a preview feature
+            if (e.getCause() instanceof UnsupportedOperationException) {
+                throw unsupportedRuntime(e.getCause());
+            }
+            throw new IllegalStateException("Could not create virtual thread executor", e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Could not create virtual thread executor", e);
+        }
+    }
+
+    private static IllegalStateException unsupportedRuntime(Throwable cause) {
+        return new IllegalStateException("spring.threads.virtual.enabled requires Java 21 or later, running on "
+                + Runtime.version(), cause);
+    }
+}
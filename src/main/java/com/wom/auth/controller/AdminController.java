@@ -0,0 +1,72 @@
+package com.wom.auth.controller;
+
+import com.wom.auth.dto.BulkRevocationRequest;
+import com.wom.auth.dto.BulkRevocationStatus;
+import com.wom.auth.service.BulkRevocationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.validation.Valid;
+import java.net.URI;
+
+@RestController
+@RequestMapping("/admin")
+@RequiredArgsConstructor
+@Tag(name = "Administration", description = "Administrative endpoints (ROLE_ADMIN)")
+public class AdminController {
+
+    private final BulkRevocationService bulkRevocationService;
+
+    @Operation(
+            summary = "Revoke sessions in bulk",
+            description = "Revokes all refresh tokens and outstanding access tokens of the selected users. "
+                    + "Runs asynchronously; poll the returned job for progress.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Revocation job started",
+                    content = @Content(schema = @Schema(implementation = BulkRevocationStatus.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid selector"),
+            @ApiResponse(responseCode = "401", description = "Invalid or missing token"),
+            @ApiResponse(responseCode = "403", description = "Caller is not an administrator")
+    })
+    @PostMapping("/revocations")
+    public ResponseEntity<BulkRevocationStatus> revoke(@Valid @RequestBody BulkRevocationRequest request) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String requestedBy = auth != null ? auth.getName() : "unknown";
+
+        BulkRevocationStatus status = bulkRevocationService.start(request, requestedBy);
+        return ResponseEntity.accepted()
+                .location(URI.create("/admin/revocations/" + status.getId()))
+                .body(status);
+    }
+
+    @Operation(
+            summary = "Get bulk revocation progress",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Job status",
+                    content = @Content(schema = @Schema(implementation = BulkRevocationStatus.class))),
+            @ApiResponse(responseCode = "404", description = "Unknown job (or accepted by another replica)")
+    })
+    @GetMapping("/revocations/{jobId}")
+    public ResponseEntity<BulkRevocationStatus> getRevocation(@PathVariable String jobId) {
+        return ResponseEntity.of(bulkRevocationService.getStatus(jobId));
+    }
+}
@@ -77,7 +77,7 @@ public class AuthController {
 
     @Operation(
             summary = "Logout user",
-            description = "Logs out the current user by blacklisting the access token. Requires valid JWT token in Authorization header.",
+            description = "Logs out the current user by blacklisting the access token and revoking the refresh tokens of its session (sid claim). Requires valid JWT token in Authorization header.",
             security = @SecurityRequirement(name = "bearerAuth")
     )
     @ApiResponses(value = {
@@ -0,0 +1,47 @@
+package com.wom.auth.controller;
+
+import com.wom.auth.dto.IntrospectionRequest;
+import com.wom.auth.dto.IntrospectionResponse;
+import com.wom.auth.service.TokenIntrospectionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.validation.Valid;
+
+@RestController
+@RequestMapping("/auth")
+@RequiredArgsConstructor
+@Tag(name = "Authentication", description = "Authentication management endpoints")
+public class IntrospectionController {
+
+    private final TokenIntrospectionService introspectionService;
+
+    @Operation(
+            summary = "Introspect tokens",
+            description = "Checks up to " + IntrospectionRequest.MAX_TOKENS + " tokens in one call. "
+                    + "Returns, in request order, whether each token is active (valid signature, unexpired, not revoked) and its claims.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Introspection results",
+                    content = @Content(schema = @Schema(implementation = IntrospectionResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Empty batch or more than " + IntrospectionRequest.MAX_TOKENS + " tokens"),
+            @ApiResponse(responseCode = "401", description = "Caller not authenticated"),
+            @ApiResponse(responseCode = "429", description = "Too many requests - rate limit exceeded")
+    })
+    @PostMapping("/introspect")
+    public ResponseEntity<IntrospectionResponse> introspect(@Valid @RequestBody IntrospectionRequest request) {
+        return ResponseEntity.ok(new IntrospectionResponse(introspectionService.introspect(request.getTokens())));
+    }
+}
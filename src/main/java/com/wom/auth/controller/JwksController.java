@@ -0,0 +1,165 @@
+package com.wom.auth.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wom.auth.service.JwtKey;
+import com.wom.auth.service.JwtKeyRing;
+import com.wom.auth.service.JwtService;
+import io.jsonwebtoken.io.Encoders;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the JWT verification keys as a JSON Web Key Set (RFC 7517), so
+ * downstream services can verify access tokens locally.
+ *
+ * The document is serialized once per key ring and served from memory with a
+ * strong ETag; conditional requests get 304 Not Modified without a body.
+ * A new signing key is used as soon as it is loaded, so consumers should refetch
+ * the set when they meet an unknown kid instead of waiting for max-age.
+ */
+@RestController
+@Tag(name = "Keys", description = "Public keys for local token verification")
+public class JwksController {
+
+    private final JwtService jwtService;
+    private final CacheControl cacheControl;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private volatile JwkSet jwkSet;
+
+    public JwksController(JwtService jwtService,
+                          @Value("${jwt.jwks-max-age-seconds:300}") long maxAgeSeconds) {
+        this.jwtService = jwtService;
+        this.cacheControl = CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS).cachePublic();
+    }
+
+    @Operation(
+            summary = "JSON Web Key Set",
+            description = "Public keys currently accepted for token verification, identified by kid."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Key set returned"),
+            @ApiResponse(responseCode = "304", description = "Key set unchanged since the given ETag")
+    })
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> jwks() {
+        JwkSet current = currentJwkSet();
+        // The ETag is checked against If-None-Match by Spring, which answers 304 itself
+        return ResponseEntity.ok()
+                .eTag(current.etag)
+                .cacheControl(cacheControl)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(current.body);
+    }
+
+    private JwkSet currentJwkSet() {
+        JwtKeyRing ring = jwtService.getKeyRing();
+        JwkSet current = jwkSet;
+        if (current == null || current.ring != ring) {
+            current = new JwkSet(ring, serialize(ring));
+            jwkSet = current;
+        }
+        return current;
+    }
+
+    private byte[] serialize(JwtKeyRing ring) {
+        List<Map<String, Object>> keys = new ArrayList<>();
+        for (JwtKey key : ring.getVerificationKeys()) {
+            keys.add(toJwk(key));
+        }
+        try {
+            return objectMapper.writeValueAsBytes(Map.of("keys", keys));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize JWK set", e);
+        }
+    }
+
+    static Map<String, Object> toJwk(JwtKey key) {
+        PublicKey publicKey = key.getPublicKey();
+        Map<String, Object> jwk = new LinkedHashMap<>();
+
+        if (publicKey instanceof RSAPublicKey) {
+            RSAPublicKey rsa = (RSAPublicKey) publicKey;
+            jwk.put("kty", "RSA");
+            jwk.put("n", base64Url(rsa.getModulus(), 0));
+            jwk.put("e", base64Url(rsa.getPublicExponent(), 0));
+        } else if (publicKey instanceof ECPublicKey) {
+            ECPublicKey ec = (ECPublicKey) publicKey;
+            int fieldSize = ec.getParams().getCurve().getField().getFieldSize();
+            int length = (fieldSize + 7) / 8;
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-" + fieldSize);
+            jwk.put("x", base64Url(ec.getW().getAffineX(), length));
+            jwk.put("y", base64Url(ec.getW().getAffineY(), length));
+        } else {
+            throw new IllegalStateException("Unsupported public key type: " + publicKey.getAlgorithm());
+        }
+
+        jwk.put("kid", key.getKid());
+        jwk.put("use", "sig");
+        jwk.put("alg", key.getAlgorithm().getValue());
+        return jwk;
+    }
+
+    /**
+     * Unsigned big-endian encoding, left-padded to {@code length} bytes when given.
+     */
+    private static String base64Url(BigInteger value, int length) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        if (length > bytes.length) {
+            byte[] padded = new byte[length];
+            System.arraycopy(bytes, 0, padded, length - bytes.length, bytes.length);
+            bytes = padded;
+        }
+        return Encoders.BASE64URL.encode(bytes);
+    }
+
+    /**
+     * Serialized key set for one key ring.
+     */
+    private static final class JwkSet {
+
+        private final JwtKeyRing ring;
+        private final byte[] body;
+        private final String etag;
+
+        private JwkSet(JwtKeyRing ring, byte[] body) {
+            this.ring = ring;
+            this.body = body;
+            this.etag = "\"" + Encoders.BASE64URL.encode(Arrays.copyOf(sha256(body), 16)) + "\"";
+        }
+
+        private static byte[] sha256(byte[] content) {
+            try {
+                return MessageDigest.getInstance("SHA-256").digest(content);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.wom.auth.controller;
+
+import com.wom.auth.dto.SessionResponse;
+import com.wom.auth.service.JwtService;
+import com.wom.auth.service.TokenService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/auth/sessions")
+@RequiredArgsConstructor
+@Tag(name = "Authentication", description = "Authentication management endpoints")
+public class SessionController {
+
+    private final TokenService tokenService;
+    private final JwtService jwtService;
+
+    @Operation(
+            summary = "List active sessions",
+            description = "Returns the current user's active sessions (unrevoked, unexpired refresh tokens), newest first.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Active sessions",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = SessionResponse.class)))),
+            @ApiResponse(responseCode = "401", description = "Invalid or missing token")
+    })
+    @GetMapping
+    public ResponseEntity<List<SessionResponse>> listSessions(
+            @RequestHeader("Authorization") String authHeader) {
+        return ResponseEntity.ok(tokenService.findActiveSessions(currentUserId(authHeader)));
+    }
+
+    @Operation(
+            summary = "Revoke a session",
+            description = "Signs out one device by revoking its refresh token. Its current access token stays valid until it expires.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Session revoked"),
+            @ApiResponse(responseCode = "401", description = "Invalid or missing token"),
+            @ApiResponse(responseCode = "404", description = "No active session with that ID for the current user")
+    })
+    @DeleteMapping("/{sessionId}")
+    public ResponseEntity<Void> revokeSession(
+            @RequestHeader("Authorization") String authHeader,
+            @PathVariable Long sessionId) {
+        Long userId = currentUserId(authHeader);
+        if (!tokenService.revokeSession(userId, sessionId)) {
+            return ResponseEntity.notFound().build();
+        }
+        log.info("Session {} revoked by user {}", sessionId, userId);
+        return ResponseEntity.noContent().build();
+    }
+
+    private Long currentUserId(String authHeader) {
+        // The filter has already verified this token, so the claims come from its cache
+        return jwtService.getUserIdFromToken(authHeader.substring(7));
+    }
+}
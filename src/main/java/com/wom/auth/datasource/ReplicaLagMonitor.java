@@ -0,0 +1,111 @@
+package com.wom.auth.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Decides whether the read replica may serve read-only transactions.
+ *
+ * Polls the replica's replay lag and takes it out of rotation while the lag
+ * exceeds {@code datasource-replica.max-lag-seconds}, the replica cannot be
+ * reached, or it is not streaming WAL from the primary; reads then go to the
+ * primary until a later check succeeds. The replica starts out of rotation
+ * until the first check.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    /**
+     * Seconds since the last replayed transaction, or 0 when every received WAL
+     * record has been replayed (an idle primary sends nothing to replay). NULL
+     * when the WAL receiver is not streaming: a disconnected replica has replayed
+     * everything it received, so the LSN comparison alone would report no lag.
+     * Reading {@code pg_stat_wal_receiver.status} needs {@code pg_read_all_stats}.
+     */
+    static final String LAG_QUERY = "SELECT CASE"
+            + " WHEN NOT pg_is_in_recovery() THEN 0"
+            + " WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN NULL"
+            + " WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0"
+            + " ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)"
+            + " END";
+
+    private static final int QUERY_TIMEOUT_SECONDS = 2;
+
+    private final DataSource replica;
+    private final double maxLagSeconds;
+    private volatile boolean usable;
+    private volatile double lagSeconds = Double.NaN;
+
+    public ReplicaLagMonitor(DataSource replica, Duration maxLag, MeterRegistry meterRegistry) {
+        this.replica = replica;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        Gauge.builder("db.replica.lag", this, monitor -> monitor.lagSeconds)
+                .description("Replay lag of the read replica")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("db.replica.usable", this, monitor -> monitor.usable ? 1 : 0)
+                .description("1 while read-only transactions are routed to the replica")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${datasource-replica.lag-check-interval-ms:5000}")
+    public void check() {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(QUERY_TIMEOUT_SECONDS);
+            try (ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+                resultSet.next();
+                double lag = resultSet.getDouble(1);
+                if (resultSet.wasNull()) {
+                    lagSeconds = Double.NaN;
+                    markUnavailable("WAL receiver is not streaming from the primary");
+                } else {
+                    update(lag);
+                }
+            }
+        } catch (SQLException e) {
+            lagSeconds = Double.NaN;
+            markUnavailable(e);
+        }
+    }
+
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+
+    /**
+     * Takes the replica out of rotation until the next successful check.
+     */
+    public void markUnavailable(SQLException cause) {
+        markUnavailable(cause.getMessage());
+    }
+
+    private void markUnavailable(String reason) {
+        if (usable) {
+            log.warn("Read replica unavailable, routing reads to the primary: {}", reason);
+        }
+        usable = false;
+    }
+
+    private void update(double lag) {
+        lagSeconds = lag;
+        boolean withinLimit = lag <= maxLagSeconds;
+        if (withinLimit != usable) {
+            if (withinLimit) {
+                log.info("Read replica back in rotation, lag {}s", lag);
+            } else {
+                log.warn("Read replica lag {}s exceeds {}s, routing reads to the primary", lag, maxLagSeconds);
+            }
+        }
+        usable = withinLimit;
+    }
+}
@@ -0,0 +1,50 @@
+package com.wom.auth.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.AssertTrue;
+import javax.validation.constraints.Size;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Users whose sessions should be revoked; set exactly one selector")
+public class BulkRevocationRequest {
+
+    public static final int MAX_USER_IDS = 100_000;
+
+    @Schema(description = "Explicit user IDs", example = "[1, 2, 3]")
+    @Size(max = MAX_USER_IDS, message = "At most " + MAX_USER_IDS + " user IDs per request")
+    private List<Long> userIds;
+
+    @Schema(description = "Revoke every user who logged in at or after this time", example = "2025-10-01T00:00:00")
+    private LocalDateTime lastLoginSince;
+
+    @Schema(description = "Revoke every user", example = "false")
+    private Boolean allUsers;
+
+    @JsonIgnore
+    @Schema(hidden = true)
+    @AssertTrue(message = "Specify exactly one of userIds, lastLoginSince or allUsers")
+    public boolean isSelectorValid() {
+        int selectors = 0;
+        if (userIds != null && !userIds.isEmpty()) {
+            selectors++;
+        }
+        if (lastLoginSince != null) {
+            selectors++;
+        }
+        if (Boolean.TRUE.equals(allUsers)) {
+            selectors++;
+        }
+        return selectors == 1;
+    }
+}
@@ -0,0 +1,46 @@
+package com.wom.auth.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Progress of a bulk revocation job")
+public class BulkRevocationStatus {
+
+    @Schema(description = "Job ID", example = "5f0c1a7e-3b1f-4d8e-9a57-2f7c6b1e9d42", required = true)
+    private String id;
+
+    @Schema(description = "Job state", example = "RUNNING", required = true)
+    private State state;
+
+    @Schema(description = "Users processed so far", example = "12000", required = true)
+    private long usersProcessed;
+
+    @Schema(description = "Refresh tokens revoked so far", example = "18345", required = true)
+    private long tokensRevoked;
+
+    @Schema(description = "Start time", example = "2025-10-04T08:30:00")
+    private LocalDateTime startedAt;
+
+    @Schema(description = "Completion time", example = "2025-10-04T08:30:04")
+    private LocalDateTime finishedAt;
+
+    @Schema(description = "Failure reason, if the job failed")
+    private String error;
+
+    public enum State {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
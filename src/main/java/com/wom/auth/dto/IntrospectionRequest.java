@@ -0,0 +1,30 @@
+package com.wom.auth.dto;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Batch of tokens to introspect")
+public class IntrospectionRequest {
+
+    public static final int MAX_TOKENS = 100;
+
+    @ArraySchema(
+            arraySchema = @Schema(description = "Access or refresh tokens to check", required = true),
+            schema = @Schema(example = "eyJhbGciOiJSUzI1NiJ9..."),
+            maxItems = MAX_TOKENS
+    )
+    @NotEmpty(message = "At least one token is required")
+    @Size(max = MAX_TOKENS, message = "At most " + MAX_TOKENS + " tokens per request")
+    private List<@NotBlank(message = "Token must not be blank") String> tokens;
+}
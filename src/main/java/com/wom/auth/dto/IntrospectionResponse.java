@@ -0,0 +1,18 @@
+package com.wom.auth.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Introspection results, in the same order as the requested tokens")
+public class IntrospectionResponse {
+
+    @Schema(description = "One result per requested token", required = true)
+    private List<TokenIntrospection> results;
+}
@@ -0,0 +1,41 @@
+package com.wom.auth.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Active session of the current user. Built directly by a JPQL constructor
+ * expression, so the field order must match the query in RefreshTokenRepository.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Active session (refresh token) of the current user")
+public class SessionResponse {
+
+    @Schema(description = "Session ID, used to revoke it", example = "1042", required = true)
+    private Long id;
+
+    @Schema(description = "Device name sent by the client at login", example = "Pixel 8")
+    private String deviceName;
+
+    @Schema(description = "User-Agent of the client that last obtained the token", example = "okhttp/4.12.0")
+    private String userAgent;
+
+    @Schema(description = "Client IP address that last obtained the token", example = "203.0.113.7")
+    private String ipAddress;
+
+    @Schema(description = "Issue time", example = "2025-10-04T08:30:00", required = true)
+    private LocalDateTime issuedAt;
+
+    @Schema(description = "Expiration time", example = "2025-10-11T08:30:00", required = true)
+    private LocalDateTime expiresAt;
+}
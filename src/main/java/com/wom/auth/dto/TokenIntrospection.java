@@ -0,0 +1,39 @@
+package com.wom.auth.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Introspection result for one token; claims are only present for active tokens")
+public class TokenIntrospection {
+
+    @Schema(description = "Whether the token is valid, unexpired and not revoked", example = "true", required = true)
+    private boolean active;
+
+    @Schema(description = "Subject (username)", example = "admin")
+    private String sub;
+
+    @Schema(description = "User ID", example = "1")
+    private Long userId;
+
+    @Schema(description = "Token type", example = "access")
+    private String tokenType;
+
+    @Schema(description = "Issued-at time (epoch seconds)", example = "1700000000")
+    private Long iat;
+
+    @Schema(description = "Expiration time (epoch seconds)", example = "1700000900")
+    private Long exp;
+
+    public static TokenIntrospection inactive() {
+        return TokenIntrospection.builder().active(false).build();
+    }
+}
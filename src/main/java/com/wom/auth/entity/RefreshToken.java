@@ -8,6 +8,7 @@ import lombok.NoArgsConstructor;
 import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
 import java.time.LocalDateTime;
 
 /**
@@ -16,7 +17,7 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "refresh_tokens")
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class RefreshToken {
@@ -33,6 +34,13 @@ public class RefreshToken {
     @Column(name = "token_hash", nullable = false, unique = true)
     private String tokenHash;
 
+    /**
+     * Shared by a login's token and every token rotated from it.
+     */
+    @NotBlank
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+
     @NotNull
     @Column(name = "issued_at", nullable = false)
     @Builder.Default
@@ -48,6 +56,18 @@ public class RefreshToken {
     @Column(name = "replaced_by")
     private Long replacedBy;
 
+    @Size(max = 100)
+    @Column(name = "device_name", length = 100)
+    private String deviceName;
+
+    @Size(max = 512)
+    @Column(name = "user_agent", length = 512)
+    private String userAgent;
+
+    @Size(max = 45)
+    @Column(name = "ip_address", length = 45)
+    private String ipAddress;
+
     public boolean isExpired() {
         return LocalDateTime.now().isAfter(expiresAt);
     }
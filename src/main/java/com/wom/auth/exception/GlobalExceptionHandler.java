@@ -1,6 +1,7 @@
 package com.wom.auth.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -51,7 +52,20 @@ public class GlobalExceptionHandler {
     public ResponseEntity<Map<String, Object>> handleRateLimitExceeded(
             RateLimitExceededException ex, WebRequest request) {
         log.warn("Rate limit exceeded: {}", ex.getMessage());
-        return buildErrorResponse(HttpStatus.TOO_MANY_REQUESTS, ex.getMessage(), request);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS);
+        if (ex.getRetryAfterSeconds() > 0) {
+            builder.header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+        }
+        return builder.body(buildErrorMap(HttpStatus.TOO_MANY_REQUESTS, ex.getMessage(), request));
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<Map<String, Object>> handleServiceOverloaded(
+            ServiceOverloadedException ex, WebRequest request) {
+        log.warn("Request shed: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(buildErrorMap(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), request));
     }
 
     @ExceptionHandler(UserNotFoundException.class)
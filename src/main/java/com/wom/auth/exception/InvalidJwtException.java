@@ -0,0 +1,25 @@
+package com.wom.auth.exception;
+
+import io.jsonwebtoken.JwtException;
+
+/**
+ * JWT rejection that does not capture a stack trace.
+ *
+ * Invalid tokens are an expected, attacker-controlled input; filling in a stack
+ * trace for each one is pure overhead, so this exception skips it.
+ */
+public class InvalidJwtException extends JwtException {
+
+    public InvalidJwtException(String message) {
+        super(message);
+    }
+
+    public InvalidJwtException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
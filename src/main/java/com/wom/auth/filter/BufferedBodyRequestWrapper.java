@@ -0,0 +1,99 @@
+package com.wom.auth.filter;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Request wrapper that reads the first bytes of the body up front so a filter can
+ * inspect them, then replays the full body to downstream readers.
+ *
+ * At most {@code limit} bytes are buffered; larger bodies are streamed through
+ * untouched and {@link #getBufferedBody()} returns null.
+ */
+class BufferedBodyRequestWrapper extends HttpServletRequestWrapper {
+
+    private final byte[] prefix;
+    private final boolean complete;
+    private final ServletInputStream inputStream;
+
+    BufferedBodyRequestWrapper(HttpServletRequest request, int limit) throws IOException {
+        super(request);
+        InputStream original = request.getInputStream();
+        byte[] buffer = original.readNBytes(limit + 1);
+
+        this.complete = buffer.length <= limit;
+        this.prefix = buffer;
+        InputStream replay = complete
+                ? new ByteArrayInputStream(prefix)
+                : new SequenceInputStream(new ByteArrayInputStream(prefix), original);
+        this.inputStream = new ReplayInputStream(replay);
+    }
+
+    /**
+     * @return the complete body, or null if it exceeded the buffer limit
+     */
+    byte[] getBufferedBody() {
+        return complete ? prefix : null;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+        return inputStream;
+    }
+
+    @Override
+    public BufferedReader getReader() {
+        String encoding = getCharacterEncoding();
+        Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+        return new BufferedReader(new InputStreamReader(inputStream, charset));
+    }
+
+    private static final class ReplayInputStream extends ServletInputStream {
+
+        private final InputStream delegate;
+        private boolean finished;
+
+        private ReplayInputStream(InputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = delegate.read();
+            finished = value == -1;
+            return value;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int count = delegate.read(b, off, len);
+            finished = count == -1;
+            return count;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            throw new UnsupportedOperationException("Async reads are not supported");
+        }
+    }
+}
@@ -1,14 +1,13 @@
 package com.wom.auth.filter;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.wom.auth.exception.InvalidTokenException;
 import com.wom.auth.exception.TokenExpiredException;
+import com.wom.auth.service.JwtFormat;
 import com.wom.auth.service.JwtService;
 import com.wom.auth.service.TokenService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -23,25 +22,21 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.Map;
 
 @Slf4j
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final int BEARER_PREFIX_LENGTH = "Bearer ".length();
+
     private final JwtService jwtService;
     private final TokenService tokenService;
     private final UserDetailsService userDetailsService;
-    private final ObjectMapper objectMapper;
 
     public JwtAuthenticationFilter(JwtService jwtService, TokenService tokenService, UserDetailsService userDetailsService) {
         this.jwtService = jwtService;
         this.tokenService = tokenService;
         this.userDetailsService = userDetailsService;
-        this.objectMapper = new ObjectMapper();
-        this.objectMapper.registerModule(new JavaTimeModule());
     }
 
     @Override
@@ -57,18 +52,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
+        // Reject structurally invalid tokens before any decoding or Redis lookup
+        if (!JwtFormat.isWellFormed(authHeader, BEARER_PREFIX_LENGTH)) {
+            handleAuthenticationException(response, request, UnauthorizedResponses.INVALID_TOKEN);
+            return;
+        }
+
         try {
-            final String jwt = authHeader.substring(7);
+            final String jwt = authHeader.substring(BEARER_PREFIX_LENGTH);
+
+            Claims claims = jwtService.validateToken(jwt);
 
-            if (tokenService.isTokenBlacklisted(jwt)) {
-                handleAuthenticationException(response, request, "Token has been revoked");
+            // Blacklist and user watermark are read in a single Redis round trip
+            if (tokenService.isAccessTokenRevoked(jwt, claims)) {
+                handleAuthenticationException(response, request, UnauthorizedResponses.TOKEN_REVOKED);
                 return;
             }
 
-            jwtService.validateToken(jwt);
-
             if (jwtService.isTokenExpired(jwt)) {
-                handleAuthenticationException(response, request, "Token has expired");
+                handleAuthenticationException(response, request, UnauthorizedResponses.TOKEN_EXPIRED);
                 return;
             }
 
@@ -89,12 +91,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             filterChain.doFilter(request, response);
 
         } catch (TokenExpiredException ex) {
-            handleAuthenticationException(response, request, "Token has expired");
+            handleAuthenticationException(response, request, UnauthorizedResponses.TOKEN_EXPIRED);
         } catch (InvalidTokenException ex) {
             handleAuthenticationException(response, request, ex.getMessage());
+        } catch (JwtException ex) {
+            log.debug("JWT rejected: {}", ex.getMessage());
+            handleAuthenticationException(response, request, UnauthorizedResponses.INVALID_TOKEN);
         } catch (Exception ex) {
             log.error("JWT authentication failed", ex);
-            handleAuthenticationException(response, request, "Invalid token");
+            handleAuthenticationException(response, request, UnauthorizedResponses.INVALID_TOKEN);
         }
     }
 
@@ -102,19 +107,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             HttpServletResponse response,
             HttpServletRequest request,
             String message) throws IOException {
-        
-        response.setStatus(HttpStatus.UNAUTHORIZED.value());
-        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-
-        Map<String, Object> errorDetails = new HashMap<>();
-        errorDetails.put("timestamp", LocalDateTime.now());
-        errorDetails.put("status", HttpStatus.UNAUTHORIZED.value());
-        errorDetails.put("error", HttpStatus.UNAUTHORIZED.getReasonPhrase());
-        errorDetails.put("message", message);
-        errorDetails.put("path", request.getRequestURI());
-
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.registerModule(new JavaTimeModule());
-        mapper.writeValue(response.getWriter(), errorDetails);
+        UnauthorizedResponses.write(response, message, request.getRequestURI());
     }
 }
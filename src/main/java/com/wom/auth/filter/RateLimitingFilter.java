@@ -1,10 +1,16 @@
 package com.wom.auth.filter;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.wom.auth.exception.RateLimitExceededException;
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
-import io.github.bucket4j.Refill;
+import com.wom.auth.ratelimit.RateLimitPolicy;
+import com.wom.auth.ratelimit.RateLimitPolicyResolver;
+import com.wom.auth.ratelimit.RateLimitResult;
+import com.wom.auth.ratelimit.RateLimiter;
+import com.wom.auth.web.ClientAddressResolver;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -14,15 +20,30 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.time.Duration;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.List;
+import java.util.Locale;
 
 @Slf4j
 @Component
 public class RateLimitingFilter extends OncePerRequestFilter {
 
-    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final String IDENTIFIER_FIELD = "identifier";
+    private static final int MAX_BUFFERED_BODY = 8 * 1024;
+    private static final int MAX_IDENTIFIER_LENGTH = 100;
+    static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitPolicyResolver policyResolver;
+    private final ClientAddressResolver clientAddressResolver;
+
+    public RateLimitingFilter(RateLimiter rateLimiter,
+                              RateLimitPolicyResolver policyResolver,
+                              ClientAddressResolver clientAddressResolver) {
+        this.rateLimiter = rateLimiter;
+        this.policyResolver = policyResolver;
+        this.clientAddressResolver = clientAddressResolver;
+    }
 
     @Override
     protected void doFilterInternal(
@@ -30,32 +51,82 @@ public class RateLimitingFilter extends OncePerRequestFilter {
             @NonNull HttpServletResponse response,
             @NonNull FilterChain filterChain) throws ServletException, IOException {
 
-        String key = getClientIdentifier(request);
-        Bucket bucket = buckets.computeIfAbsent(key, k -> createBucket());
-
-        if (bucket.tryConsume(1)) {
+        List<RateLimitPolicy> policies = policyResolver.resolve(getPathWithinApplication(request));
+        if (policies.isEmpty()) {
             filterChain.doFilter(request, response);
-        } else {
-            log.warn("Rate limit exceeded for client: {}", key);
-            throw new RateLimitExceededException("Too many requests. Please try again later.");
+            return;
+        }
+
+        String client = clientAddressResolver.resolve(request).getHostAddress();
+        HttpServletRequest effectiveRequest = request;
+        long remaining = Long.MAX_VALUE;
+
+        for (RateLimitPolicy policy : policies) {
+            String key = client;
+
+            if (policy.getKeyStrategy() == RateLimitPolicy.KeyStrategy.CLIENT_AND_IDENTIFIER) {
+                if (!(effectiveRequest instanceof BufferedBodyRequestWrapper)) {
+                    effectiveRequest = new BufferedBodyRequestWrapper(request, MAX_BUFFERED_BODY);
+                }
+                String identifier = extractIdentifier(((BufferedBodyRequestWrapper) effectiveRequest).getBufferedBody());
+                if (identifier != null) {
+                    key = client + "|" + identifier;
+                }
+            }
+
+            RateLimitResult result = rateLimiter.tryConsume(key, policy);
+            if (!result.isAllowed()) {
+                log.warn("Rate limit exceeded for client: {} (policy: {})", client, policy.getName());
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(result.getRetryAfterSeconds()));
+                response.setHeader(REMAINING_HEADER, "0");
+                throw new RateLimitExceededException(
+                        "Too many requests. Please try again later.", result.getRetryAfterSeconds());
+            }
+            remaining = Math.min(remaining, result.getRemaining());
         }
+
+        response.setHeader(REMAINING_HEADER, String.valueOf(remaining));
+        filterChain.doFilter(effectiveRequest, response);
     }
 
-    private Bucket createBucket() {
-        Bandwidth limit = Bandwidth.classic(
-                100,
-                Refill.intervally(100, Duration.ofMinutes(1))
-        );
-        return Bucket.builder()
-                .addLimit(limit)
-                .build();
+    private String getPathWithinApplication(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        String contextPath = request.getContextPath();
+        if (contextPath != null && !contextPath.isEmpty() && uri.startsWith(contextPath)) {
+            return uri.substring(contextPath.length());
+        }
+        return uri;
     }
 
-    private String getClientIdentifier(HttpServletRequest request) {
-        String clientIp = request.getHeader("X-Forwarded-For");
-        if (clientIp == null || clientIp.isEmpty()) {
-            clientIp = request.getRemoteAddr();
+    /**
+     * Reads the login identifier from a JSON body with a streaming parser.
+     * Returns null when the body is missing, too large, or not the expected shape.
+     */
+    static String extractIdentifier(byte[] body) {
+        if (body == null || body.length == 0) {
+            return null;
+        }
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if (IDENTIFIER_FIELD.equals(field) && value == JsonToken.VALUE_STRING) {
+                    String identifier = parser.getText().trim().toLowerCase(Locale.ROOT);
+                    if (identifier.isEmpty()) {
+                        return null;
+                    }
+                    return identifier.length() > MAX_IDENTIFIER_LENGTH
+                            ? identifier.substring(0, MAX_IDENTIFIER_LENGTH)
+                            : identifier;
+                }
+                parser.skipChildren();
+            }
+        } catch (IOException e) {
+            log.debug("Could not read login identifier for rate limiting: {}", e.getMessage());
         }
-        return clientIp;
+        return null;
     }
 }
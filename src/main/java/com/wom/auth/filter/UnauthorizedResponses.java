@@ -0,0 +1,81 @@
+package com.wom.auth.filter;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Writes 401 bodies from pre-encoded JSON fragments.
+ *
+ * Rejections are most frequent exactly when the service is being flooded with bad
+ * tokens, so the body is assembled from byte arrays built once at class load; only
+ * the timestamp and the escaped request path are encoded per response. The shape
+ * matches {@link com.wom.auth.exception.GlobalExceptionHandler}:
+ * {@code {"timestamp","status","error","message","path"}}.
+ */
+final class UnauthorizedResponses {
+
+    static final String INVALID_TOKEN = "Invalid token";
+    static final String TOKEN_EXPIRED = "Token has expired";
+    static final String TOKEN_REVOKED = "Token has been revoked";
+
+    private static final byte[] TIMESTAMP_PREFIX = utf8("{\"timestamp\":\"");
+    private static final byte[] PATH_SUFFIX = utf8("\"}");
+
+    private static final Map<String, byte[]> MESSAGE_FRAGMENTS = Map.of(
+            INVALID_TOKEN, messageFragment(INVALID_TOKEN),
+            TOKEN_EXPIRED, messageFragment(TOKEN_EXPIRED),
+            TOKEN_REVOKED, messageFragment(TOKEN_REVOKED)
+    );
+
+    private UnauthorizedResponses() {
+    }
+
+    /**
+     * Writes a 401 JSON error to the response.
+     *
+     * @param response response to write to
+     * @param message error message; the constants of this class use pre-encoded fragments
+     * @param path request path
+     */
+    static void write(HttpServletResponse response, String message, String path) throws IOException {
+        byte[] middle = MESSAGE_FRAGMENTS.get(message);
+        if (middle == null) {
+            middle = messageFragment(message);
+        }
+        byte[] timestamp = LocalDateTime.now().toString().getBytes(StandardCharsets.US_ASCII);
+        byte[] escapedPath = path != null ? JsonStringEncoder.getInstance().quoteAsUTF8(path) : new byte[0];
+
+        response.setStatus(HttpStatus.UNAUTHORIZED.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(TIMESTAMP_PREFIX.length + timestamp.length + middle.length
+                + escapedPath.length + PATH_SUFFIX.length);
+
+        ServletOutputStream out = response.getOutputStream();
+        out.write(TIMESTAMP_PREFIX);
+        out.write(timestamp);
+        out.write(middle);
+        out.write(escapedPath);
+        out.write(PATH_SUFFIX);
+        out.flush();
+    }
+
+    private static byte[] messageFragment(String message) {
+        HttpStatus status = HttpStatus.UNAUTHORIZED;
+        return utf8("\",\"status\":" + status.value()
+                + ",\"error\":\"" + status.getReasonPhrase()
+                + "\",\"message\":\"" + new String(JsonStringEncoder.getInstance().quoteAsString(message))
+                + "\",\"path\":\"");
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
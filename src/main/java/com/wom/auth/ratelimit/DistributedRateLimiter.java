@@ -0,0 +1,147 @@
+package com.wom.auth.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.wom.auth.repository.redis.RateLimitRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rate limiter whose buckets live in Redis and are shared by every replica.
+ *
+ * To amortize Redis round trips, each call to Redis reserves a small batch of
+ * tokens that this replica then serves locally for a short lease. Unused tokens
+ * are simply dropped when the lease ends, so the global limit is never exceeded.
+ * If Redis is unavailable the limiter degrades to per-replica local buckets.
+ *
+ * The remaining quota reported for leased tokens is the Redis count seen when
+ * the lease was taken, so it can lag what other replicas have consumed since.
+ */
+@Slf4j
+public class DistributedRateLimiter implements RateLimiter {
+
+    private static final String METRIC_PREFIX = "auth.ratelimit.redis";
+
+    private final RateLimitRepository rateLimitRepository;
+    private final RateLimiter fallback;
+    private final long prefetchTokens;
+    private final long leaseMillis;
+    private final Cache<String, Lease> leases;
+
+    private final Timer redisTimer;
+    private final Counter redisErrorCounter;
+
+    public DistributedRateLimiter(RateLimitRepository rateLimitRepository,
+                                  RateLimiter fallback,
+                                  long prefetchTokens,
+                                  long leaseMillis,
+                                  long maxTrackedKeys,
+                                  MeterRegistry meterRegistry) {
+        this.rateLimitRepository = rateLimitRepository;
+        this.fallback = fallback;
+        this.prefetchTokens = Math.max(1, prefetchTokens);
+        this.leaseMillis = leaseMillis;
+        this.leases = Caffeine.newBuilder()
+                .maximumSize(maxTrackedKeys)
+                .expireAfterWrite(Duration.ofMillis(Math.max(1, leaseMillis)))
+                .build();
+
+        this.redisTimer = Timer.builder(METRIC_PREFIX + ".latency")
+                .description("Latency added by Redis token reservations for rate limiting")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+
+        this.redisErrorCounter = Counter.builder(METRIC_PREFIX + ".errors")
+                .description("Rate limit checks that fell back to local buckets because Redis failed")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public RateLimitResult tryConsume(String key, RateLimitPolicy policy) {
+        String bucketKey = policy.getName() + ":" + key;
+        long now = System.currentTimeMillis();
+
+        Lease lease = leases.getIfPresent(bucketKey);
+        if (lease != null) {
+            long left = lease.tryTake(now);
+            if (left >= 0) {
+                return RateLimitResult.allow(left + lease.redisRemaining);
+            }
+        }
+
+        RateLimitRepository.Grant grant;
+        try {
+            grant = redisTimer.record(() -> rateLimitRepository.tryAcquire(
+                    bucketKey,
+                    policy.getCapacity(),
+                    policy.getRefillTokens(),
+                    policy.getRefillPeriod().toMillis(),
+                    batchSize(policy)));
+        } catch (RuntimeException e) {
+            redisErrorCounter.increment();
+            log.warn("Redis rate limit check failed, using local bucket: {}", e.getMessage());
+            return fallback.tryConsume(key, policy);
+        }
+
+        long granted = grant.getGranted();
+        if (granted <= 0) {
+            leases.invalidate(bucketKey);
+            return RateLimitResult.reject(grant.getRetryAfterMillis());
+        }
+
+        if (granted > 1) {
+            leases.put(bucketKey, new Lease(granted - 1, grant.getRemaining(), now + leaseMillis));
+        } else {
+            leases.invalidate(bucketKey);
+        }
+        return RateLimitResult.allow(granted - 1 + grant.getRemaining());
+    }
+
+    /**
+     * Never reserve more than a tenth of a bucket at once, so a single replica
+     * cannot starve the others of a small bucket (e.g. 5 logins per minute).
+     */
+    private long batchSize(RateLimitPolicy policy) {
+        return Math.max(1, Math.min(prefetchTokens, policy.getCapacity() / 10));
+    }
+
+    /**
+     * Tokens reserved from Redis and served locally until the lease expires.
+     */
+    private static final class Lease {
+
+        private final AtomicLong remaining;
+        private final long redisRemaining;
+        private final long expiresAt;
+
+        private Lease(long tokens, long redisRemaining, long expiresAt) {
+            this.remaining = new AtomicLong(tokens);
+            this.redisRemaining = redisRemaining;
+            this.expiresAt = expiresAt;
+        }
+
+        /**
+         * Takes one leased token.
+         *
+         * @return leased tokens left after this one, or -1 if the lease is spent or expired
+         */
+        private long tryTake(long now) {
+            if (now >= expiresAt) {
+                return -1;
+            }
+            long current;
+            do {
+                current = remaining.get();
+                if (current <= 0) {
+                    return -1;
+                }
+            } while (!remaining.compareAndSet(current, current - 1));
+            return current - 1;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.wom.auth.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.Refill;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+
+/**
+ * In-process rate limiter backed by Bucket4j.
+ * Limits are enforced per replica and reset on restart. Tokens refill
+ * gradually rather than all at once, matching the GCRA limiter used in distributed mode.
+ *
+ * Buckets are kept in a bounded cache so that clients rotating keys cannot grow
+ * the heap without limit. A bucket that stays idle longer than its refill period
+ * is full again anyway, so idle eviction does not relax any limit.
+ */
+public class LocalRateLimiter implements RateLimiter {
+
+    private final Cache<String, Bucket> buckets;
+
+    public LocalRateLimiter(long maxTrackedKeys, Duration idleTimeout, MeterRegistry meterRegistry) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxTrackedKeys)
+                .expireAfterAccess(idleTimeout)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, "rate-limit-buckets");
+    }
+
+    @Override
+    public RateLimitResult tryConsume(String key, RateLimitPolicy policy) {
+        Bucket bucket = buckets.get(policy.getName() + ":" + key, k -> createBucket(policy));
+        ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
+        if (probe.isConsumed()) {
+            return RateLimitResult.allow(probe.getRemainingTokens());
+        }
+        return RateLimitResult.reject((probe.getNanosToWaitForRefill() + 999_999) / 1_000_000);
+    }
+
+    long trackedKeys() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+
+    private Bucket createBucket(RateLimitPolicy policy) {
+        Bandwidth limit = Bandwidth.classic(
+                policy.getCapacity(),
+                Refill.greedy(policy.getRefillTokens(), policy.getRefillPeriod())
+        );
+        return Bucket.builder()
+                .addLimit(limit)
+                .build();
+    }
+}
@@ -0,0 +1,28 @@
+package com.wom.auth.ratelimit;
+
+import lombok.Value;
+
+import java.time.Duration;
+
+/**
+ * Token bucket limits applied to a single rate-limit key.
+ */
+@Value
+public class RateLimitPolicy {
+
+    String name;
+    long capacity;
+    long refillTokens;
+    Duration refillPeriod;
+    KeyStrategy keyStrategy;
+
+    /**
+     * How the bucket key is derived from the request.
+     */
+    public enum KeyStrategy {
+        /** One bucket per client address. */
+        CLIENT,
+        /** One bucket per client address and submitted login identifier. */
+        CLIENT_AND_IDENTIFIER
+    }
+}
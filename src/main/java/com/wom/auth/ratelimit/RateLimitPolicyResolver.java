@@ -0,0 +1,100 @@
+package com.wom.auth.ratelimit;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Maps request paths to the rate-limit policies that apply to them.
+ *
+ * All path patterns are compiled at startup into an exact-path map plus a short
+ * list of exempt prefixes, so resolving a request costs one hash lookup.
+ * Supported patterns are exact paths and prefixes ending in {@code /**}.
+ *
+ * Every non-exempt request is charged to the general policy; endpoints with
+ * their own policy are charged to it first, so their limit is always the tighter one.
+ * Dedicated endpoints are charged to their own policy only, for callers such as
+ * gateways whose legitimate traffic would exceed the general per-client limit.
+ */
+public class RateLimitPolicyResolver {
+
+    private static final String WILDCARD_SUFFIX = "/**";
+
+    private final Map<String, List<RateLimitPolicy>> endpointPolicies = new HashMap<>();
+    private final Set<String> exemptPaths = new HashSet<>();
+    private final List<String> exemptPrefixes = new ArrayList<>();
+    private final List<RateLimitPolicy> generalOnly;
+
+    public RateLimitPolicyResolver(RateLimitPolicy general,
+                                   Map<RateLimitPolicy, ? extends Collection<String>> endpointPaths,
+                                   Collection<String> exemptPatterns) {
+        this(general, endpointPaths, Collections.emptyMap(), exemptPatterns);
+    }
+
+    public RateLimitPolicyResolver(RateLimitPolicy general,
+                                   Map<RateLimitPolicy, ? extends Collection<String>> endpointPaths,
+                                   Map<RateLimitPolicy, ? extends Collection<String>> dedicatedPaths,
+                                   Collection<String> exemptPatterns) {
+        this.generalOnly = List.of(general);
+
+        endpointPaths.forEach((policy, paths) -> {
+            List<RateLimitPolicy> policies = List.of(policy, general);
+            paths.forEach(path -> endpointPolicies.put(normalize(path), policies));
+        });
+        dedicatedPaths.forEach((policy, paths) -> {
+            List<RateLimitPolicy> policies = List.of(policy);
+            paths.forEach(path -> endpointPolicies.put(normalize(path), policies));
+        });
+
+        for (String pattern : exemptPatterns) {
+            if (pattern.endsWith(WILDCARD_SUFFIX)) {
+                String prefix = pattern.substring(0, pattern.length() - WILDCARD_SUFFIX.length());
+                exemptPaths.add(prefix);
+                exemptPrefixes.add(prefix + "/");
+            } else {
+                exemptPaths.add(normalize(pattern));
+            }
+        }
+    }
+
+    /**
+     * Resolves the policies to charge for a path, tightest first.
+     *
+     * @param path request path within the application
+     * @return policies to apply, empty if the path is exempt
+     */
+    public List<RateLimitPolicy> resolve(String path) {
+        String normalized = normalize(path);
+
+        List<RateLimitPolicy> policies = endpointPolicies.get(normalized);
+        if (policies != null) {
+            return policies;
+        }
+
+        if (exemptPaths.contains(normalized)) {
+            return Collections.emptyList();
+        }
+        for (String prefix : exemptPrefixes) {
+            if (normalized.startsWith(prefix)) {
+                return Collections.emptyList();
+            }
+        }
+
+        return generalOnly;
+    }
+
+    private static String normalize(String path) {
+        if (path == null || path.isEmpty()) {
+            return "/";
+        }
+        if (path.length() > 1 && path.endsWith("/")) {
+            return path.substring(0, path.length() - 1);
+        }
+        return path;
+    }
+}
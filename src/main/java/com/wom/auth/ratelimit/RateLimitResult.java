@@ -0,0 +1,30 @@
+package com.wom.auth.ratelimit;
+
+import lombok.Value;
+
+/**
+ * Outcome of a rate-limit check: whether the request may proceed, how many
+ * requests are left in the current burst, and how long to wait when rejected.
+ */
+@Value
+public class RateLimitResult {
+
+    boolean allowed;
+    long remaining;
+    long retryAfterMillis;
+
+    public static RateLimitResult allow(long remaining) {
+        return new RateLimitResult(true, Math.max(0, remaining), 0);
+    }
+
+    public static RateLimitResult reject(long retryAfterMillis) {
+        return new RateLimitResult(false, 0, Math.max(0, retryAfterMillis));
+    }
+
+    /**
+     * Retry-after delay rounded up to whole seconds, as used by the {@code Retry-After} header.
+     */
+    public long getRetryAfterSeconds() {
+        return (retryAfterMillis + 999) / 1000;
+    }
+}
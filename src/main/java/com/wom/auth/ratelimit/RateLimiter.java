@@ -0,0 +1,20 @@
+package com.wom.auth.ratelimit;
+
+/**
+ * Strategy for consuming rate-limit tokens.
+ * Implementations decide where bucket state lives (in-process or shared in Redis).
+ *
+ * This is the entry point for any code that needs to throttle an operation:
+ * resolve or build a {@link RateLimitPolicy} and call {@link #tryConsume}.
+ */
+public interface RateLimiter {
+
+    /**
+     * Attempts to consume one token from the bucket identified by key.
+     *
+     * @param key client identifier the bucket belongs to
+     * @param policy limits applied to the bucket
+     * @return whether the request is allowed, the remaining quota and the retry-after delay
+     */
+    RateLimitResult tryConsume(String key, RateLimitPolicy policy);
+}
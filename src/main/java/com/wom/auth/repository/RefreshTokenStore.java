@@ -0,0 +1,85 @@
+package com.wom.auth.repository;
+
+import com.wom.auth.entity.RefreshToken;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Primary store for refresh token state, looked up by token hash.
+ *
+ * {@code refresh-token.store=jpa} keeps tokens in Postgres only;
+ * {@code refresh-token.store=redis} keeps them in Redis and copies every change
+ * to Postgres asynchronously. Maintenance that only makes sense on the table
+ * (purge, partitions) stays on {@link com.wom.auth.repository.jpa.RefreshTokenRepository}.
+ */
+public interface RefreshTokenStore {
+
+    /**
+     * Stores a new token or the new state of an existing one.
+     *
+     * @return the stored token
+     */
+    RefreshToken save(RefreshToken refreshToken);
+
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    /**
+     * Revokes a token only if it is still unrevoked, as one atomic check-and-set.
+     * Of two concurrent rotations of the same token exactly one succeeds.
+     *
+     * @return true if this call revoked the token
+     */
+    boolean revokeIfActive(RefreshToken refreshToken, LocalDateTime now);
+
+    /**
+     * Revokes one active session (refresh_tokens row) of a user.
+     *
+     * @return true if the session was active and belonged to the user
+     */
+    boolean revokeSession(Long userId, Long sessionId, LocalDateTime now);
+
+    /**
+     * Revokes the oldest active sessions of a user so that at most
+     * {@code maxSessions} remain.
+     *
+     * @return number of sessions revoked
+     */
+    int revokeSessionsBeyondLimit(Long userId, int maxSessions, LocalDateTime now);
+
+    /**
+     * @return true if the rotation family still has an unrevoked token
+     */
+    boolean hasActiveToken(String familyId, LocalDateTime now);
+
+    /**
+     * Revokes every unrevoked token of a rotation family, e.g. on logout.
+     *
+     * @return number of tokens revoked
+     */
+    int revokeFamily(String familyId, LocalDateTime now);
+
+    /**
+     * Revokes a family after reuse of one of its rotated tokens was detected.
+     * The revocation must outlive the rejected refresh, even if the caller's
+     * transaction rolls back.
+     *
+     * @return number of tokens revoked
+     */
+    int revokeReusedFamily(String familyId, LocalDateTime now);
+
+    /**
+     * Revokes every live token of one user (logout from all devices).
+     *
+     * @return number of tokens revoked
+     */
+    int revokeAllForUser(Long userId, LocalDateTime now);
+
+    /**
+     * Revokes every live token of the given users.
+     *
+     * @return number of tokens revoked
+     */
+    int revokeAllForUsers(Collection<Long> userIds, LocalDateTime now);
+}
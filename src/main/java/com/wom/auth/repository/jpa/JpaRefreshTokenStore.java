@@ -0,0 +1,71 @@
+package com.wom.auth.repository.jpa;
+
+import com.wom.auth.entity.RefreshToken;
+import com.wom.auth.repository.RefreshTokenStore;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Refresh token store backed directly by the refresh_tokens table.
+ * Every login, refresh and logout writes to Postgres synchronously.
+ */
+public class JpaRefreshTokenStore implements RefreshTokenStore {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    public JpaRefreshTokenStore(RefreshTokenRepository refreshTokenRepository) {
+        this.refreshTokenRepository = refreshTokenRepository;
+    }
+
+    @Override
+    public RefreshToken save(RefreshToken refreshToken) {
+        return refreshTokenRepository.save(refreshToken);
+    }
+
+    @Override
+    public Optional<RefreshToken> findByTokenHash(String tokenHash) {
+        return refreshTokenRepository.findByTokenHash(tokenHash);
+    }
+
+    @Override
+    public boolean revokeIfActive(RefreshToken refreshToken, LocalDateTime now) {
+        return refreshTokenRepository.revokeIfActive(refreshToken.getTokenHash(), now) > 0;
+    }
+
+    @Override
+    public boolean revokeSession(Long userId, Long sessionId, LocalDateTime now) {
+        return refreshTokenRepository.revokeSession(sessionId, userId, now) > 0;
+    }
+
+    @Override
+    public int revokeSessionsBeyondLimit(Long userId, int maxSessions, LocalDateTime now) {
+        return refreshTokenRepository.revokeSessionsBeyondLimit(userId, maxSessions, now);
+    }
+
+    @Override
+    public boolean hasActiveToken(String familyId, LocalDateTime now) {
+        return refreshTokenRepository.existsByFamilyIdAndRevokedAtIsNullAndExpiresAtAfter(familyId, now);
+    }
+
+    @Override
+    public int revokeFamily(String familyId, LocalDateTime now) {
+        return refreshTokenRepository.revokeFamily(familyId, now);
+    }
+
+    @Override
+    public int revokeReusedFamily(String familyId, LocalDateTime now) {
+        return refreshTokenRepository.revokeFamilyAndCommit(familyId, now);
+    }
+
+    @Override
+    public int revokeAllForUser(Long userId, LocalDateTime now) {
+        return refreshTokenRepository.revokeAllUserTokens(userId, now);
+    }
+
+    @Override
+    public int revokeAllForUsers(Collection<Long> userIds, LocalDateTime now) {
+        return refreshTokenRepository.revokeAllTokensForUsers(userIds, now);
+    }
+}
@@ -0,0 +1,75 @@
+package com.wom.auth.repository.jpa;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Drops expired refresh_tokens partitions without locking out token traffic.
+ *
+ * A DROP TABLE on an attached partition takes ACCESS EXCLUSIVE on refresh_tokens,
+ * which queues every token read and write behind it. Each expired partition is
+ * instead detached with DETACH PARTITION ... CONCURRENTLY, which only takes SHARE
+ * UPDATE EXCLUSIVE on the parent, and dropped once it is a plain table. DETACH
+ * CONCURRENTLY cannot run in a transaction block, so these statements run in
+ * autocommit through JDBC rather than JPA. A run interrupted between the steps is
+ * completed by the next one. Requires PostgreSQL 14.
+ */
+@Repository
+public class RefreshTokenPartitionRepository {
+
+    static final String EXPIRED_PARTITIONS_QUERY =
+            "SELECT partition_name, state FROM expired_refresh_tokens_partitions(?)";
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("refresh_tokens_p[0-9]{8}");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RefreshTokenPartitionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Detaches and drops every weekly partition whose whole range ends before the cutoff.
+     * Requires the partitioned schema (V7) and must be called outside a transaction.
+     *
+     * @return number of partitions dropped
+     */
+    public int dropExpiredPartitions(LocalDateTime cutoff) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Expired partitions must be dropped outside a transaction");
+        }
+
+        List<ExpiredPartition> partitions = jdbcTemplate.query(EXPIRED_PARTITIONS_QUERY,
+                (rs, rowNum) -> new ExpiredPartition(rs.getString(1), rs.getString(2)),
+                Timestamp.valueOf(cutoff));
+        for (ExpiredPartition partition : partitions) {
+            if (!PARTITION_NAME.matcher(partition.name).matches()) {
+                throw new IllegalStateException("Unexpected refresh_tokens partition " + partition.name);
+            }
+            if ("attached".equals(partition.state)) {
+                jdbcTemplate.execute("ALTER TABLE refresh_tokens DETACH PARTITION " + partition.name + " CONCURRENTLY");
+            } else if ("detach_pending".equals(partition.state)) {
+                jdbcTemplate.execute("ALTER TABLE refresh_tokens DETACH PARTITION " + partition.name + " FINALIZE");
+            }
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition.name);
+        }
+        return partitions.size();
+    }
+
+    private static final class ExpiredPartition {
+
+        private final String name;
+        private final String state;
+
+        private ExpiredPartition(String name, String state) {
+            this.name = name;
+            this.state = state;
+        }
+    }
+}
@@ -1,12 +1,17 @@
 package com.wom.auth.repository.jpa;
 
+import com.wom.auth.dto.SessionResponse;
 import com.wom.auth.entity.RefreshToken;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,19 +23,125 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
 
     Optional<RefreshToken> findByTokenHash(String tokenHash);
 
+    List<RefreshToken> findByTokenHashIn(Collection<String> tokenHashes);
+
     List<RefreshToken> findByUserId(Long userId);
 
     @Query("SELECT rt FROM RefreshToken rt WHERE rt.userId = :userId AND rt.revokedAt IS NULL AND rt.expiresAt > :now")
     List<RefreshToken> findActiveTokensByUserId(Long userId, LocalDateTime now);
 
+    /**
+     * Lists a user's active sessions as lightweight projections, served by
+     * the partial index idx_refresh_tokens_user_active.
+     */
+    @Query("SELECT new com.wom.auth.dto.SessionResponse("
+            + "rt.id, rt.deviceName, rt.userAgent, rt.ipAddress, rt.issuedAt, rt.expiresAt) "
+            + "FROM RefreshToken rt "
+            + "WHERE rt.userId = :userId AND rt.revokedAt IS NULL AND rt.expiresAt > :now "
+            + "ORDER BY rt.issuedAt DESC")
+    List<SessionResponse> findActiveSessions(Long userId, LocalDateTime now);
+
+    /**
+     * Revokes one active session, only if it belongs to the given user.
+     *
+     * @return 1 if revoked, 0 if not found, not owned or already inactive
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken rt SET rt.revokedAt = :now "
+            + "WHERE rt.id = :id AND rt.userId = :userId AND rt.revokedAt IS NULL AND rt.expiresAt > :now")
+    int revokeSession(Long id, Long userId, LocalDateTime now);
+
+    /**
+     * Revokes all but the {@code maxSessions} newest active tokens of a user in one
+     * statement, ranking them with ROW_NUMBER over idx_refresh_tokens_user_active.
+     *
+     * @return number of sessions revoked
+     */
+    @Modifying
+    @Query(value = "UPDATE refresh_tokens SET revoked_at = :now "
+            + "WHERE user_id = :userId AND revoked_at IS NULL AND id IN ("
+            + "SELECT id FROM ("
+            + "SELECT id, ROW_NUMBER() OVER (ORDER BY issued_at DESC, id DESC) AS session_rank "
+            + "FROM refresh_tokens "
+            + "WHERE user_id = :userId AND revoked_at IS NULL AND expires_at > :now"
+            + ") ranked WHERE session_rank > :maxSessions)",
+            nativeQuery = true)
+    int revokeSessionsBeyondLimit(Long userId, int maxSessions, LocalDateTime now);
+
+    /**
+     * Revokes one token only if it is still unrevoked. When two transactions rotate
+     * the same token, the second UPDATE waits for the first to commit and then
+     * matches no row.
+     *
+     * @return 1 if revoked, 0 if missing or already revoked
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE RefreshToken rt SET rt.revokedAt = :now WHERE rt.tokenHash = :tokenHash AND rt.revokedAt IS NULL")
+    int revokeIfActive(String tokenHash, LocalDateTime now);
+
+    boolean existsByFamilyIdAndRevokedAtIsNullAndExpiresAtAfter(String familyId, LocalDateTime now);
+
+    /**
+     * Revokes every unrevoked token of a rotation family through idx_refresh_tokens_family_active,
+     * in the caller's transaction.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE RefreshToken rt SET rt.revokedAt = :now WHERE rt.familyId = :familyId AND rt.revokedAt IS NULL")
+    int revokeFamily(String familyId, LocalDateTime now);
+
+    /**
+     * Same as {@link #revokeFamily}, but commits on its own, so after reuse detection
+     * the revocation survives the rollback of the rejected refresh. Briefly needs a
+     * second pooled connection, which is acceptable on this rare path only.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query("UPDATE RefreshToken rt SET rt.revokedAt = :now WHERE rt.familyId = :familyId AND rt.revokedAt IS NULL")
+    int revokeFamilyAndCommit(String familyId, LocalDateTime now);
+
+    @Query("SELECT rt.tokenHash FROM RefreshToken rt "
+            + "WHERE rt.id = :id AND rt.userId = :userId AND rt.revokedAt IS NULL AND rt.expiresAt > :now")
+    Optional<String> findActiveTokenHash(Long id, Long userId, LocalDateTime now);
+
     @Modifying
     @Query("UPDATE RefreshToken rt SET rt.revokedAt = :now WHERE rt.userId = :userId AND rt.revokedAt IS NULL")
     int revokeAllUserTokens(Long userId, LocalDateTime now);
 
+    /**
+     * Revokes the live refresh tokens of many users in one statement.
+     * Runs in its own transaction so bulk callers commit chunk by chunk.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE RefreshToken rt SET rt.revokedAt = :now "
+            + "WHERE rt.userId IN :userIds AND rt.revokedAt IS NULL AND rt.expiresAt > :now")
+    int revokeAllTokensForUsers(Collection<Long> userIds, LocalDateTime now);
+
     @Modifying
     @Query("DELETE FROM RefreshToken rt WHERE rt.expiresAt < :threshold")
     int deleteExpiredTokens(LocalDateTime threshold);
 
+    /**
+     * Deletes at most {@code limit} tokens that expired before the threshold,
+     * located through idx_refresh_tokens_expires_at.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM refresh_tokens WHERE id IN ("
+            + "SELECT id FROM refresh_tokens WHERE expires_at < :threshold LIMIT :limit)",
+            nativeQuery = true)
+    int deleteExpiredTokensBatch(LocalDateTime threshold, int limit);
+
+    /**
+     * Creates, if missing, the weekly partition holding tokens that expire on the given day.
+     * Requires the partitioned schema (V7, PostgreSQL).
+     */
+    @Transactional
+    @Query(value = "SELECT create_refresh_tokens_partition(:day)", nativeQuery = true)
+    String createPartition(LocalDate day);
+
     @Query("SELECT COUNT(rt) FROM RefreshToken rt WHERE rt.userId = :userId AND rt.revokedAt IS NULL AND rt.expiresAt > :now")
     long countActiveTokensByUserId(Long userId, LocalDateTime now);
 }
@@ -0,0 +1,179 @@
+package com.wom.auth.repository.jpa;
+
+import com.wom.auth.entity.RefreshToken;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous, batched copy of refresh token changes into Postgres.
+ *
+ * The Redis store enqueues a full snapshot of every token it writes. A single
+ * background thread drains the queue, keeps the latest snapshot per token hash,
+ * loads the rows that already exist with one IN query and saves the whole batch
+ * in one transaction. Postgres thus lags Redis by at most one flush interval and
+ * is only used for durability and audit, never on the request path.
+ *
+ * The queue is bounded; when Postgres falls that far behind, new snapshots are
+ * dropped and counted rather than growing the heap. A failed batch is kept aside
+ * and merged ahead of the queue on the next flush, so it never overtakes the
+ * snapshots enqueued after it; a revoked snapshot is never replaced by an
+ * unrevoked one.
+ */
+@Slf4j
+public class RefreshTokenWriteBehind {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final BlockingQueue<RefreshToken> queue;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final Counter writtenCounter;
+    private final Counter droppedCounter;
+    private final Counter failedCounter;
+    private ScheduledExecutorService scheduler;
+
+    /** Last failed batch, at most batchSize snapshots. Replaced, never mutated, after publication. */
+    private volatile Map<String, RefreshToken> retry = Collections.emptyMap();
+
+    public RefreshTokenWriteBehind(RefreshTokenRepository refreshTokenRepository,
+                                   int queueCapacity,
+                                   int batchSize,
+                                   long flushIntervalMs,
+                                   MeterRegistry meterRegistry) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.writtenCounter = Counter.builder("refresh_tokens.write_behind.written")
+                .description("Refresh token snapshots copied to Postgres")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("refresh_tokens.write_behind.dropped")
+                .description("Refresh token snapshots dropped because the queue was full")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("refresh_tokens.write_behind.failed")
+                .description("Write-behind batches that failed and were kept for retry")
+                .register(meterRegistry);
+        Gauge.builder("refresh_tokens.write_behind.pending", this, RefreshTokenWriteBehind::pending)
+                .description("Refresh token snapshots waiting to be copied to Postgres")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts the background flush thread.
+     */
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("refresh-write-behind-"));
+        scheduler.scheduleWithFixedDelay(this::flushAll, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queues a snapshot of the token for the next flush. Never blocks.
+     */
+    public void enqueue(RefreshToken snapshot) {
+        if (!queue.offer(snapshot)) {
+            droppedCounter.increment();
+            log.warn("Refresh token write-behind queue full, dropping snapshot for user {}", snapshot.getUserId());
+        }
+    }
+
+    /**
+     * Writes one batch of queued snapshots to Postgres.
+     *
+     * @return snapshots written
+     */
+    public synchronized int flush() {
+        // The failed batch goes first: everything still queued was enqueued after it
+        Map<String, RefreshToken> latest = new LinkedHashMap<>(retry);
+        retry = Collections.emptyMap();
+
+        List<RefreshToken> drained = new ArrayList<>(batchSize);
+        queue.drainTo(drained, batchSize - latest.size());
+        for (RefreshToken snapshot : drained) {
+            latest.merge(snapshot.getTokenHash(), snapshot, RefreshTokenWriteBehind::newer);
+        }
+        if (latest.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            Map<String, RefreshToken> existing = new LinkedHashMap<>();
+            for (RefreshToken row : refreshTokenRepository.findByTokenHashIn(latest.keySet())) {
+                existing.put(row.getTokenHash(), row);
+            }
+
+            List<RefreshToken> rows = new ArrayList<>(latest.size());
+            for (RefreshToken snapshot : latest.values()) {
+                RefreshToken row = existing.get(snapshot.getTokenHash());
+                if (row == null) {
+                    row = snapshot.toBuilder().id(null).build();
+                } else {
+                    row.setRevokedAt(snapshot.getRevokedAt());
+                    row.setReplacedBy(snapshot.getReplacedBy());
+                }
+                rows.add(row);
+            }
+
+            refreshTokenRepository.saveAll(rows);
+            writtenCounter.increment(rows.size());
+            return rows.size();
+        } catch (RuntimeException e) {
+            failedCounter.increment();
+            log.warn("Refresh token write-behind batch of {} failed, retrying: {}", latest.size(), e.getMessage());
+            retry = latest;
+            return 0;
+        }
+    }
+
+    /**
+     * Later snapshots of the same token supersede earlier ones, except that
+     * revocation is final.
+     */
+    private static RefreshToken newer(RefreshToken previous, RefreshToken next) {
+        return previous.isRevoked() && !next.isRevoked() ? previous : next;
+    }
+
+    /**
+     * Flushes until nothing is pending or a batch fails.
+     */
+    void flushAll() {
+        try {
+            while (pending() > 0 && flush() > 0) {
+                // keep draining
+            }
+        } catch (RuntimeException e) {
+            log.error("Refresh token write-behind flush failed", e);
+        }
+    }
+
+    int pending() {
+        return queue.size() + retry.size();
+    }
+
+    /**
+     * Stops the flush thread and writes what is still queued.
+     */
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            try {
+                scheduler.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flushAll();
+    }
+}
@@ -1,10 +1,14 @@
 package com.wom.auth.repository.jpa;
 
 import com.wom.auth.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -23,4 +27,20 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByEmail(String email);
 
     boolean existsByUsername(String username);
+
+    /**
+     * Keyset page of user IDs, for walking the whole table in chunks.
+     * Read-write so it reads the primary: bulk revocation must not miss recent users.
+     */
+    @Transactional
+    @Query("SELECT u.id FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<Long> findIdsAfter(Long afterId, Pageable pageable);
+
+    /**
+     * Keyset page of IDs of users who logged in at or after {@code since}.
+     * Read-write so it reads the primary: bulk revocation must not miss recent logins.
+     */
+    @Transactional
+    @Query("SELECT u.id FROM User u WHERE u.id > :afterId AND u.lastLoginAt >= :since ORDER BY u.id")
+    List<Long> findIdsLoggedInSince(LocalDateTime since, Long afterId, Pageable pageable);
 }
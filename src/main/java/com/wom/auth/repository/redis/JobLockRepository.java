@@ -0,0 +1,42 @@
+package com.wom.auth.repository.redis;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.Collections;
+
+/**
+ * Redis leases that let a scheduled job run on one replica at a time.
+ * A lease expires on its own if its holder dies.
+ */
+@Repository
+public class JobLockRepository {
+
+    private static final String LOCK_PREFIX = "lock:job:";
+
+    private static final RedisScript<Long> UNLOCK_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/unlock.lua"), Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    public JobLockRepository(RedisTemplate<String, String> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * @param job job name
+     * @param owner unique token of the caller
+     * @param lease how long the lock is held unless released
+     * @return whether the lock was acquired
+     */
+    public boolean tryLock(String job, String owner, Duration lease) {
+        return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(LOCK_PREFIX + job, owner, lease));
+    }
+
+    public void unlock(String job, String owner) {
+        redisTemplate.execute(UNLOCK_SCRIPT, Collections.singletonList(LOCK_PREFIX + job), owner);
+    }
+}
@@ -1,18 +1,30 @@
 package com.wom.auth.repository.redis;
 
+import lombok.Value;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Repository for managing rate limiting data in Redis.
- * Implements token bucket algorithm for rate limiting.
+ * Every check is a single Lua script call, sent as EVALSHA once the script is cached by Redis.
  */
 @Repository
 public class RateLimitRepository {
 
     private static final String RATE_LIMIT_PREFIX = "rate_limit:";
+    private static final String BUCKET_PREFIX = RATE_LIMIT_PREFIX + "bucket:";
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> GCRA_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/gcra.lua"), List.class);
+    private static final RedisScript<Long> FIXED_WINDOW_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/fixed_window.lua"), Long.class);
     
     private final RedisTemplate<String, String> redisTemplate;
 
@@ -22,13 +34,11 @@ public class RateLimitRepository {
 
     public Long increment(String key, long duration, TimeUnit timeUnit) {
         String redisKey = RATE_LIMIT_PREFIX + key;
-        Long count = redisTemplate.opsForValue().increment(redisKey);
-        
-        if (count != null && count == 1) {
-            redisTemplate.expire(redisKey, duration, timeUnit);
-        }
-        
-        return count;
+        return redisTemplate.execute(
+                FIXED_WINDOW_SCRIPT,
+                Collections.singletonList(redisKey),
+                String.valueOf(timeUnit.toMillis(duration))
+        );
     }
 
     public Long getAttempts(String key) {
@@ -46,4 +56,45 @@ public class RateLimitRepository {
         String redisKey = RATE_LIMIT_PREFIX + key;
         return redisTemplate.getExpire(redisKey, TimeUnit.SECONDS);
     }
+
+    /**
+     * Atomically takes up to {@code requested} tokens using the generic cell rate
+     * algorithm. Tokens refill smoothly, one every {@code refillPeriodMillis / refillTokens}
+     * milliseconds, and at most {@code capacity} can be taken in a burst.
+     *
+     * @param key bucket identifier
+     * @param capacity maximum burst size
+     * @param refillTokens tokens added every refill period
+     * @param refillPeriodMillis refill period in milliseconds
+     * @param requested tokens to reserve
+     * @return tokens granted (between 0 and {@code requested}), tokens left and retry-after delay
+     */
+    public Grant tryAcquire(String key, long capacity, long refillTokens, long refillPeriodMillis, long requested) {
+        List<?> result = redisTemplate.execute(
+                GCRA_SCRIPT,
+                Collections.singletonList(BUCKET_PREFIX + key),
+                String.valueOf(capacity),
+                String.valueOf(refillTokens),
+                String.valueOf(refillPeriodMillis),
+                String.valueOf(requested)
+        );
+        if (result == null || result.size() < 3) {
+            return new Grant(0, 0, refillPeriodMillis / Math.max(1, refillTokens));
+        }
+        return new Grant(toLong(result.get(0)), toLong(result.get(1)), toLong(result.get(2)));
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : Long.parseLong(String.valueOf(value));
+    }
+
+    /**
+     * Outcome of a single {@link #tryAcquire} call.
+     */
+    @Value
+    public static class Grant {
+        long granted;
+        long remaining;
+        long retryAfterMillis;
+    }
 }
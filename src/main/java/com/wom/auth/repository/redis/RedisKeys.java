@@ -0,0 +1,18 @@
+package com.wom.auth.repository.redis;
+
+/**
+ * Key naming shared by the Redis repositories.
+ *
+ * Per-user keys wrap the user ID in a hash tag ({@code prefix{userId}}), so in
+ * Redis Cluster all of a user's keys hash to the same slot and can be combined
+ * in one multi-key command, transaction or script.
+ */
+final class RedisKeys {
+
+    private RedisKeys() {
+    }
+
+    static String forUser(String prefix, Long userId) {
+        return prefix + "{" + userId + "}";
+    }
+}
@@ -0,0 +1,346 @@
+package com.wom.auth.repository.redis;
+
+import com.wom.auth.entity.RefreshToken;
+import com.wom.auth.repository.RefreshTokenStore;
+import com.wom.auth.repository.jpa.RefreshTokenRepository;
+import com.wom.auth.repository.jpa.RefreshTokenWriteBehind;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Refresh token store that keeps Redis as the source of truth.
+ *
+ * Each token is a hash at {@code refresh:token:{tokenHash}} that expires with
+ * the token. Unrevoked token hashes are also indexed in two sets: per user
+ * ({@code refresh:user:{userId}}, with the braces kept as a cluster hash tag), for
+ * logout from all devices and the session cap, and per rotation family
+ * ({@code refresh:family:{familyId}}), for reuse detection. Every write is
+ * mirrored to Postgres through {@link RefreshTokenWriteBehind}, off the request path.
+ *
+ * Session IDs are refresh_tokens row IDs, which only exist once the write-behind
+ * copy has landed, so revoking a session by ID resolves its hash in Postgres first.
+ */
+public class RedisRefreshTokenStore implements RefreshTokenStore {
+
+    private static final String TOKEN_PREFIX = "refresh:token:";
+    private static final String USER_PREFIX = "refresh:user:";
+    private static final String FAMILY_PREFIX = "refresh:family:";
+
+    private static final String USER_ID = "userId";
+    private static final String FAMILY_ID = "familyId";
+    private static final String ISSUED_AT = "issuedAt";
+    private static final String EXPIRES_AT = "expiresAt";
+    private static final String REVOKED_AT = "revokedAt";
+    private static final String REPLACED_BY = "replacedBy";
+    private static final String DEVICE_NAME = "deviceName";
+    private static final String USER_AGENT = "userAgent";
+    private static final String IP_ADDRESS = "ipAddress";
+
+    private static final RedisScript<Long> REVOKE_IF_ACTIVE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/revoke_if_active.lua"), Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenWriteBehind writeBehind;
+
+    public RedisRefreshTokenStore(RedisTemplate<String, String> redisTemplate,
+                                  RefreshTokenRepository refreshTokenRepository,
+                                  RefreshTokenWriteBehind writeBehind) {
+        this.redisTemplate = redisTemplate;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.writeBehind = writeBehind;
+    }
+
+    @Override
+    public RefreshToken save(RefreshToken refreshToken) {
+        String tokenKey = TOKEN_PREFIX + refreshToken.getTokenHash();
+        Date expiresAt = toDate(refreshToken.getExpiresAt());
+
+        pipelined(operations -> {
+            operations.opsForHash().putAll(tokenKey, toHash(refreshToken));
+            operations.expireAt(tokenKey, expiresAt);
+            for (String setKey : indexKeys(refreshToken)) {
+                if (refreshToken.isRevoked()) {
+                    operations.opsForSet().remove(setKey, refreshToken.getTokenHash());
+                } else {
+                    // The newest token always expires last, so the set lives as long as it
+                    operations.opsForSet().add(setKey, refreshToken.getTokenHash());
+                    operations.expireAt(setKey, expiresAt);
+                }
+            }
+        });
+
+        writeBehind.enqueue(refreshToken.toBuilder().build());
+        return refreshToken;
+    }
+
+    @Override
+    public Optional<RefreshToken> findByTokenHash(String tokenHash) {
+        Map<Object, Object> hash = redisTemplate.opsForHash().entries(TOKEN_PREFIX + tokenHash);
+        return hash == null || hash.isEmpty() ? Optional.empty() : Optional.of(fromHash(tokenHash, hash));
+    }
+
+    /**
+     * The check-and-set runs as a script on the token hash alone; the index sets
+     * live in other cluster slots, so they are updated in a second round trip by
+     * the caller that won.
+     */
+    @Override
+    public boolean revokeIfActive(RefreshToken refreshToken, LocalDateTime now) {
+        Long revoked = redisTemplate.execute(REVOKE_IF_ACTIVE_SCRIPT,
+                Collections.singletonList(TOKEN_PREFIX + refreshToken.getTokenHash()), now.toString());
+        if (revoked == null || revoked == 0) {
+            return false;
+        }
+        pipelined(operations -> {
+            for (String setKey : indexKeys(refreshToken)) {
+                operations.opsForSet().remove(setKey, refreshToken.getTokenHash());
+            }
+        });
+        writeBehind.enqueue(refreshToken.toBuilder().revokedAt(now).build());
+        return true;
+    }
+
+    @Override
+    public boolean revokeSession(Long userId, Long sessionId, LocalDateTime now) {
+        Optional<RefreshToken> token = refreshTokenRepository.findActiveTokenHash(sessionId, userId, now)
+                .flatMap(this::findByTokenHash)
+                .filter(RefreshToken::isValid);
+        if (token.isEmpty()) {
+            return false;
+        }
+        token.get().setRevokedAt(now);
+        save(token.get());
+        return true;
+    }
+
+    /**
+     * Under the cap this costs one SCARD; the user set only holds unrevoked
+     * tokens, so its size bounds the number of live sessions.
+     */
+    @Override
+    public int revokeSessionsBeyondLimit(Long userId, int maxSessions, LocalDateTime now) {
+        Long members = redisTemplate.opsForSet().size(RedisKeys.forUser(USER_PREFIX, userId));
+        if (members == null || members <= maxSessions) {
+            return 0;
+        }
+
+        IndexedTokens tokens = loadIndexedTokens(List.of(RedisKeys.forUser(USER_PREFIX, userId)));
+        List<RefreshToken> newestFirst = new ArrayList<>(tokens.live);
+        newestFirst.sort(Comparator.comparing(RefreshToken::getIssuedAt).reversed());
+        List<RefreshToken> evicted = newestFirst.size() > maxSessions
+                ? newestFirst.subList(maxSessions, newestFirst.size())
+                : List.of();
+        return revoke(evicted, tokens.stale, now);
+    }
+
+    @Override
+    public boolean hasActiveToken(String familyId, LocalDateTime now) {
+        Long members = redisTemplate.opsForSet().size(FAMILY_PREFIX + familyId);
+        return members != null && members > 0;
+    }
+
+    @Override
+    public int revokeFamily(String familyId, LocalDateTime now) {
+        IndexedTokens tokens = loadIndexedTokens(List.of(FAMILY_PREFIX + familyId));
+        return revoke(tokens.live, tokens.stale, now);
+    }
+
+    /**
+     * Redis writes are not transactional, so this is {@link #revokeFamily}.
+     */
+    @Override
+    public int revokeReusedFamily(String familyId, LocalDateTime now) {
+        return revokeFamily(familyId, now);
+    }
+
+    @Override
+    public int revokeAllForUser(Long userId, LocalDateTime now) {
+        return revokeAllForUsers(List.of(userId), now);
+    }
+
+    /**
+     * Revokes in three pipelined round trips regardless of the number of users:
+     * read the users' sets, read their tokens, then mark the live ones revoked.
+     */
+    @Override
+    public int revokeAllForUsers(Collection<Long> userIds, LocalDateTime now) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        List<String> userKeys = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            userKeys.add(RedisKeys.forUser(USER_PREFIX, userId));
+        }
+        IndexedTokens tokens = loadIndexedTokens(userKeys);
+        return revoke(tokens.live, tokens.stale, now);
+    }
+
+    /**
+     * Reads index sets, then all the tokens they list, in two pipelined round trips.
+     */
+    @SuppressWarnings("unchecked")
+    private IndexedTokens loadIndexedTokens(List<String> setKeys) {
+        IndexedTokens tokens = new IndexedTokens();
+
+        List<Object> memberSets = pipelined(operations -> {
+            for (String setKey : setKeys) {
+                operations.opsForSet().members(setKey);
+            }
+        });
+        List<SetMember> members = new ArrayList<>();
+        Iterator<String> keys = setKeys.iterator();
+        for (Object memberSet : memberSets) {
+            String setKey = keys.next();
+            if (memberSet != null) {
+                for (String tokenHash : (Set<String>) memberSet) {
+                    members.add(new SetMember(setKey, tokenHash));
+                }
+            }
+        }
+        if (members.isEmpty()) {
+            return tokens;
+        }
+
+        List<Object> hashes = pipelined(operations -> {
+            for (SetMember member : members) {
+                operations.opsForHash().entries(TOKEN_PREFIX + member.tokenHash);
+            }
+        });
+        for (int i = 0; i < members.size(); i++) {
+            Map<Object, Object> hash = (Map<Object, Object>) hashes.get(i);
+            RefreshToken token = hash == null || hash.isEmpty() ? null : fromHash(members.get(i).tokenHash, hash);
+            if (token != null && token.isValid()) {
+                tokens.live.add(token);
+            } else {
+                tokens.stale.add(members.get(i));
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Marks the tokens revoked and drops them, with any stale members, from the
+     * index sets in one pipelined round trip.
+     */
+    private int revoke(List<RefreshToken> tokens, List<SetMember> stale, LocalDateTime now) {
+        if (tokens.isEmpty() && stale.isEmpty()) {
+            return 0;
+        }
+        pipelined(operations -> {
+            for (SetMember member : stale) {
+                operations.opsForSet().remove(member.setKey, member.tokenHash);
+            }
+            for (RefreshToken token : tokens) {
+                operations.opsForHash().put(TOKEN_PREFIX + token.getTokenHash(), REVOKED_AT, now.toString());
+                for (String setKey : indexKeys(token)) {
+                    operations.opsForSet().remove(setKey, token.getTokenHash());
+                }
+            }
+        });
+
+        for (RefreshToken token : tokens) {
+            token.setRevokedAt(now);
+            writeBehind.enqueue(token);
+        }
+        return tokens.size();
+    }
+
+    private static List<String> indexKeys(RefreshToken token) {
+        String userKey = RedisKeys.forUser(USER_PREFIX, token.getUserId());
+        return token.getFamilyId() != null
+                ? List.of(userKey, FAMILY_PREFIX + token.getFamilyId())
+                : List.of(userKey);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object> pipelined(Consumer<RedisOperations<String, String>> commands) {
+        return redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                commands.accept((RedisOperations<String, String>) operations);
+                return null;
+            }
+        });
+    }
+
+    private static Map<String, String> toHash(RefreshToken token) {
+        Map<String, String> hash = new HashMap<>();
+        hash.put(USER_ID, token.getUserId().toString());
+        hash.put(ISSUED_AT, token.getIssuedAt().toString());
+        hash.put(EXPIRES_AT, token.getExpiresAt().toString());
+        if (token.getRevokedAt() != null) {
+            hash.put(REVOKED_AT, token.getRevokedAt().toString());
+        }
+        if (token.getReplacedBy() != null) {
+            hash.put(REPLACED_BY, token.getReplacedBy().toString());
+        }
+        putIfNotNull(hash, FAMILY_ID, token.getFamilyId());
+        putIfNotNull(hash, DEVICE_NAME, token.getDeviceName());
+        putIfNotNull(hash, USER_AGENT, token.getUserAgent());
+        putIfNotNull(hash, IP_ADDRESS, token.getIpAddress());
+        return hash;
+    }
+
+    private static RefreshToken fromHash(String tokenHash, Map<Object, Object> hash) {
+        return RefreshToken.builder()
+                .tokenHash(tokenHash)
+                .userId(Long.valueOf((String) hash.get(USER_ID)))
+                .familyId((String) hash.get(FAMILY_ID))
+                .issuedAt(LocalDateTime.parse((String) hash.get(ISSUED_AT)))
+                .expiresAt(LocalDateTime.parse((String) hash.get(EXPIRES_AT)))
+                .revokedAt(parseDateTime(hash.get(REVOKED_AT)))
+                .replacedBy(hash.get(REPLACED_BY) != null ? Long.valueOf((String) hash.get(REPLACED_BY)) : null)
+                .deviceName((String) hash.get(DEVICE_NAME))
+                .userAgent((String) hash.get(USER_AGENT))
+                .ipAddress((String) hash.get(IP_ADDRESS))
+                .build();
+    }
+
+    private static void putIfNotNull(Map<String, String> hash, String field, String value) {
+        if (value != null) {
+            hash.put(field, value);
+        }
+    }
+
+    private static LocalDateTime parseDateTime(Object value) {
+        return value != null ? LocalDateTime.parse((String) value) : null;
+    }
+
+    private static Date toDate(LocalDateTime dateTime) {
+        return Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    private static final class IndexedTokens {
+        private final List<RefreshToken> live = new ArrayList<>();
+        private final List<SetMember> stale = new ArrayList<>();
+    }
+
+    private static final class SetMember {
+        private final String setKey;
+        private final String tokenHash;
+
+        private SetMember(String setKey, String tokenHash) {
+            this.setKey = setKey;
+            this.tokenHash = tokenHash;
+        }
+    }
+}
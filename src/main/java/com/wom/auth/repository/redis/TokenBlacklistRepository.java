@@ -1,13 +1,30 @@
 package com.wom.auth.repository.redis;
 
+import lombok.Value;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Repository for managing token blacklist in Redis.
  * Used to invalidate JWT access tokens before their natural expiration.
+ *
+ * Standalone blacklist lookups go through {@code replicaRedisTemplate}, which
+ * reads from a replica in Sentinel and Cluster modes; a token blacklisted moments
+ * ago may therefore be accepted for as long as the replication lag (usually
+ * milliseconds). The per-request {@link #findRevocationStatus(String, Long)}
+ * reads the primary, because it also reads the user's revocation watermark.
  */
 @Repository
 public class TokenBlacklistRepository {
@@ -15,9 +32,12 @@ public class TokenBlacklistRepository {
     private static final String BLACKLIST_PREFIX = "blacklist:token:";
     
     private final RedisTemplate<String, String> redisTemplate;
+    private final RedisTemplate<String, String> replicaRedisTemplate;
 
-    public TokenBlacklistRepository(RedisTemplate<String, String> redisTemplate) {
+    public TokenBlacklistRepository(RedisTemplate<String, String> redisTemplate,
+                                    @Qualifier("replicaRedisTemplate") RedisTemplate<String, String> replicaRedisTemplate) {
         this.redisTemplate = redisTemplate;
+        this.replicaRedisTemplate = replicaRedisTemplate;
     }
 
     public void blacklistToken(String tokenId, long expirationSeconds) {
@@ -27,11 +47,78 @@ public class TokenBlacklistRepository {
 
     public boolean isTokenBlacklisted(String tokenId) {
         String key = BLACKLIST_PREFIX + tokenId;
-        return Boolean.TRUE.equals(redisTemplate.hasKey(key));
+        return Boolean.TRUE.equals(replicaRedisTemplate.hasKey(key));
+    }
+
+    /**
+     * Reads the token's blacklist entry and its user's revocation watermark
+     * (see {@link UserRevocationRepository}) in one pipelined round trip to the
+     * primary, so an authenticated request costs a single Redis call and a
+     * "log out everywhere" takes effect on the next request on every node.
+     *
+     * @param tokenId token to check
+     * @param userId token owner, or null to check only the blacklist
+     * @return blacklist flag and the user's watermark in epoch milliseconds
+     */
+    public RevocationStatus findRevocationStatus(String tokenId, Long userId) {
+        if (userId == null) {
+            return new RevocationStatus(isTokenBlacklisted(tokenId), null);
+        }
+        List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                ops.hasKey(BLACKLIST_PREFIX + tokenId);
+                ops.opsForValue().get(UserRevocationRepository.key(userId));
+                return null;
+            }
+        });
+        boolean blacklisted = Boolean.TRUE.equals(results.get(0));
+        Object revokedAt = results.get(1);
+        return new RevocationStatus(blacklisted, revokedAt != null ? Long.valueOf(revokedAt.toString()) : null);
+    }
+
+    /**
+     * Checks many tokens with a single MGET round trip.
+     *
+     * @param tokenIds tokens to check
+     * @return the subset of tokens that are blacklisted
+     */
+    public Set<String> findBlacklisted(Collection<String> tokenIds) {
+        if (tokenIds.isEmpty()) {
+            return Collections.emptySet();
+        }
+        List<String> keys = new ArrayList<>(tokenIds.size());
+        for (String tokenId : tokenIds) {
+            keys.add(BLACKLIST_PREFIX + tokenId);
+        }
+
+        List<String> values = replicaRedisTemplate.opsForValue().multiGet(keys);
+        if (values == null) {
+            return Collections.emptySet();
+        }
+
+        Set<String> blacklisted = new HashSet<>();
+        Iterator<String> ids = tokenIds.iterator();
+        for (String value : values) {
+            String tokenId = ids.next();
+            if (value != null) {
+                blacklisted.add(tokenId);
+            }
+        }
+        return blacklisted;
     }
 
     public void removeFromBlacklist(String tokenId) {
         String key = BLACKLIST_PREFIX + tokenId;
         redisTemplate.delete(key);
     }
+
+    @Value
+    public static class RevocationStatus {
+        boolean blacklisted;
+        /** Epoch millisecond of the user's revocation watermark, or null if none. */
+        Long userRevokedAt;
+    }
 }
@@ -0,0 +1,107 @@
+package com.wom.auth.repository.redis;
+
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-user revocation watermarks in Redis.
+ *
+ * A watermark is the epoch millisecond at which all of a user's sessions were
+ * revoked; any access token issued before it is rejected. Keys live as long as an
+ * access token, after which every token they cover has expired anyway.
+ * Keys are {@code revoked:user:{userId}}, braces included, so they share a
+ * cluster slot with the user's other keys (see {@link RedisKeys}).
+ */
+@Repository
+public class UserRevocationRepository {
+
+    private static final String REVOKED_PREFIX = "revoked:user:";
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    public UserRevocationRepository(RedisTemplate<String, String> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * Sets the watermark for many users in one pipelined round trip.
+     *
+     * @param userIds users whose sessions were revoked
+     * @param revokedAtEpochMilli revocation time
+     * @param ttlSeconds how long to keep the watermark
+     */
+    public void markRevoked(Collection<Long> userIds, long revokedAtEpochMilli, long ttlSeconds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        byte[] value = Long.toString(revokedAtEpochMilli).getBytes(StandardCharsets.UTF_8);
+        Expiration expiration = Expiration.seconds(ttlSeconds);
+
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Long userId : userIds) {
+                connection.stringCommands().set(
+                        key(userId).getBytes(StandardCharsets.UTF_8),
+                        value,
+                        expiration,
+                        RedisStringCommands.SetOption.upsert()
+                );
+            }
+            return null;
+        });
+    }
+
+    /**
+     * @return the user's revocation watermark in epoch milliseconds, or null if none
+     */
+    public Long findRevokedAt(Long userId) {
+        String value = redisTemplate.opsForValue().get(key(userId));
+        return value != null ? Long.valueOf(value) : null;
+    }
+
+    /**
+     * Reads many users' watermarks with a single MGET round trip.
+     *
+     * @param userIds users to look up
+     * @return watermark in epoch milliseconds by user ID, for users that have one
+     */
+    public Map<Long, Long> findRevokedAt(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<String> keys = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            keys.add(key(userId));
+        }
+
+        List<String> values = redisTemplate.opsForValue().multiGet(keys);
+        if (values == null) {
+            return Collections.emptyMap();
+        }
+
+        Map<Long, Long> watermarks = new HashMap<>();
+        Iterator<Long> ids = userIds.iterator();
+        for (String value : values) {
+            Long userId = ids.next();
+            if (value != null) {
+                watermarks.put(userId, Long.valueOf(value));
+            }
+        }
+        return watermarks;
+    }
+
+    static String key(Long userId) {
+        return RedisKeys.forUser(REVOKED_PREFIX, userId);
+    }
+}
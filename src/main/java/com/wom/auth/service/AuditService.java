@@ -2,6 +2,7 @@ package com.wom.auth.service;
 
 import com.wom.auth.entity.AuditLog;
 import com.wom.auth.repository.AuditLogRepository;
+import com.wom.auth.web.ClientAddressResolver;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Async;
@@ -23,6 +24,7 @@ import javax.servlet.http.HttpServletRequest;
 public class AuditService {
 
     private final AuditLogRepository auditLogRepository;
+    private final ClientAddressResolver clientAddressResolver;
 
     /**
      * Log a login attempt.
@@ -246,7 +248,7 @@ public class AuditService {
 
     /**
      * Extract client IP from request.
-     * Handles X-Forwarded-For header for proxied requests.
+     * Uses the same trusted-proxy resolution as rate limiting, so both see the same client.
      *
      * @param request HTTP request
      * @return client IP address
@@ -255,18 +257,7 @@ public class AuditService {
         if (request == null) {
             return "UNKNOWN";
         }
-
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
-        }
-
-        String xRealIp = request.getHeader("X-Real-IP");
-        if (xRealIp != null && !xRealIp.isEmpty()) {
-            return xRealIp;
-        }
-
-        return request.getRemoteAddr();
+        return clientAddressResolver.resolve(request).getHostAddress();
     }
 
     /**
@@ -6,6 +6,8 @@ import com.wom.auth.entity.User;
 import com.wom.auth.exception.AccountLockedException;
 import com.wom.auth.exception.InvalidCredentialsException;
 import com.wom.auth.metrics.MetricsService;
+import com.wom.auth.web.ClientAddress;
+import com.wom.auth.web.ClientAddressResolver;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,22 +22,30 @@ import java.util.Optional;
 @Service
 public class AuthService {
 
+    static final String DEVICE_NAME_HEADER = "X-Device-Name";
+
+    private static final int MAX_DEVICE_NAME_LENGTH = 100;
+    private static final int MAX_USER_AGENT_LENGTH = 512;
+
     private final UserService userService;
     private final JwtService jwtService;
     private final TokenService tokenService;
     private final MetricsService metricsService;
     private final AuditService auditService;
+    private final ClientAddressResolver clientAddressResolver;
 
     @Value("${jwt.access-token-expiration}")
     private Long accessTokenExpiration;
 
     public AuthService(UserService userService, JwtService jwtService, TokenService tokenService, 
-                      MetricsService metricsService, AuditService auditService) {
+                      MetricsService metricsService, AuditService auditService,
+                      ClientAddressResolver clientAddressResolver) {
         this.userService = userService;
         this.jwtService = jwtService;
         this.tokenService = tokenService;
         this.metricsService = metricsService;
         this.auditService = auditService;
+        this.clientAddressResolver = clientAddressResolver;
     }
 
     /**
@@ -81,10 +91,12 @@ public class AuthService {
             userService.resetFailedAttempts(user);
             userService.updateLastLogin(user);
 
-            String accessToken = jwtService.generateAccessToken(user.getId(), user.getUsername(), user.getEmail());
-            String refreshToken = jwtService.generateRefreshToken(user.getId(), user.getUsername());
+            String sessionId = tokenService.newSessionId();
+            String accessToken = jwtService.generateAccessToken(user.getId(), user.getUsername(), user.getEmail(),
+                    sessionId);
+            String refreshToken = jwtService.generateRefreshToken(user.getId(), user.getUsername(), sessionId);
             
-            tokenService.createRefreshToken(user.getId(), refreshToken);
+            tokenService.createRefreshToken(user.getId(), refreshToken, sessionMetadata(request), sessionId);
 
             // Log successful login
             auditService.logLoginAttempt(user.getId(), identifier, true, null, request);
@@ -100,7 +112,8 @@ public class AuthService {
 
     /**
      * Refreshes access token using valid refresh token.
-     * Implements token rotation by invalidating old refresh token.
+     * Implements token rotation by invalidating old refresh token. Presenting an
+     * already rotated token revokes every token of its family.
      *
      * @param refreshToken current valid refresh token
      * @param request HTTP request for audit logging
@@ -110,9 +123,14 @@ public class AuthService {
     @Transactional
     public LoginResponse refreshAccessToken(String refreshToken, HttpServletRequest request) {
         return metricsService.recordRefreshOperation(() -> {
-            Optional<RefreshToken> validToken = tokenService.validateRefreshToken(refreshToken);
-            
-            if (validToken.isEmpty()) {
+            RotationCheck check = tokenService.checkForRotation(refreshToken);
+
+            if (check.getOutcome() == RotationCheck.Outcome.REUSED) {
+                auditService.logRefreshToken(check.getToken().getUserId(), false,
+                        "Refresh token reuse detected, token family revoked", request);
+                throw new IllegalArgumentException("Invalid or expired refresh token");
+            }
+            if (!check.isAccepted()) {
                 auditService.logRefreshToken(null, false, "Invalid or expired refresh token", request);
                 throw new IllegalArgumentException("Invalid or expired refresh token");
             }
@@ -134,11 +152,19 @@ public class AuthService {
 
             User user = userOpt.get();
 
-            String newAccessToken = jwtService.generateAccessToken(user.getId(), user.getUsername(), user.getEmail());
-            String newRefreshTokenJwt = jwtService.generateRefreshToken(user.getId(), user.getUsername());
+            RefreshToken current = check.getToken();
+            String sessionId = current.getFamilyId();
+            String newAccessToken = jwtService.generateAccessToken(user.getId(), user.getUsername(), user.getEmail(),
+                    sessionId);
+            String newRefreshTokenJwt = jwtService.generateRefreshToken(user.getId(), user.getUsername(), sessionId);
             
-            tokenService.revokeRefreshToken(refreshToken);
-            tokenService.createRefreshToken(user.getId(), newRefreshTokenJwt);
+            Optional<RefreshToken> rotated = tokenService.completeRotation(current, newRefreshTokenJwt,
+                    sessionMetadata(request).withDefaultDeviceName(current.getDeviceName()));
+            if (rotated.isEmpty()) {
+                auditService.logRefreshToken(user.getId(), false,
+                        "Refresh token revoked by a concurrent request", request);
+                throw new IllegalArgumentException("Invalid or expired refresh token");
+            }
 
             // Log successful token refresh
             auditService.logRefreshToken(user.getId(), true, null, request);
@@ -153,7 +179,8 @@ public class AuthService {
     }
 
     /**
-     * Logs out user by blacklisting access token and revoking refresh token.
+     * Logs out user by blacklisting access token and revoking the refresh tokens
+     * of its session, identified by the {@code sid} claim.
      *
      * @param accessToken current access token to invalidate
      * @param request HTTP request for audit logging
@@ -171,9 +198,11 @@ public class AuthService {
                     tokenService.blacklistAccessToken(accessToken, ttl);
                 }
                 
-                String username = jwtService.getUsernameFromToken(accessToken);
-                String refreshToken = jwtService.generateRefreshToken(userId, username);
-                tokenService.revokeRefreshToken(refreshToken);
+                // Tokens issued before the sid claim existed end with their own expiry
+                String sessionId = jwtService.getSessionIdFromToken(accessToken);
+                if (sessionId != null) {
+                    tokenService.revokeSessionTokens(sessionId);
+                }
                 
                 // Log successful logout
                 auditService.logLogout(userId, false, request);
@@ -208,4 +237,24 @@ public class AuthService {
             // Log failed logout attempt if applicable
         }
     }
+
+    /**
+     * Client details recorded with a new refresh token. The device name is
+     * optional and sent by the client in the X-Device-Name header.
+     */
+    private SessionMetadata sessionMetadata(HttpServletRequest request) {
+        ClientAddress address = clientAddressResolver.resolve(request);
+        return new SessionMetadata(
+                truncate(request.getHeader(DEVICE_NAME_HEADER), MAX_DEVICE_NAME_LENGTH),
+                truncate(request.getHeader("User-Agent"), MAX_USER_AGENT_LENGTH),
+                address.isKnown() ? address.getHostAddress() : null
+        );
+    }
+
+    private static String truncate(String value, int maxLength) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
 }
@@ -0,0 +1,186 @@
+package com.wom.auth.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.wom.auth.dto.BulkRevocationRequest;
+import com.wom.auth.dto.BulkRevocationStatus;
+import com.wom.auth.repository.RefreshTokenStore;
+import com.wom.auth.repository.jpa.UserRepository;
+import com.wom.auth.repository.redis.UserRevocationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Revokes the sessions of many users at once, for incident response.
+ *
+ * Users are processed in chunks. Each chunk costs one set-based revocation in
+ * the refresh token store (an UPDATE on refresh_tokens, or three pipelined
+ * round trips with the Redis store) and one pipelined round trip that sets the users'
+ * revocation watermark, which invalidates their outstanding access tokens.
+ * Filter-based selections are walked with keyset pagination on users.id, so
+ * no chunk scans more than it returns.
+ *
+ * Jobs run one at a time on a dedicated thread. Progress is kept in memory on
+ * the replica that accepted the job.
+ */
+@Slf4j
+@Service
+public class BulkRevocationService {
+
+    private final UserRepository userRepository;
+    private final RefreshTokenStore refreshTokenStore;
+    private final UserRevocationRepository userRevocationRepository;
+    private final int chunkSize;
+    private final long watermarkTtlSeconds;
+    private final Executor executor;
+    private final Cache<String, Job> jobs = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofDays(1))
+            .maximumSize(1000)
+            .build();
+
+    @Autowired
+    public BulkRevocationService(UserRepository userRepository,
+                                 RefreshTokenStore refreshTokenStore,
+                                 UserRevocationRepository userRevocationRepository,
+                                 @Value("${revocation.chunk-size:1000}") int chunkSize,
+                                 @Value("${jwt.access-token-expiration}") long accessTokenExpiration) {
+        this(userRepository, refreshTokenStore, userRevocationRepository, chunkSize, accessTokenExpiration,
+                Executors.newSingleThreadExecutor(new CustomizableThreadFactory("bulk-revocation-")));
+    }
+
+    BulkRevocationService(UserRepository userRepository,
+                          RefreshTokenStore refreshTokenStore,
+                          UserRevocationRepository userRevocationRepository,
+                          int chunkSize,
+                          long accessTokenExpiration,
+                          Executor executor) {
+        this.userRepository = userRepository;
+        this.refreshTokenStore = refreshTokenStore;
+        this.userRevocationRepository = userRevocationRepository;
+        this.chunkSize = chunkSize;
+        // Watermarks only need to outlive the access tokens they cover
+        this.watermarkTtlSeconds = accessTokenExpiration / 1000 + 60;
+        this.executor = executor;
+    }
+
+    /**
+     * Queues a bulk revocation.
+     *
+     * @param request users to revoke
+     * @param requestedBy admin who started the job, for the log
+     * @return initial job status
+     */
+    public BulkRevocationStatus start(BulkRevocationRequest request, String requestedBy) {
+        Job job = new Job(UUID.randomUUID().toString());
+        jobs.put(job.id, job);
+        log.warn("Bulk revocation {} requested by {}", job.id, requestedBy);
+
+        executor.execute(() -> run(job, request));
+        return job.toStatus();
+    }
+
+    public Optional<BulkRevocationStatus> getStatus(String jobId) {
+        return Optional.ofNullable(jobs.getIfPresent(jobId)).map(Job::toStatus);
+    }
+
+    private void run(Job job, BulkRevocationRequest request) {
+        try {
+            if (request.getUserIds() != null && !request.getUserIds().isEmpty()) {
+                List<Long> userIds = new ArrayList<>(new LinkedHashSet<>(request.getUserIds()));
+                for (int from = 0; from < userIds.size(); from += chunkSize) {
+                    revokeChunk(job, userIds.subList(from, Math.min(from + chunkSize, userIds.size())));
+                }
+            } else {
+                long afterId = 0;
+                List<Long> chunk = nextChunk(request, afterId);
+                while (!chunk.isEmpty()) {
+                    revokeChunk(job, chunk);
+                    afterId = chunk.get(chunk.size() - 1);
+                    chunk = nextChunk(request, afterId);
+                }
+            }
+            job.finish(BulkRevocationStatus.State.COMPLETED, null);
+            log.warn("Bulk revocation {} completed: {} users, {} refresh tokens revoked",
+                    job.id, job.usersProcessed.get(), job.tokensRevoked.get());
+        } catch (Exception e) {
+            job.finish(BulkRevocationStatus.State.FAILED, e.getMessage());
+            log.error("Bulk revocation {} failed after {} users", job.id, job.usersProcessed.get(), e);
+        }
+    }
+
+    private List<Long> nextChunk(BulkRevocationRequest request, long afterId) {
+        PageRequest page = PageRequest.of(0, chunkSize);
+        if (request.getLastLoginSince() != null) {
+            return userRepository.findIdsLoggedInSince(request.getLastLoginSince(), afterId, page);
+        }
+        return userRepository.findIdsAfter(afterId, page);
+    }
+
+    private void revokeChunk(Job job, List<Long> userIds) {
+        int revoked = refreshTokenStore.revokeAllForUsers(userIds, LocalDateTime.now());
+        // Taken after the UPDATE so it also covers access tokens refreshed while it ran
+        long watermark = Instant.now().toEpochMilli();
+        userRevocationRepository.markRevoked(userIds, watermark, watermarkTtlSeconds);
+
+        job.usersProcessed.addAndGet(userIds.size());
+        job.tokensRevoked.addAndGet(revoked);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor instanceof ExecutorService) {
+            ((ExecutorService) executor).shutdown();
+        }
+    }
+
+    private static final class Job {
+
+        private final String id;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final AtomicLong usersProcessed = new AtomicLong();
+        private final AtomicLong tokensRevoked = new AtomicLong();
+        private volatile BulkRevocationStatus.State state = BulkRevocationStatus.State.RUNNING;
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+
+        private Job(String id) {
+            this.id = id;
+        }
+
+        private void finish(BulkRevocationStatus.State state, String error) {
+            this.error = error;
+            this.finishedAt = LocalDateTime.now();
+            this.state = state;
+        }
+
+        private BulkRevocationStatus toStatus() {
+            return BulkRevocationStatus.builder()
+                    .id(id)
+                    .state(state)
+                    .usersProcessed(usersProcessed.get())
+                    .tokensRevoked(tokensRevoked.get())
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .error(error)
+                    .build();
+        }
+    }
+}
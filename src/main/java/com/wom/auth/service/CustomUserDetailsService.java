@@ -3,20 +3,33 @@ package com.wom.auth.service;
 import com.wom.auth.entity.User;
 import com.wom.auth.repository.jpa.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collections;
+import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
 
+    private static final List<GrantedAuthority> ADMIN_AUTHORITIES =
+            List.of(new SimpleGrantedAuthority("ROLE_ADMIN"));
+
     private final UserRepository userRepository;
 
+    @Value("${security.admin-usernames:}")
+    private Set<String> adminUsernames = Set.of();
+
     @Override
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         User user = userRepository.findByEmailOrUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
@@ -28,7 +41,7 @@ public class CustomUserDetailsService implements UserDetailsService {
                 true,
                 true,
                 !user.isLocked(),
-                Collections.emptyList()
+                adminUsernames.contains(user.getUsername()) ? ADMIN_AUTHORITIES : Collections.emptyList()
         );
     }
 }
@@ -0,0 +1,57 @@
+package com.wom.auth.service;
+
+/**
+ * Structural check for compact JWS tokens, run before any decoding.
+ *
+ * A token is accepted only if it has three non-empty Base64URL segments, fits in
+ * {@link #MAX_LENGTH} characters and its header starts with {@code eyJ} (the
+ * encoding of <code>{"</code>, which every JSON header begins with). The check
+ * reads characters in place and allocates nothing, so junk tokens are rejected
+ * without Base64 decoding, JSON parsing or exception construction.
+ */
+public final class JwtFormat {
+
+    /** Upper bound for our tokens; RS256 access tokens are well under 1 KiB. */
+    public static final int MAX_LENGTH = 4096;
+
+    private static final String HEADER_PREFIX = "eyJ";
+
+    private JwtFormat() {
+    }
+
+    /**
+     * @param value string holding the token
+     * @param offset index where the token starts (e.g. 7 for a "Bearer " header)
+     * @return whether the token is structurally a compact JWS
+     */
+    public static boolean isWellFormed(String value, int offset) {
+        int length = value.length() - offset;
+        if (length <= 0 || length > MAX_LENGTH || !value.startsWith(HEADER_PREFIX, offset)) {
+            return false;
+        }
+
+        int dots = 0;
+        int segmentLength = 0;
+        for (int i = offset; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '.') {
+                if (segmentLength == 0 || ++dots > 2) {
+                    return false;
+                }
+                segmentLength = 0;
+            } else if (isBase64Url(c)) {
+                segmentLength++;
+            } else {
+                return false;
+            }
+        }
+        return dots == 2 && segmentLength > 0;
+    }
+
+    private static boolean isBase64Url(char c) {
+        return (c >= 'A' && c <= 'Z')
+                || (c >= 'a' && c <= 'z')
+                || (c >= '0' && c <= '9')
+                || c == '-' || c == '_';
+    }
+}
@@ -0,0 +1,49 @@
+package com.wom.auth.service;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Encoders;
+import lombok.ToString;
+import lombok.Value;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.Arrays;
+
+/**
+ * A JWT key pair identified by a key id (kid).
+ * The kid is derived from the public key, so the same key always gets the same kid
+ * on every replica. Verify-only keys have no private key.
+ */
+@Value
+public class JwtKey {
+
+    private static final int KID_BYTES = 16;
+
+    String kid;
+    SignatureAlgorithm algorithm;
+    @ToString.Exclude
+    PrivateKey privateKey;
+    PublicKey publicKey;
+
+    public static JwtKey of(SignatureAlgorithm algorithm, PrivateKey privateKey, PublicKey publicKey) {
+        return new JwtKey(kidOf(publicKey), algorithm, privateKey, publicKey);
+    }
+
+    public static JwtKey verifyOnly(SignatureAlgorithm algorithm, PublicKey publicKey) {
+        return of(algorithm, null, publicKey);
+    }
+
+    /**
+     * Base64url of the first 128 bits of the SHA-256 digest of the encoded public key.
+     */
+    static String kidOf(PublicKey publicKey) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(publicKey.getEncoded());
+            return Encoders.BASE64URL.encode(Arrays.copyOf(digest, KID_BYTES));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
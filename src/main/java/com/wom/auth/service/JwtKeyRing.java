@@ -0,0 +1,106 @@
+package com.wom.auth.service;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable set of JWT keys: one active signing key plus retiring keys that are
+ * still accepted for verification until their overlap window ends.
+ *
+ * A rotation builds a new ring, so readers always see a consistent set and
+ * verification key lookup by kid is a single hash lookup.
+ */
+public final class JwtKeyRing {
+
+    private final JwtKey active;
+    private final Map<String, JwtKey> verificationKeys;
+    private final Map<String, Instant> retiringUntil;
+
+    private JwtKeyRing(JwtKey active, Map<String, JwtKey> verificationKeys, Map<String, Instant> retiringUntil) {
+        this.active = active;
+        this.verificationKeys = Collections.unmodifiableMap(verificationKeys);
+        this.retiringUntil = Collections.unmodifiableMap(retiringUntil);
+    }
+
+    public static JwtKeyRing of(JwtKey active) {
+        Map<String, JwtKey> keys = new LinkedHashMap<>();
+        keys.put(active.getKid(), active);
+        return new JwtKeyRing(active, keys, Collections.emptyMap());
+    }
+
+    /**
+     * Returns a ring that also accepts {@code key} for verification until {@code until}.
+     */
+    public JwtKeyRing withRetiring(JwtKey key, Instant until) {
+        if (key.getKid().equals(active.getKid())) {
+            return this;
+        }
+        Map<String, JwtKey> keys = new LinkedHashMap<>(verificationKeys);
+        keys.put(key.getKid(), key);
+        Map<String, Instant> retiring = new LinkedHashMap<>(retiringUntil);
+        retiring.put(key.getKid(), until);
+        return new JwtKeyRing(active, keys, retiring);
+    }
+
+    /**
+     * Makes {@code newActive} the signing key and keeps the current one verifiable until {@code retireUntil}.
+     */
+    public JwtKeyRing rotate(JwtKey newActive, Instant retireUntil) {
+        Map<String, JwtKey> keys = new LinkedHashMap<>();
+        keys.put(newActive.getKid(), newActive);
+        Map<String, Instant> retiring = new LinkedHashMap<>();
+
+        retiringUntil.forEach((kid, until) -> {
+            if (!kid.equals(newActive.getKid())) {
+                keys.put(kid, verificationKeys.get(kid));
+                retiring.put(kid, until);
+            }
+        });
+        if (!active.getKid().equals(newActive.getKid())) {
+            keys.put(active.getKid(), active);
+            retiring.put(active.getKid(), retireUntil);
+        }
+        return new JwtKeyRing(newActive, keys, retiring);
+    }
+
+    /**
+     * Drops retiring keys whose overlap window ended before {@code now}.
+     */
+    public JwtKeyRing prune(Instant now) {
+        boolean expired = retiringUntil.values().stream().anyMatch(until -> until.isBefore(now));
+        if (!expired) {
+            return this;
+        }
+        Map<String, JwtKey> keys = new LinkedHashMap<>();
+        keys.put(active.getKid(), active);
+        Map<String, Instant> retiring = new LinkedHashMap<>();
+        retiringUntil.forEach((kid, until) -> {
+            if (!until.isBefore(now)) {
+                keys.put(kid, verificationKeys.get(kid));
+                retiring.put(kid, until);
+            }
+        });
+        return new JwtKeyRing(active, keys, retiring);
+    }
+
+    public JwtKey getActive() {
+        return active;
+    }
+
+    /**
+     * @return verification key for the kid, or null if unknown or retired
+     */
+    public JwtKey findVerificationKey(String kid) {
+        return kid != null ? verificationKeys.get(kid) : null;
+    }
+
+    /**
+     * Active key first, then retiring keys.
+     */
+    public Collection<JwtKey> getVerificationKeys() {
+        return verificationKeys.values();
+    }
+}
@@ -0,0 +1,182 @@
+package com.wom.auth.service;
+
+import com.wom.auth.repository.redis.JobLockRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Removes expired refresh tokens and maintains the table's weekly partitions.
+ *
+ * refresh_tokens is range-partitioned by expires_at (V7). Each run first drops
+ * whole partitions that only hold tokens expired past the retention period,
+ * detaching them concurrently so token traffic is not blocked and leaving no
+ * vacuum debt, and creates the partitions upcoming tokens will need. What remains expired in the boundary partition is deleted in small
+ * batches: each batch deletes at most {@code batch-size} rows found through the
+ * expires_at index, in its own transaction, with a pause in between so autovacuum
+ * and normal traffic keep up. A Redis lease makes sure only one replica runs this
+ * at a time; a run stops before the lease can expire.
+ */
+@Slf4j
+@Service
+public class RefreshTokenPurgeService {
+
+    static final String LOCK_NAME = "refresh-token-purge";
+
+    private final TokenService tokenService;
+    private final JobLockRepository jobLockRepository;
+    private final int batchSize;
+    private final long pauseMillis;
+    private final Duration retention;
+    private final Duration lease;
+    private final boolean partitioned;
+    private final int partitionsAheadWeeks;
+    private final Counter purgedCounter;
+    private final Counter droppedPartitionsCounter;
+    private final Timer batchTimer;
+    private final String owner = UUID.randomUUID().toString();
+
+    public RefreshTokenPurgeService(TokenService tokenService,
+                                    JobLockRepository jobLockRepository,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${refresh-token-purge.batch-size:5000}") int batchSize,
+                                    @Value("${refresh-token-purge.pause-ms:200}") long pauseMillis,
+                                    @Value("${refresh-token-purge.retention-hours:24}") long retentionHours,
+                                    @Value("${refresh-token-purge.lease-minutes:10}") long leaseMinutes,
+                                    @Value("${refresh-token-purge.partitioned:true}") boolean partitioned,
+                                    @Value("${refresh-token-purge.partitions-ahead-weeks:2}") int partitionsAheadWeeks) {
+        this.tokenService = tokenService;
+        this.jobLockRepository = jobLockRepository;
+        this.batchSize = batchSize;
+        this.pauseMillis = pauseMillis;
+        this.retention = Duration.ofHours(retentionHours);
+        this.lease = Duration.ofMinutes(leaseMinutes);
+        this.partitioned = partitioned;
+        this.partitionsAheadWeeks = partitionsAheadWeeks;
+        this.purgedCounter = Counter.builder("refresh_tokens.purged")
+                .description("Expired refresh tokens deleted by the purge job")
+                .register(meterRegistry);
+        this.droppedPartitionsCounter = Counter.builder("refresh_tokens.partitions.dropped")
+                .description("Expired refresh_tokens partitions dropped by the purge job")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("refresh_tokens.purge.batch")
+                .description("Latency of one purge batch")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Creates the partitions upcoming tokens need as soon as the app starts, so a
+     * longer refresh token lifetime never meets a missing partition.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensurePartitionsOnStartup() {
+        if (!partitioned) {
+            return;
+        }
+        try {
+            if (jobLockRepository.tryLock(LOCK_NAME, owner, lease)) {
+                try {
+                    ensurePartitions();
+                } finally {
+                    jobLockRepository.unlock(LOCK_NAME, owner);
+                }
+            }
+        } catch (Exception e) {
+            log.error("Refresh token partition maintenance failed: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${refresh-token-purge.interval-ms:3600000}",
+            fixedDelayString = "${refresh-token-purge.interval-ms:3600000}"
+    )
+    public void scheduledPurge() {
+        try {
+            purge();
+        } catch (Exception e) {
+            log.error("Refresh token purge failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Runs one purge if no other replica is running one.
+     *
+     * @return rows deleted, or -1 if another replica holds the lock
+     */
+    public long purge() {
+        if (!jobLockRepository.tryLock(LOCK_NAME, owner, lease)) {
+            log.debug("Refresh token purge skipped: running on another replica");
+            return -1;
+        }
+        try {
+            return purgeBatches();
+        } finally {
+            jobLockRepository.unlock(LOCK_NAME, owner);
+        }
+    }
+
+    private long purgeBatches() {
+        LocalDateTime threshold = LocalDateTime.now().minus(retention);
+        if (partitioned) {
+            int dropped = tokenService.dropExpiredRefreshTokenPartitions(threshold);
+            droppedPartitionsCounter.increment(dropped);
+            if (dropped > 0) {
+                log.info("Dropped {} refresh_tokens partitions expired before {}", dropped, threshold);
+            }
+            ensurePartitions();
+        }
+
+        // Leave a margin so the lease never lapses while a batch is running
+        long deadline = System.nanoTime() + lease.toNanos() * 4 / 5;
+        long total = 0;
+
+        while (System.nanoTime() < deadline) {
+            Timer.Sample sample = Timer.start();
+            int deleted = tokenService.purgeExpiredTokens(threshold, batchSize);
+            sample.stop(batchTimer);
+            purgedCounter.increment(deleted);
+            total += deleted;
+
+            if (deleted < batchSize) {
+                break;
+            }
+            if (!pause()) {
+                break;
+            }
+        }
+
+        if (total > 0) {
+            log.info("Purged {} refresh tokens expired before {}", total, threshold);
+        }
+        return total;
+    }
+
+    private void ensurePartitions() {
+        LocalDate until = tokenService.latestRefreshTokenExpiry().toLocalDate().plusWeeks(partitionsAheadWeeks);
+        tokenService.ensureRefreshTokenPartitions(until);
+    }
+
+    private boolean pause() {
+        if (pauseMillis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.wom.auth.service;
+
+import com.wom.auth.entity.RefreshToken;
+import lombok.Value;
+
+/**
+ * Result of checking a presented refresh token before rotating it.
+ * See {@link TokenService#checkForRotation(String)}.
+ */
+@Value
+public class RotationCheck {
+
+    public enum Outcome {
+        /** Live token, rotate it. */
+        VALID,
+        /** Rotated moments ago by a concurrent refresh of the same client; rotate again. */
+        RECENTLY_ROTATED,
+        /** Rotated token presented again; its family has been revoked. */
+        REUSED,
+        /** Unknown, expired, blacklisted or revoked token. */
+        INVALID
+    }
+
+    private static final RotationCheck INVALID = new RotationCheck(Outcome.INVALID, null);
+
+    Outcome outcome;
+    RefreshToken token;
+
+    public static RotationCheck valid(RefreshToken token) {
+        return new RotationCheck(Outcome.VALID, token);
+    }
+
+    public static RotationCheck recentlyRotated(RefreshToken token) {
+        return new RotationCheck(Outcome.RECENTLY_ROTATED, token);
+    }
+
+    public static RotationCheck reused(RefreshToken token) {
+        return new RotationCheck(Outcome.REUSED, token);
+    }
+
+    public static RotationCheck invalid() {
+        return INVALID;
+    }
+
+    /**
+     * @return true if a new token pair may be issued
+     */
+    public boolean isAccepted() {
+        return outcome == Outcome.VALID || outcome == Outcome.RECENTLY_ROTATED;
+    }
+}
@@ -0,0 +1,27 @@
+package com.wom.auth.service;
+
+import lombok.Value;
+
+/**
+ * Client details stored with a refresh token and shown in the session list.
+ */
+@Value
+public class SessionMetadata {
+
+    private static final SessionMetadata NONE = new SessionMetadata(null, null, null);
+
+    String deviceName;
+    String userAgent;
+    String ipAddress;
+
+    public static SessionMetadata none() {
+        return NONE;
+    }
+
+    /**
+     * @return the same metadata with the device name replaced, if this one has none
+     */
+    public SessionMetadata withDefaultDeviceName(String fallback) {
+        return deviceName != null ? this : new SessionMetadata(fallback, userAgent, ipAddress);
+    }
+}
@@ -0,0 +1,136 @@
+package com.wom.auth.service;
+
+import com.wom.auth.dto.TokenIntrospection;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batch token introspection for gateways.
+ *
+ * Signatures are verified in parallel on a bounded pool sized to the CPU count;
+ * when the pool is saturated the calling thread verifies instead, which slows
+ * callers down rather than queueing without limit. All verified tokens are then
+ * checked against the blacklist and their users' bulk revocation watermarks with
+ * one Redis MGET each; refresh tokens are also checked against their stored state.
+ */
+@Slf4j
+@Service
+public class TokenIntrospectionService {
+
+    /** Below this size the batch is verified on the calling thread. */
+    private static final int PARALLEL_THRESHOLD = 8;
+
+    private final JwtService jwtService;
+    private final TokenService tokenService;
+    private final ExecutorService verifier;
+
+    public TokenIntrospectionService(JwtService jwtService,
+                                     TokenService tokenService,
+                                     @Value("${introspection.parallelism:0}") int parallelism) {
+        this.jwtService = jwtService;
+        this.tokenService = tokenService;
+
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("introspect-");
+        threadFactory.setDaemon(true);
+        this.verifier = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * 64),
+                threadFactory,
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+    }
+
+    /**
+     * Introspects a batch of tokens.
+     *
+     * @param tokens tokens to check
+     * @return one result per token, in request order
+     */
+    public List<TokenIntrospection> introspect(List<String> tokens) {
+        List<Claims> claims = verifyAll(tokens);
+
+        Map<String, Claims> verified = new LinkedHashMap<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            if (claims.get(i) != null) {
+                verified.put(tokens.get(i), claims.get(i));
+            }
+        }
+        Set<String> revoked = verified.isEmpty()
+                ? Collections.emptySet()
+                : tokenService.findRevokedTokens(verified);
+
+        List<TokenIntrospection> results = new ArrayList<>(tokens.size());
+        for (int i = 0; i < tokens.size(); i++) {
+            Claims tokenClaims = claims.get(i);
+            if (tokenClaims == null || revoked.contains(tokens.get(i))) {
+                results.add(TokenIntrospection.inactive());
+            } else {
+                results.add(toResult(tokenClaims));
+            }
+        }
+        return results;
+    }
+
+    private List<Claims> verifyAll(List<String> tokens) {
+        List<Claims> claims = new ArrayList<>(tokens.size());
+        if (tokens.size() < PARALLEL_THRESHOLD) {
+            for (String token : tokens) {
+                claims.add(verify(token));
+            }
+            return claims;
+        }
+
+        List<CompletableFuture<Claims>> futures = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            futures.add(CompletableFuture.supplyAsync(() -> verify(token), verifier));
+        }
+        for (CompletableFuture<Claims> future : futures) {
+            claims.add(future.join());
+        }
+        return claims;
+    }
+
+    private Claims verify(String token) {
+        try {
+            return jwtService.validateToken(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Introspected token is not valid: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private TokenIntrospection toResult(Claims claims) {
+        return TokenIntrospection.builder()
+                .active(true)
+                .sub(claims.getSubject())
+                .userId(claims.get("userId", Long.class))
+                .tokenType(claims.get("type", String.class))
+                .iat(claims.getIssuedAt() != null ? claims.getIssuedAt().getTime() / 1000 : null)
+                .exp(claims.getExpiration() != null ? claims.getExpiration().getTime() / 1000 : null)
+                .build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        verifier.shutdown();
+    }
+}
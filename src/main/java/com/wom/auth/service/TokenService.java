@@ -1,8 +1,15 @@
 package com.wom.auth.service;
 
+import com.wom.auth.dto.SessionResponse;
 import com.wom.auth.entity.RefreshToken;
+import com.wom.auth.repository.RefreshTokenStore;
+import com.wom.auth.repository.jpa.RefreshTokenPartitionRepository;
 import com.wom.auth.repository.jpa.RefreshTokenRepository;
 import com.wom.auth.repository.redis.TokenBlacklistRepository;
+import com.wom.auth.repository.redis.TokenBlacklistRepository.RevocationStatus;
+import com.wom.auth.repository.redis.UserRevocationRepository;
+import io.jsonwebtoken.Claims;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -10,18 +17,30 @@ import org.springframework.transaction.annotation.Transactional;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 
 /**
  * Service for managing refresh tokens and token blacklist.
+ * Refresh token state goes through the configured {@link RefreshTokenStore};
+ * table maintenance (purge, partitions) always runs against Postgres.
  */
+@Slf4j
 @Service
 public class TokenService {
 
+    private final RefreshTokenStore refreshTokenStore;
     private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenPartitionRepository refreshTokenPartitionRepository;
     private final TokenBlacklistRepository tokenBlacklistRepository;
+    private final UserRevocationRepository userRevocationRepository;
     private final JwtService jwtService;
 
     @Value("${jwt.refresh-token-expiration}")
@@ -30,11 +49,23 @@ public class TokenService {
     @Value("${jwt.access-token-expiration}")
     private Long accessTokenExpiration;
 
-    public TokenService(RefreshTokenRepository refreshTokenRepository,
+    @Value("${refresh-token.max-active-sessions:10}")
+    private int maxActiveSessions;
+
+    @Value("${refresh-token.reuse-grace-seconds:10}")
+    private long reuseGraceSeconds;
+
+    public TokenService(RefreshTokenStore refreshTokenStore,
+                        RefreshTokenRepository refreshTokenRepository,
+                        RefreshTokenPartitionRepository refreshTokenPartitionRepository,
                         TokenBlacklistRepository tokenBlacklistRepository,
+                        UserRevocationRepository userRevocationRepository,
                         JwtService jwtService) {
+        this.refreshTokenStore = refreshTokenStore;
         this.refreshTokenRepository = refreshTokenRepository;
+        this.refreshTokenPartitionRepository = refreshTokenPartitionRepository;
         this.tokenBlacklistRepository = tokenBlacklistRepository;
+        this.userRevocationRepository = userRevocationRepository;
         this.jwtService = jwtService;
     }
 
@@ -47,22 +78,54 @@ public class TokenService {
      */
     @Transactional
     public RefreshToken createRefreshToken(Long userId, String token) {
-        String tokenHash = hashToken(token);
+        return createRefreshToken(userId, token, SessionMetadata.none());
+    }
 
-        RefreshToken refreshToken = RefreshToken.builder()
-                .userId(userId)
-                .tokenHash(tokenHash)
-                .expiresAt(LocalDateTime.now().plusSeconds(refreshTokenExpiration / 1000))
-                .build();
+    /**
+     * Creates and persists refresh token with SHA-256 hash and the client details
+     * listed by {@link #findActiveSessions(Long)}. The token starts a new rotation
+     * family. If the user then has more than {@code refresh-token.max-active-sessions}
+     * active sessions, the oldest are revoked in the same transaction.
+     *
+     * @param userId user ID
+     * @param token JWT refresh token
+     * @param metadata client that obtained the token
+     * @return created RefreshToken entity
+     */
+    @Transactional
+    public RefreshToken createRefreshToken(Long userId, String token, SessionMetadata metadata) {
+        return createRefreshToken(userId, token, metadata, newSessionId());
+    }
 
-        return refreshTokenRepository.save(refreshToken);
+    /**
+     * Same as {@link #createRefreshToken(Long, String, SessionMetadata)}, starting
+     * the family with an ID already embedded in the tokens as their {@code sid} claim.
+     *
+     * @param userId user ID
+     * @param token JWT refresh token
+     * @param metadata client that obtained the token
+     * @param sessionId family ID from {@link #newSessionId()}
+     * @return created RefreshToken entity
+     */
+    @Transactional
+    public RefreshToken createRefreshToken(Long userId, String token, SessionMetadata metadata, String sessionId) {
+        RefreshToken saved = issue(userId, token, metadata, sessionId);
+        enforceSessionLimit(userId);
+        return saved;
+    }
+
+    /**
+     * @return a new refresh token family ID, used as the {@code sid} claim of a login's tokens
+     */
+    public String newSessionId() {
+        return UUID.randomUUID().toString();
     }
 
     @Transactional
     public Optional<RefreshToken> rotateRefreshToken(String oldToken) {
         String tokenHash = hashToken(oldToken);
         
-        Optional<RefreshToken> oldTokenOpt = refreshTokenRepository.findByTokenHash(tokenHash);
+        Optional<RefreshToken> oldTokenOpt = refreshTokenStore.findByTokenHash(tokenHash);
         
         if (oldTokenOpt.isEmpty() || !oldTokenOpt.get().isValid()) {
             return Optional.empty();
@@ -72,13 +135,97 @@ public class TokenService {
         Long userId = jwtService.getUserIdFromToken(oldToken);
         String username = jwtService.getUsernameFromToken(oldToken);
         
-        String newToken = jwtService.generateRefreshToken(userId, username);
-        RefreshToken newRefreshToken = createRefreshToken(userId, newToken);
-        
-        oldRefreshToken.revokeAndReplace(newRefreshToken.getId());
-        refreshTokenRepository.save(oldRefreshToken);
+        String newToken = jwtService.generateRefreshToken(userId, username, oldRefreshToken.getFamilyId());
+        return completeRotation(oldRefreshToken, newToken, new SessionMetadata(
+                oldRefreshToken.getDeviceName(), oldRefreshToken.getUserAgent(), oldRefreshToken.getIpAddress()));
+    }
 
-        return Optional.of(newRefreshToken);
+    /**
+     * Looks up a presented refresh token before rotation. A live token costs the
+     * same single lookup as {@link #validateRefreshToken(String)}. A revoked one is
+     * accepted again only within {@code refresh-token.reuse-grace-seconds} of its
+     * revocation and while its family still has a live token, which covers clients
+     * that send the same token from two concurrent requests. Any other revoked
+     * token is treated as stolen: its whole family is revoked with one UPDATE.
+     *
+     * @param token presented refresh token
+     * @return outcome and, unless invalid, the stored token
+     */
+    public RotationCheck checkForRotation(String token) {
+        Optional<RefreshToken> found = refreshTokenStore.findByTokenHash(hashToken(token));
+        if (found.isEmpty() || found.get().isExpired() || isTokenBlacklisted(token)) {
+            return RotationCheck.invalid();
+        }
+
+        RefreshToken refreshToken = found.get();
+        if (!refreshToken.isRevoked()) {
+            return RotationCheck.valid(refreshToken);
+        }
+        return checkRevoked(refreshToken, refreshToken.getRevokedAt());
+    }
+
+    private RotationCheck checkRevoked(RefreshToken refreshToken, LocalDateTime revokedAt) {
+        String familyId = refreshToken.getFamilyId();
+        if (familyId == null) {
+            return RotationCheck.invalid();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (revokedAt.isAfter(now.minusSeconds(reuseGraceSeconds))
+                && refreshTokenStore.hasActiveToken(familyId, now)) {
+            return RotationCheck.recentlyRotated(refreshToken);
+        }
+
+        // Nothing left to revoke means the family already ended (logout, session revoked)
+        int revoked = refreshTokenStore.revokeReusedFamily(familyId, now);
+        if (revoked == 0) {
+            return RotationCheck.invalid();
+        }
+        log.warn("Reuse of rotated refresh token detected for user {}; revoked {} tokens of family {}",
+                refreshToken.getUserId(), revoked, familyId);
+        return RotationCheck.reused(refreshToken);
+    }
+
+    /**
+     * Revokes the presented token and issues its successor in the same family,
+     * recording the replacement.
+     *
+     * The revocation is a check-and-set made before the successor exists. If a
+     * concurrent refresh or logout revoked the token first, this rotation is
+     * judged like any token revoked moments ago in {@link #checkForRotation(String)}:
+     * accepted while the family still has a live token, otherwise rejected with
+     * the family revoked. Two refreshes of one live token therefore never fork
+     * the family unnoticed.
+     *
+     * @param current token accepted by {@link #checkForRotation(String)}
+     * @param newToken JWT refresh token to issue
+     * @param metadata client that rotated the token
+     * @return created RefreshToken entity, or empty if the rotation was rejected
+     */
+    @Transactional
+    public Optional<RefreshToken> completeRotation(RefreshToken current, String newToken, SessionMetadata metadata) {
+        LocalDateTime now = LocalDateTime.now();
+        boolean claimed = false;
+        // Within the grace window the token was already rotated; keep its first replacement
+        if (!current.isRevoked()) {
+            claimed = refreshTokenStore.revokeIfActive(current, now);
+            if (!claimed && !checkRevoked(current, now).isAccepted()) {
+                return Optional.empty();
+            }
+        }
+
+        String familyId = current.getFamilyId() != null ? current.getFamilyId() : newSessionId();
+        RefreshToken next = issue(current.getUserId(), newToken, metadata, familyId);
+
+        // Only stores that assign row IDs can point at the successor
+        if (claimed && next.getId() != null) {
+            current.setRevokedAt(now);
+            current.setReplacedBy(next.getId());
+            refreshTokenStore.save(current);
+        }
+        // After revoking the old token, so the rotated session is not counted twice
+        enforceSessionLimit(current.getUserId());
+        return Optional.of(next);
     }
 
     /**
@@ -89,13 +236,24 @@ public class TokenService {
     @Transactional
     public void revokeRefreshToken(String token) {
         String tokenHash = hashToken(token);
-        refreshTokenRepository.findByTokenHash(tokenHash)
+        refreshTokenStore.findByTokenHash(tokenHash)
                 .ifPresent(rt -> {
                     rt.revoke();
-                    refreshTokenRepository.save(rt);
+                    refreshTokenStore.save(rt);
                 });
     }
 
+    /**
+     * Signs out one login session: revokes every refresh token of its family with
+     * a single indexed UPDATE, without looking any token up first.
+     *
+     * @param sessionId {@code sid} claim of the session's tokens
+     * @return number of refresh tokens revoked
+     */
+    public int revokeSessionTokens(String sessionId) {
+        return refreshTokenStore.revokeFamily(sessionId, LocalDateTime.now());
+    }
+
     /**
      * Revokes all refresh tokens for a user across all devices.
      *
@@ -103,7 +261,32 @@ public class TokenService {
      */
     @Transactional
     public void revokeAllUserTokens(Long userId) {
-        refreshTokenRepository.revokeAllUserTokens(userId, LocalDateTime.now());
+        refreshTokenStore.revokeAllForUser(userId, LocalDateTime.now());
+    }
+
+    /**
+     * Lists the user's active sessions, newest first. Always reads Postgres; with
+     * the Redis store this is the write-behind copy, at most one flush behind, and
+     * with a read replica it may also lag by up to {@code datasource-replica.max-lag-seconds}.
+     *
+     * @param userId user ID
+     * @return one entry per live refresh token
+     */
+    @Transactional(readOnly = true)
+    public List<SessionResponse> findActiveSessions(Long userId) {
+        return refreshTokenRepository.findActiveSessions(userId, LocalDateTime.now());
+    }
+
+    /**
+     * Revokes one of the user's sessions (e.g. a lost device).
+     *
+     * @param userId owner of the session
+     * @param sessionId session ID from {@link #findActiveSessions(Long)}
+     * @return false if no such active session belongs to the user
+     */
+    @Transactional
+    public boolean revokeSession(Long userId, Long sessionId) {
+        return refreshTokenStore.revokeSession(userId, sessionId, LocalDateTime.now());
     }
 
     /**
@@ -114,15 +297,105 @@ public class TokenService {
      */
     public void blacklistAccessToken(String token, Long expirationSeconds) {
         tokenBlacklistRepository.blacklistToken(token, expirationSeconds);
+        jwtService.evictVerifiedToken(token);
     }
 
     public boolean isTokenBlacklisted(String token) {
         return tokenBlacklistRepository.isTokenBlacklisted(token);
     }
 
+    /**
+     * Checks whether the token was issued before its user's sessions were revoked
+     * in bulk (see {@link BulkRevocationService}).
+     *
+     * @param claims verified token claims
+     * @return true if the token is covered by the user's revocation watermark
+     */
+    public boolean isRevokedForUser(Claims claims) {
+        Long userId = watermarkUserId(claims);
+        if (userId == null) {
+            return false;
+        }
+        return isCoveredByWatermark(claims, userRevocationRepository.findRevokedAt(userId));
+    }
+
+    /**
+     * Combines {@link #isTokenBlacklisted(String)} and {@link #isRevokedForUser(Claims)}
+     * in one Redis round trip, for the per-request check in the authentication filter.
+     *
+     * @param token access token
+     * @param claims its verified claims
+     * @return true if the token is blacklisted or covered by its user's revocation watermark
+     */
+    public boolean isAccessTokenRevoked(String token, Claims claims) {
+        Long userId = claims != null ? watermarkUserId(claims) : null;
+        RevocationStatus status = tokenBlacklistRepository.findRevocationStatus(token, userId);
+        return status.isBlacklisted() || isCoveredByWatermark(claims, status.getUserRevokedAt());
+    }
+
+    /**
+     * Batch form of {@link #isAccessTokenRevoked(String, Claims)}: one MGET for the
+     * blacklist and one for the owners' revocation watermarks. A refresh token keeps
+     * a valid signature after rotation, logout or session revocation, so each one
+     * is also looked up in the refresh token store.
+     *
+     * @param tokens verified tokens and their claims
+     * @return the subset of tokens that are blacklisted, covered by a watermark, or
+     *         refresh tokens that are revoked or no longer stored
+     */
+    public Set<String> findRevokedTokens(Map<String, Claims> tokens) {
+        Set<String> revoked = new HashSet<>(tokenBlacklistRepository.findBlacklisted(tokens.keySet()));
+
+        Set<Long> userIds = new HashSet<>();
+        for (Claims claims : tokens.values()) {
+            Long userId = watermarkUserId(claims);
+            if (userId != null) {
+                userIds.add(userId);
+            }
+        }
+        Map<Long, Long> watermarks = userRevocationRepository.findRevokedAt(userIds);
+
+        for (Map.Entry<String, Claims> entry : tokens.entrySet()) {
+            Long userId = watermarkUserId(entry.getValue());
+            if (userId != null && isCoveredByWatermark(entry.getValue(), watermarks.get(userId))) {
+                revoked.add(entry.getKey());
+            }
+        }
+
+        for (Map.Entry<String, Claims> entry : tokens.entrySet()) {
+            String token = entry.getKey();
+            if (!revoked.contains(token) && "refresh".equals(entry.getValue().get("type", String.class))
+                    && refreshTokenStore.findByTokenHash(hashToken(token)).filter(RefreshToken::isValid).isEmpty()) {
+                revoked.add(token);
+            }
+        }
+        return revoked;
+    }
+
+    private static Long watermarkUserId(Claims claims) {
+        return claims.getIssuedAt() != null ? claims.get("userId", Long.class) : null;
+    }
+
+    /**
+     * A token is covered if it was issued strictly before the watermark, so a
+     * login in the same second as a bulk revocation keeps its new token. Tokens
+     * issued before the {@code iatMs} claim existed only carry a whole-second
+     * {@code iat} and are covered through the end of that second.
+     */
+    private static boolean isCoveredByWatermark(Claims claims, Long revokedAtMillis) {
+        if (revokedAtMillis == null) {
+            return false;
+        }
+        Long issuedAtMillis = claims.get(JwtService.ISSUED_AT_MILLIS_CLAIM, Long.class);
+        if (issuedAtMillis != null) {
+            return issuedAtMillis < revokedAtMillis;
+        }
+        return claims.getIssuedAt().getTime() <= revokedAtMillis;
+    }
+
     public Optional<RefreshToken> validateRefreshToken(String token) {
         String tokenHash = hashToken(token);
-        Optional<RefreshToken> refreshToken = refreshTokenRepository.findByTokenHash(tokenHash);
+        Optional<RefreshToken> refreshToken = refreshTokenStore.findByTokenHash(tokenHash);
         
         if (refreshToken.isEmpty() || !refreshToken.get().isValid()) {
             return Optional.empty();
@@ -140,6 +413,71 @@ public class TokenService {
         refreshTokenRepository.deleteExpiredTokens(LocalDateTime.now());
     }
 
+    /**
+     * Deletes one bounded batch of expired refresh tokens.
+     * Used by {@link RefreshTokenPurgeService}, which commits batch by batch.
+     *
+     * @param threshold tokens that expired before this are deleted
+     * @param batchSize maximum rows to delete
+     * @return rows deleted
+     */
+    public int purgeExpiredTokens(LocalDateTime threshold, int batchSize) {
+        return refreshTokenRepository.deleteExpiredTokensBatch(threshold, batchSize);
+    }
+
+    /**
+     * Makes sure refresh_tokens has a partition for every week from today through
+     * {@code until}, so inserts never hit a missing range.
+     *
+     * @param until last expiry date that must be covered
+     */
+    public void ensureRefreshTokenPartitions(LocalDate until) {
+        for (LocalDate day = LocalDate.now(); !day.isAfter(until); day = day.plusWeeks(1)) {
+            refreshTokenRepository.createPartition(day);
+        }
+        refreshTokenRepository.createPartition(until);
+    }
+
+    /**
+     * Drops the refresh_tokens partitions that only hold tokens expired before the cutoff.
+     * Detaching them concurrently needs autocommit, so this must not run in a transaction.
+     *
+     * @param cutoff expiry threshold
+     * @return number of partitions dropped
+     */
+    public int dropExpiredRefreshTokenPartitions(LocalDateTime cutoff) {
+        return refreshTokenPartitionRepository.dropExpiredPartitions(cutoff);
+    }
+
+    /**
+     * Latest expiry a refresh token issued now can have.
+     */
+    public LocalDateTime latestRefreshTokenExpiry() {
+        return LocalDateTime.now().plusSeconds(refreshTokenExpiration / 1000);
+    }
+
+    private RefreshToken issue(Long userId, String token, SessionMetadata metadata, String familyId) {
+        RefreshToken refreshToken = RefreshToken.builder()
+                .userId(userId)
+                .tokenHash(hashToken(token))
+                .familyId(familyId)
+                .expiresAt(LocalDateTime.now().plusSeconds(refreshTokenExpiration / 1000))
+                .deviceName(metadata.getDeviceName())
+                .userAgent(metadata.getUserAgent())
+                .ipAddress(metadata.getIpAddress())
+                .build();
+        return refreshTokenStore.save(refreshToken);
+    }
+
+    private void enforceSessionLimit(Long userId) {
+        if (maxActiveSessions > 0) {
+            int evicted = refreshTokenStore.revokeSessionsBeyondLimit(userId, maxActiveSessions, LocalDateTime.now());
+            if (evicted > 0) {
+                log.debug("Revoked {} oldest sessions of user {} over the limit of {}", evicted, userId, maxActiveSessions);
+            }
+        }
+    }
+
     private String hashToken(String token) {
         try {
             MessageDigest digest = MessageDigest.getInstance("SHA-256");
@@ -1,34 +1,72 @@
 package com.wom.auth.service;
 
 import com.wom.auth.entity.User;
+import com.wom.auth.exception.ServiceOverloadedException;
 import com.wom.auth.repository.jpa.UserRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.annotation.PreDestroy;
 import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Service for user management and password validation.
+ *
+ * BCrypt runs on a bounded pool sized to the CPUs rather than on the request
+ * thread, so a login burst (or unbounded virtual threads) cannot put more
+ * hashes on the CPU at once than it has cores. When the pool's queue is full
+ * the login is rejected with 503 instead of waiting behind it.
+ *
+ * Finders are read-only transactions and may be served by the read replica;
+ * inside a read-write transaction (login) they join it and read the primary.
  */
 @Slf4j
 @Service
 public class UserService {
 
+    private static final long OVERLOADED_RETRY_AFTER_SECONDS = 1;
+
     private final UserRepository userRepository;
     private final BCryptPasswordEncoder passwordEncoder;
+    private final ExecutorService passwordHasher;
 
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository,
+                       @Value("${password-hashing.parallelism:0}") int parallelism,
+                       @Value("${password-hashing.queue-capacity:0}") int queueCapacity) {
         this.userRepository = userRepository;
         this.passwordEncoder = new BCryptPasswordEncoder();
+
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("password-hash-");
+        threadFactory.setDaemon(true);
+        this.passwordHasher = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity > 0 ? queueCapacity : threads * 32),
+                threadFactory,
+                new ThreadPoolExecutor.AbortPolicy()
+        );
     }
 
+    @Transactional(readOnly = true)
     public Optional<User> findByEmail(String email) {
         return userRepository.findByEmail(email);
     }
 
+    @Transactional(readOnly = true)
     public Optional<User> findByUsername(String username) {
         return userRepository.findByUsername(username);
     }
@@ -39,10 +77,12 @@ public class UserService {
      * @param identifier email or username
      * @return user if found
      */
+    @Transactional(readOnly = true)
     public Optional<User> findByEmailOrUsername(String identifier) {
         return userRepository.findByEmailOrUsername(identifier);
     }
 
+    @Transactional(readOnly = true)
     public Optional<User> findById(Long id) {
         return userRepository.findById(id);
     }
@@ -55,9 +95,8 @@ public class UserService {
      * @return true if password matches
      */
     public boolean validatePassword(String rawPassword, String encodedPassword) {
-        boolean matches = passwordEncoder.matches(rawPassword, encodedPassword);
-        log.debug("Password validation - Raw: [{}], Encoded: [{}], Matches: {}", 
-                  rawPassword, encodedPassword, matches);
+        boolean matches = hash(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+        log.debug("Password validation - Matches: {}", matches);
         return matches;
     }
 
@@ -103,7 +142,7 @@ public class UserService {
         User user = User.builder()
                 .email(email)
                 .username(username)
-                .passwordHash(passwordEncoder.encode(password))
+                .passwordHash(hash(() -> passwordEncoder.encode(password)))
                 .fullName(fullName)
                 .build();
 
@@ -117,4 +156,37 @@ public class UserService {
     public boolean isAccountActive(User user) {
         return user.isActive();
     }
+
+    /**
+     * Runs a BCrypt operation on the bounded pool and waits for it.
+     *
+     * @throws ServiceOverloadedException if the pool's queue is full
+     */
+    private <T> T hash(Callable<T> operation) {
+        Future<T> result;
+        try {
+            result = passwordHasher.submit(operation);
+        } catch (RejectedExecutionException e) {
+            throw new ServiceOverloadedException("Too many concurrent password checks, retry shortly",
+                    OVERLOADED_RETRY_AFTER_SECONDS);
+        }
+
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        passwordHasher.shutdown();
+    }
 }
@@ -0,0 +1,122 @@
+package com.wom.auth.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of verified JWT claims, keyed by the SHA-256 digest of the token.
+ *
+ * An access token is presented on every request during its lifetime; with this
+ * cache only the first presentation pays for signature verification. Entries
+ * expire at the token's own {@code exp}, so an expired token is always re-parsed
+ * (and rejected) by JJWT. The digest is cryptographic on purpose: a colliding key
+ * would hand one token's claims to another.
+ *
+ * Cached {@link Claims} are shared between callers and must not be modified.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    static final long DEFAULT_MAXIMUM_SIZE = 10000;
+
+    private final Cache<ByteBuffer, Claims> cache;
+
+    public VerifiedTokenCache(long maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+    }
+
+    @Autowired
+    public VerifiedTokenCache(@Value("${jwt.verified-cache-size:10000}") long maximumSize,
+                              MeterRegistry meterRegistry) {
+        this(maximumSize);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt-verified-tokens");
+    }
+
+    /**
+     * Returns the cached claims for the token, or verifies it and caches the result.
+     * Verification failures propagate and are not cached.
+     *
+     * @param token raw JWT
+     * @param verifier full signature and expiry check
+     * @return verified claims
+     */
+    public Claims get(String token, Function<String, Claims> verifier) {
+        ByteBuffer key = digest(token);
+        Claims claims = cache.getIfPresent(key);
+        if (claims == null) {
+            claims = verifier.apply(token);
+            cache.put(key, claims);
+        }
+        return claims;
+    }
+
+    /**
+     * Drops a token, e.g. when it is blacklisted.
+     */
+    public void invalidate(String token) {
+        cache.invalidate(digest(token));
+    }
+
+    /**
+     * Drops every entry, e.g. when a verification key is retired.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    private static ByteBuffer digest(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm not found", e);
+        }
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<ByteBuffer, Claims> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return 0;
+            }
+            long remainingMillis = expiration.getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.wom.auth.web;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+
+/**
+ * Client IP address in binary form: 4 bytes for IPv4, 16 for IPv6.
+ * IPv4-mapped IPv6 addresses are stored as IPv4, so one client always has one form.
+ */
+public final class ClientAddress {
+
+    private static final ClientAddress UNKNOWN = new ClientAddress(new byte[0], "UNKNOWN");
+
+    private final byte[] bytes;
+    private final String hostAddress;
+
+    private ClientAddress(byte[] bytes, String hostAddress) {
+        this.bytes = bytes;
+        this.hostAddress = hostAddress;
+    }
+
+    static ClientAddress of(byte[] bytes) {
+        try {
+            InetAddress address = InetAddress.getByAddress(bytes);
+            return new ClientAddress(address.getAddress(), address.getHostAddress());
+        } catch (UnknownHostException e) {
+            return UNKNOWN;
+        }
+    }
+
+    public static ClientAddress unknown() {
+        return UNKNOWN;
+    }
+
+    public boolean isKnown() {
+        return bytes.length > 0;
+    }
+
+    public byte[] getBytes() {
+        return bytes.clone();
+    }
+
+    /**
+     * Canonical text form, e.g. {@code 203.0.113.7} or {@code 2001:db8:0:0:0:0:0:1}.
+     */
+    public String getHostAddress() {
+        return hostAddress;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof ClientAddress && Arrays.equals(bytes, ((ClientAddress) o).bytes);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(bytes);
+    }
+
+    @Override
+    public String toString() {
+        return hostAddress;
+    }
+}
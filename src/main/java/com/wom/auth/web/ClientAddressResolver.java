@@ -0,0 +1,258 @@
+package com.wom.auth.web;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.http.HttpServletRequest;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+
+/**
+ * Resolves the real client address of a request.
+ *
+ * Forwarding headers are only honoured when the direct peer is a trusted proxy.
+ * X-Forwarded-For is then walked from right to left, skipping trusted hops, and
+ * the first untrusted address is the client. Entries added by the client itself
+ * sit to the left of that point and are never used, so they cannot be spoofed.
+ *
+ * Addresses are parsed as literals only (never resolved through DNS) and the
+ * result is cached as a request attribute, so filters and services share one parse.
+ */
+@Component
+public class ClientAddressResolver {
+
+    static final String ATTRIBUTE = ClientAddressResolver.class.getName() + ".CLIENT_ADDRESS";
+
+    private static final String X_FORWARDED_FOR = "X-Forwarded-For";
+    private static final String X_REAL_IP = "X-Real-IP";
+    private static final int MAX_FORWARDED_HOPS = 20;
+
+    private final List<Cidr> trustedProxies;
+
+    public ClientAddressResolver(@Value("${security.trusted-proxies}") Collection<String> trustedProxies) {
+        List<Cidr> parsed = new ArrayList<>();
+        for (String cidr : trustedProxies) {
+            if (!cidr.isBlank()) {
+                parsed.add(Cidr.parse(cidr.trim()));
+            }
+        }
+        this.trustedProxies = Collections.unmodifiableList(parsed);
+    }
+
+    /**
+     * Resolves the client address, reusing the value cached on the request if present.
+     *
+     * @param request HTTP request
+     * @return client address, or {@link ClientAddress#unknown()} if none could be parsed
+     */
+    public ClientAddress resolve(HttpServletRequest request) {
+        Object cached = request.getAttribute(ATTRIBUTE);
+        if (cached instanceof ClientAddress) {
+            return (ClientAddress) cached;
+        }
+        ClientAddress address = doResolve(request);
+        request.setAttribute(ATTRIBUTE, address);
+        return address;
+    }
+
+    private ClientAddress doResolve(HttpServletRequest request) {
+        byte[] peer = parseLiteral(request.getRemoteAddr());
+        if (peer == null) {
+            return ClientAddress.unknown();
+        }
+        if (!isTrusted(peer)) {
+            return ClientAddress.of(peer);
+        }
+
+        List<String> hops = forwardedHops(request);
+        if (!hops.isEmpty()) {
+            byte[] client = peer;
+            for (int i = hops.size() - 1; i >= 0; i--) {
+                byte[] hop = parseLiteral(hops.get(i));
+                if (hop == null) {
+                    break;
+                }
+                client = hop;
+                if (!isTrusted(hop)) {
+                    break;
+                }
+            }
+            return ClientAddress.of(client);
+        }
+
+        byte[] realIp = parseLiteral(request.getHeader(X_REAL_IP));
+        return ClientAddress.of(realIp != null ? realIp : peer);
+    }
+
+    /**
+     * Collects X-Forwarded-For entries across repeated headers, keeping only the
+     * rightmost hops, which are the ones added by our own proxies.
+     */
+    private List<String> forwardedHops(HttpServletRequest request) {
+        List<String> hops = new ArrayList<>();
+        Enumeration<String> headers = request.getHeaders(X_FORWARDED_FOR);
+        if (headers == null) {
+            return hops;
+        }
+        while (headers.hasMoreElements()) {
+            for (String hop : headers.nextElement().split(",")) {
+                String trimmed = hop.trim();
+                if (!trimmed.isEmpty()) {
+                    hops.add(trimmed);
+                }
+            }
+        }
+        return hops.size() > MAX_FORWARDED_HOPS
+                ? hops.subList(hops.size() - MAX_FORWARDED_HOPS, hops.size())
+                : hops;
+    }
+
+    private boolean isTrusted(byte[] address) {
+        for (Cidr cidr : trustedProxies) {
+            if (cidr.contains(address)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parses an IPv4 or IPv6 literal, optionally bracketed and/or followed by a port.
+     * Returns null for anything else; host names are rejected, never looked up.
+     */
+    static byte[] parseLiteral(String value) {
+        if (value == null) {
+            return null;
+        }
+        String text = value.trim();
+        if (text.isEmpty() || text.length() > 64) {
+            return null;
+        }
+
+        if (text.charAt(0) == '[') {
+            int close = text.indexOf(']');
+            if (close < 0) {
+                return null;
+            }
+            return parseIpv6(text.substring(1, close));
+        }
+
+        int firstColon = text.indexOf(':');
+        if (firstColon < 0) {
+            return parseIpv4(text);
+        }
+        if (firstColon == text.lastIndexOf(':')) {
+            // IPv4 with port, e.g. 203.0.113.7:51234
+            return parseIpv4(text.substring(0, firstColon));
+        }
+        return parseIpv6(text);
+    }
+
+    private static byte[] parseIpv4(String text) {
+        byte[] bytes = new byte[4];
+        int part = 0;
+        int value = 0;
+        int digits = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '.') {
+                if (digits == 0 || part == 3) {
+                    return null;
+                }
+                bytes[part++] = (byte) value;
+                value = 0;
+                digits = 0;
+            } else if (c >= '0' && c <= '9' && digits < 3) {
+                value = value * 10 + (c - '0');
+                digits++;
+                if (value > 255) {
+                    return null;
+                }
+            } else {
+                return null;
+            }
+        }
+        if (digits == 0 || part != 3) {
+            return null;
+        }
+        bytes[3] = (byte) value;
+        return bytes;
+    }
+
+    private static byte[] parseIpv6(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            boolean allowed = (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F')
+                    || c == ':' || c == '.';
+            if (!allowed) {
+                return null;
+            }
+        }
+        if (text.indexOf(':') < 0) {
+            return null;
+        }
+        try {
+            // A string containing ':' is always parsed as an IPv6 literal, never resolved.
+            // IPv4-mapped addresses come back as Inet4Address.
+            return InetAddress.getByName(text).getAddress();
+        } catch (UnknownHostException e) {
+            return null;
+        }
+    }
+
+    /**
+     * IPv4 or IPv6 network in CIDR notation.
+     */
+    static final class Cidr {
+
+        private final byte[] network;
+        private final int prefixLength;
+
+        private Cidr(byte[] network, int prefixLength) {
+            this.network = network;
+            this.prefixLength = prefixLength;
+        }
+
+        static Cidr parse(String cidr) {
+            int slash = cidr.indexOf('/');
+            byte[] network = parseLiteral(slash < 0 ? cidr : cidr.substring(0, slash));
+            if (network == null) {
+                throw new IllegalArgumentException("Invalid trusted proxy address: " + cidr);
+            }
+            int maxPrefix = network.length * 8;
+            int prefixLength;
+            try {
+                prefixLength = slash < 0 ? maxPrefix : Integer.parseInt(cidr.substring(slash + 1));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid trusted proxy prefix: " + cidr, e);
+            }
+            if (prefixLength < 0 || prefixLength > maxPrefix) {
+                throw new IllegalArgumentException("Invalid trusted proxy prefix: " + cidr);
+            }
+            return new Cidr(network, prefixLength);
+        }
+
+        boolean contains(byte[] address) {
+            if (address.length != network.length) {
+                return false;
+            }
+            int fullBytes = prefixLength / 8;
+            for (int i = 0; i < fullBytes; i++) {
+                if (address[i] != network[i]) {
+                    return false;
+                }
+            }
+            int remainingBits = prefixLength % 8;
+            if (remainingBits == 0) {
+                return true;
+            }
+            int mask = (0xFF << (8 - remainingBits)) & 0xFF;
+            return (address[fullBytes] & mask) == (network[fullBytes] & mask);
+        }
+    }
+}
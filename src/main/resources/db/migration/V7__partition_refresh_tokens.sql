@@ -0,0 +1,99 @@
+-- V7__partition_refresh_tokens.sql
+-- Particiona refresh_tokens por semana de expires_at. Las particiones cuyo rango
+-- ya expiró se eliminan enteras en lugar de DELETE fila a fila, lo que evita
+-- bloat y presión de VACUUM.
+--
+-- Un DROP TABLE sobre una partición adjunta toma ACCESS EXCLUSIVE sobre
+-- refresh_tokens y bloquea toda lectura y escritura de tokens mientras espera.
+-- Por eso la aplicación (RefreshTokenPartitionRepository) primero separa cada
+-- partición con ALTER TABLE ... DETACH PARTITION ... CONCURRENTLY (PostgreSQL 14,
+-- fuera de transacción, solo SHARE UPDATE EXCLUSIVE sobre el padre) y después
+-- borra la tabla ya separada. Esta migración solo expone qué particiones expiraron.
+--
+-- En una tabla particionada toda restricción única debe incluir la clave de
+-- partición: la PK pasa a ser (id, expires_at) y token_hash es único junto con
+-- expires_at. La FK replaced_by -> refresh_tokens(id) se elimina por el mismo
+-- motivo; replaced_by queda como referencia informativa.
+
+-- La secuencia del id se conserva para no reutilizar identificadores
+ALTER SEQUENCE refresh_tokens_id_seq OWNED BY NONE;
+
+ALTER TABLE refresh_tokens RENAME TO refresh_tokens_old;
+
+CREATE TABLE refresh_tokens (
+    id BIGINT NOT NULL DEFAULT nextval('refresh_tokens_id_seq'),
+    user_id BIGINT NOT NULL,
+    token_hash VARCHAR(255) NOT NULL,
+    issued_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL,
+    revoked_at TIMESTAMP,
+    replaced_by BIGINT,
+    CONSTRAINT pk_refresh_tokens PRIMARY KEY (id, expires_at),
+    CONSTRAINT uq_refresh_tokens_token_hash UNIQUE (token_hash, expires_at),
+    CONSTRAINT fk_refresh_tokens_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+) PARTITION BY RANGE (expires_at);
+
+-- Crea (si no existe) la partición semanal [lunes, lunes + 7 días) que contiene el día dado
+CREATE OR REPLACE FUNCTION create_refresh_tokens_partition(target_day DATE) RETURNS TEXT AS $$
+DECLARE
+    week_start DATE := date_trunc('week', target_day)::DATE;
+    partition_name TEXT := 'refresh_tokens_p' || to_char(week_start, 'YYYYMMDD');
+BEGIN
+    EXECUTE format(
+        'CREATE TABLE IF NOT EXISTS %I PARTITION OF refresh_tokens FOR VALUES FROM (%L) TO (%L)',
+        partition_name, week_start, week_start + 7
+    );
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Particiones cuyo rango completo termina antes de cutoff, incluidas las que un
+-- borrado anterior dejó a medias. state: 'attached' (adjunta), 'detach_pending'
+-- (DETACH CONCURRENTLY interrumpido, se completa con FINALIZE) o 'detached'
+-- (ya separada, falta el DROP)
+CREATE OR REPLACE FUNCTION expired_refresh_tokens_partitions(cutoff TIMESTAMP)
+RETURNS TABLE (partition_name TEXT, state TEXT) AS $$
+    SELECT c.relname::TEXT,
+           CASE
+               WHEN i.inhrelid IS NULL THEN 'detached'
+               WHEN i.inhdetachpending THEN 'detach_pending'
+               ELSE 'attached'
+           END
+    FROM pg_class c
+    LEFT JOIN pg_inherits i ON i.inhrelid = c.oid AND i.inhparent = 'refresh_tokens'::regclass
+    WHERE c.relkind = 'r'
+      AND c.relnamespace = (SELECT relnamespace FROM pg_class WHERE oid = 'refresh_tokens'::regclass)
+      AND c.relname ~ '^refresh_tokens_p[0-9]{8}$'
+      AND to_date(substring(c.relname FROM 17), 'YYYYMMDD') + 7 <= cutoff
+    ORDER BY c.relname;
+$$ LANGUAGE sql STABLE;
+
+-- Particiones para los datos existentes y las próximas semanas
+SELECT create_refresh_tokens_partition(week::DATE)
+FROM generate_series(
+    date_trunc('week', LEAST(COALESCE((SELECT MIN(expires_at) FROM refresh_tokens_old), now()), now())),
+    date_trunc('week', now() + INTERVAL '5 weeks'),
+    INTERVAL '1 week'
+) AS week;
+
+-- Tokens con expiración más lejana que las semanas creadas (p. ej. vida del refresh token ampliada)
+SELECT create_refresh_tokens_partition(expires_at::DATE)
+FROM (SELECT DISTINCT date_trunc('week', expires_at) AS expires_at FROM refresh_tokens_old) AS weeks;
+
+INSERT INTO refresh_tokens (id, user_id, token_hash, issued_at, expires_at, revoked_at, replaced_by)
+SELECT id, user_id, token_hash, issued_at, expires_at, revoked_at, replaced_by
+FROM refresh_tokens_old;
+
+DROP TABLE refresh_tokens_old;
+
+ALTER SEQUENCE refresh_tokens_id_seq OWNED BY refresh_tokens.id;
+
+-- Los índices del padre se crean en cada partición (actual y futura).
+-- La búsqueda por token_hash usa el índice de uq_refresh_tokens_token_hash de cada
+-- partición; con vidas de refresh token de días solo hay unas pocas particiones vivas.
+CREATE INDEX idx_refresh_tokens_user_id ON refresh_tokens(user_id);
+CREATE INDEX idx_refresh_tokens_expires_at ON refresh_tokens(expires_at);
+CREATE INDEX idx_refresh_tokens_revoked_at ON refresh_tokens(revoked_at) WHERE revoked_at IS NOT NULL;
+
+COMMENT ON TABLE refresh_tokens IS 'Refresh tokens, particionados por semana de expires_at';
+COMMENT ON COLUMN refresh_tokens.replaced_by IS 'Id del token que reemplazó a este en la rotación (sin FK: la tabla está particionada)';
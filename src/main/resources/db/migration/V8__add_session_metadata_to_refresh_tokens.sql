@@ -0,0 +1,13 @@
+-- Metadatos del dispositivo que inició la sesión (GET /auth/sessions)
+ALTER TABLE refresh_tokens ADD COLUMN IF NOT EXISTS device_name VARCHAR(100);
+ALTER TABLE refresh_tokens ADD COLUMN IF NOT EXISTS user_agent VARCHAR(512);
+ALTER TABLE refresh_tokens ADD COLUMN IF NOT EXISTS ip_address VARCHAR(45);
+
+-- Sesiones activas de un usuario: solo indexa tokens no revocados, filtrados por expires_at
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_user_active
+    ON refresh_tokens(user_id, expires_at)
+    WHERE revoked_at IS NULL;
+
+COMMENT ON COLUMN refresh_tokens.device_name IS 'Nombre del dispositivo enviado por el cliente (cabecera X-Device-Name)';
+COMMENT ON COLUMN refresh_tokens.user_agent IS 'User-Agent del cliente al emitir el token';
+COMMENT ON COLUMN refresh_tokens.ip_address IS 'Dirección IP del cliente al emitir el token';
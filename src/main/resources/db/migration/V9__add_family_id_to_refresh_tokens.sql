@@ -0,0 +1,14 @@
+-- Familia de rotación: el token del login y todos los que se rotan a partir de él
+ALTER TABLE refresh_tokens ADD COLUMN IF NOT EXISTS family_id VARCHAR(36);
+
+-- Los tokens existentes forman cada uno su propia familia
+UPDATE refresh_tokens SET family_id = gen_random_uuid()::text WHERE family_id IS NULL;
+
+ALTER TABLE refresh_tokens ALTER COLUMN family_id SET NOT NULL;
+
+-- Revocación de la familia completa al detectar la reutilización de un token rotado
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_family_active
+    ON refresh_tokens(family_id)
+    WHERE revoked_at IS NULL;
+
+COMMENT ON COLUMN refresh_tokens.family_id IS 'Identificador de la familia de rotación (sesión iniciada por un login)';
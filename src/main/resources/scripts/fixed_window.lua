@@ -0,0 +1,11 @@
+-- Fixed-window counter: INCR and the first PEXPIRE run atomically, so a counter
+-- can never be left without an expiry.
+-- KEYS[1] counter key
+-- ARGV[1] window (ms)
+-- Returns the counter value after the increment.
+
+local count = redis.call('INCR', KEYS[1])
+if count == 1 then
+    redis.call('PEXPIRE', KEYS[1], ARGV[1])
+end
+return count
@@ -0,0 +1,35 @@
+-- Generic cell rate algorithm (GCRA) shared by every replica.
+-- Only the theoretical arrival time (TAT) is stored, so there is no window edge
+-- where a client can burst twice the limit, and the key expires once it is idle.
+-- KEYS[1] TAT key
+-- ARGV[1] capacity (burst), ARGV[2] refill tokens, ARGV[3] refill period (ms), ARGV[4] tokens requested
+-- Returns {granted (0..requested), remaining, retry_after_ms}. Requires Redis 5+ (effects replication).
+
+local capacity = tonumber(ARGV[1])
+local interval = tonumber(ARGV[3]) / tonumber(ARGV[2])
+local requested = tonumber(ARGV[4])
+local tolerance = capacity * interval
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + tonumber(time[2]) / 1000
+
+local tat = tonumber(redis.call('GET', KEYS[1]))
+if tat == nil or tat < now then
+    tat = now
+end
+
+local available = math.floor((now + tolerance - tat) / interval)
+local granted = math.max(0, math.min(requested, available))
+
+if granted > 0 then
+    tat = tat + granted * interval
+    redis.call('SET', KEYS[1], string.format('%.3f', tat), 'PX', math.ceil(tat - now))
+end
+
+local remaining = math.max(0, available - granted)
+local retry_after = 0
+if granted == 0 then
+    retry_after = math.ceil(tat + interval - tolerance - now)
+end
+
+return {granted, remaining, retry_after}
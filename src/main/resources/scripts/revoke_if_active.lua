@@ -0,0 +1,10 @@
+-- Revokes a refresh token only if it exists and is not revoked yet, so of two
+-- concurrent rotations of the same token exactly one wins.
+-- KEYS[1] token hash key
+-- ARGV[1] revocation time
+-- Returns 1 if the token was revoked, 0 otherwise.
+
+if redis.call('EXISTS', KEYS[1]) == 1 and redis.call('HSETNX', KEYS[1], 'revokedAt', ARGV[1]) == 1 then
+    return 1
+end
+return 0
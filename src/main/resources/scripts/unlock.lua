@@ -0,0 +1,10 @@
+-- Releases a lock only if it is still held by the caller, so an owner whose lock
+-- expired cannot delete a lock another node acquired since.
+-- KEYS[1] lock key
+-- ARGV[1] owner token
+-- Returns 1 if the lock was released, 0 otherwise.
+
+if redis.call('GET', KEYS[1]) == ARGV[1] then
+    return redis.call('DEL', KEYS[1])
+end
+return 0
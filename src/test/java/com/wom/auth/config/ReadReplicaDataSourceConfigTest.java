@@ -0,0 +1,72 @@
+package com.wom.auth.config;
+
+import com.wom.auth.datasource.ReadReplicaRoutingDataSource;
+import com.wom.auth.datasource.ReplicaLagMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Unit tests for ReadReplicaDataSourceConfig.
+ */
+class ReadReplicaDataSourceConfigTest {
+
+    private final ReadReplicaDataSourceConfig config = new ReadReplicaDataSourceConfig();
+
+    @Test
+    void replicaDataSource_ShouldBeReadOnlyPool() {
+        // Given
+        DataSourceProperties properties = new DataSourceProperties();
+        properties.setDriverClassName("org.postgresql.Driver");
+
+        // When
+        HikariDataSource dataSource = config.replicaDataSource(properties,
+                "jdbc:postgresql://replica:5432/wom_auth_db", "reader", "secret");
+
+        // Then
+        assertTrue(dataSource.isReadOnly());
+        assertEquals("replica", dataSource.getPoolName());
+        assertEquals("jdbc:postgresql://replica:5432/wom_auth_db", dataSource.getJdbcUrl());
+        assertEquals("reader", dataSource.getUsername());
+    }
+
+    @Test
+    void primaryDataSource_ShouldUseSpringDatasourceProperties() {
+        // Given
+        DataSourceProperties properties = new DataSourceProperties();
+        properties.setDriverClassName("org.postgresql.Driver");
+        properties.setUrl("jdbc:postgresql://primary:5432/wom_auth_db");
+
+        // When
+        HikariDataSource dataSource = config.primaryDataSource(properties);
+
+        // Then
+        assertFalse(dataSource.isReadOnly());
+        assertEquals("primary", dataSource.getPoolName());
+        assertEquals("jdbc:postgresql://primary:5432/wom_auth_db", dataSource.getJdbcUrl());
+    }
+
+    @Test
+    void dataSource_ShouldRouteLazilyWithoutOpeningConnections() throws Exception {
+        // Given
+        DataSource primary = mock(DataSource.class);
+        DataSource replica = mock(DataSource.class);
+
+        // When
+        DataSource dataSource = config.dataSource(primary, replica, mock(ReplicaLagMonitor.class));
+        ((LazyConnectionDataSourceProxy) dataSource).afterPropertiesSet();
+
+        // Then
+        assertTrue(dataSource instanceof LazyConnectionDataSourceProxy);
+        assertTrue(((LazyConnectionDataSourceProxy) dataSource).getTargetDataSource()
+                instanceof ReadReplicaRoutingDataSource);
+        verifyNoInteractions(primary, replica);
+    }
+}
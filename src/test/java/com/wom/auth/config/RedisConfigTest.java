@@ -1,12 +1,30 @@
 package com.wom.auth.config;
 
+import io.lettuce.core.ReadFrom;
+import io.lettuce.core.cluster.ClusterClientOptions;
+import io.lettuce.core.cluster.ClusterTopologyRefreshOptions;
+import io.lettuce.core.resource.ClientResources;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.data.redis.connection.RedisClusterConfiguration;
+import org.springframework.data.redis.connection.RedisSentinelConfiguration;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettucePoolingClientConfiguration;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.mock.env.MockEnvironment;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 /**
  * Unit tests for RedisConfig.
@@ -24,7 +42,7 @@ class RedisConfigTest {
         ReflectionTestUtils.setField(redisConfig, "redisPassword", "");
 
         // When
-        LettuceConnectionFactory factory = redisConfig.redisConnectionFactory();
+        LettuceConnectionFactory factory = redisConfig.redisConnectionFactory(LettuceClientConfiguration.defaultConfiguration());
 
         // Then
         assertNotNull(factory);
@@ -42,7 +60,7 @@ class RedisConfigTest {
         ReflectionTestUtils.setField(redisConfig, "redisPassword", "secretPassword");
 
         // When
-        LettuceConnectionFactory factory = redisConfig.redisConnectionFactory();
+        LettuceConnectionFactory factory = redisConfig.redisConnectionFactory(LettuceClientConfiguration.defaultConfiguration());
 
         // Then
         assertNotNull(factory);
@@ -60,7 +78,7 @@ class RedisConfigTest {
         ReflectionTestUtils.setField(redisConfig, "redisPassword", "");
 
         // When
-        LettuceConnectionFactory factory = redisConfig.redisConnectionFactory();
+        LettuceConnectionFactory factory = redisConfig.redisConnectionFactory(LettuceClientConfiguration.defaultConfiguration());
 
         // Then
         assertNotNull(factory);
@@ -77,7 +95,7 @@ class RedisConfigTest {
         ReflectionTestUtils.setField(redisConfig, "redisPassword", null);
 
         // When
-        LettuceConnectionFactory factory = redisConfig.redisConnectionFactory();
+        LettuceConnectionFactory factory = redisConfig.redisConnectionFactory(LettuceClientConfiguration.defaultConfiguration());
 
         // Then
         assertNotNull(factory);
@@ -94,7 +112,7 @@ class RedisConfigTest {
         ReflectionTestUtils.setField(redisConfig, "redisPassword", "");
 
         // When
-        LettuceConnectionFactory factory = redisConfig.redisConnectionFactory();
+        LettuceConnectionFactory factory = redisConfig.redisConnectionFactory(LettuceClientConfiguration.defaultConfiguration());
 
         // Then
         assertNotNull(factory);
@@ -111,7 +129,7 @@ class RedisConfigTest {
         ReflectionTestUtils.setField(redisConfig, "redisPassword", "prodPassword");
 
         // When
-        LettuceConnectionFactory factory = redisConfig.redisConnectionFactory();
+        LettuceConnectionFactory factory = redisConfig.redisConnectionFactory(LettuceClientConfiguration.defaultConfiguration());
 
         // Then
         assertNotNull(factory);
@@ -128,7 +146,7 @@ class RedisConfigTest {
         ReflectionTestUtils.setField(redisConfig, "redisPort", 6379);
         ReflectionTestUtils.setField(redisConfig, "redisPassword", "");
         
-        LettuceConnectionFactory connectionFactory = redisConfig.redisConnectionFactory();
+        LettuceConnectionFactory connectionFactory = redisConfig.redisConnectionFactory(LettuceClientConfiguration.defaultConfiguration());
 
         // When
         RedisTemplate<String, String> template = redisConfig.redisTemplate(connectionFactory);
@@ -150,7 +168,7 @@ class RedisConfigTest {
         ReflectionTestUtils.setField(redisConfig, "redisPort", 6379);
         ReflectionTestUtils.setField(redisConfig, "redisPassword", "");
         
-        LettuceConnectionFactory connectionFactory = redisConfig.redisConnectionFactory();
+        LettuceConnectionFactory connectionFactory = redisConfig.redisConnectionFactory(LettuceClientConfiguration.defaultConfiguration());
 
         // When
         RedisTemplate<String, String> template = redisConfig.redisTemplate(connectionFactory);
@@ -170,7 +188,7 @@ class RedisConfigTest {
         ReflectionTestUtils.setField(redisConfig, "redisPort", 6379);
         ReflectionTestUtils.setField(redisConfig, "redisPassword", "");
         
-        LettuceConnectionFactory connectionFactory = redisConfig.redisConnectionFactory();
+        LettuceConnectionFactory connectionFactory = redisConfig.redisConnectionFactory(LettuceClientConfiguration.defaultConfiguration());
 
         // When
         RedisTemplate<String, String> template = redisConfig.redisTemplate(connectionFactory);
@@ -197,12 +215,241 @@ class RedisConfigTest {
         ReflectionTestUtils.setField(config2, "redisPassword", "password");
 
         // When
-        LettuceConnectionFactory factory1 = config1.redisConnectionFactory();
-        LettuceConnectionFactory factory2 = config2.redisConnectionFactory();
+        LettuceConnectionFactory factory1 = config1.redisConnectionFactory(LettuceClientConfiguration.defaultConfiguration());
+        LettuceConnectionFactory factory2 = config2.redisConnectionFactory(LettuceClientConfiguration.defaultConfiguration());
 
         // Then
         assertNotEquals(factory1, factory2);
         assertEquals("localhost", factory1.getStandaloneConfiguration().getHostName());
         assertEquals("remote-host", factory2.getStandaloneConfiguration().getHostName());
     }
+    @Test
+    void lettuceClientConfiguration_ShouldApplyTimeoutAndPoolSettings() {
+        // Given
+        redisConfig = new RedisConfig();
+        RedisProperties properties = new RedisProperties();
+        properties.setTimeout(Duration.ofMillis(250));
+        RedisProperties.Pool pool = new RedisProperties.Pool();
+        pool.setMaxActive(16);
+        pool.setMaxWait(Duration.ofMillis(500));
+        properties.getLettuce().setPool(pool);
+
+        // When
+        LettuceClientConfiguration configuration =
+                redisConfig.lettuceClientConfiguration(mock(ClientResources.class), properties);
+
+        // Then
+        assertEquals(Duration.ofMillis(250), configuration.getCommandTimeout());
+        assertTrue(configuration.getClientOptions().isPresent());
+        assertTrue(configuration.getClientOptions().get().getTimeoutOptions().isTimeoutCommands());
+        assertTrue(configuration instanceof LettucePoolingClientConfiguration);
+        GenericObjectPoolConfig<?> poolConfig = ((LettucePoolingClientConfiguration) configuration).getPoolConfig();
+        assertEquals(16, poolConfig.getMaxTotal());
+        assertEquals(Duration.ofMillis(500), poolConfig.getMaxWaitDuration());
+        assertFalse(configuration.isUseSsl());
+    }
+
+    @Test
+    void lettuceClientConfiguration_WithoutTimeout_ShouldNotWaitIndefinitely() {
+        // Given
+        redisConfig = new RedisConfig();
+
+        // When
+        LettuceClientConfiguration configuration =
+                redisConfig.lettuceClientConfiguration(mock(ClientResources.class), new RedisProperties());
+
+        // Then
+        assertEquals(Duration.ofSeconds(1), configuration.getCommandTimeout());
+    }
+
+    @Test
+    void lettuceClientConfiguration_WithSsl_ShouldUseSsl() {
+        // Given
+        redisConfig = new RedisConfig();
+        RedisProperties properties = new RedisProperties();
+        properties.setSsl(true);
+
+        // When
+        LettuceClientConfiguration configuration =
+                redisConfig.lettuceClientConfiguration(mock(ClientResources.class), properties);
+
+        // Then
+        assertTrue(configuration.isUseSsl());
+    }
+
+    @Test
+    void redisConnectionFactory_ShouldUseClientConfiguration() {
+        // Given
+        redisConfig = new RedisConfig();
+        ReflectionTestUtils.setField(redisConfig, "redisHost", "localhost");
+        ReflectionTestUtils.setField(redisConfig, "redisPort", 6379);
+        ReflectionTestUtils.setField(redisConfig, "redisPassword", "");
+        LettuceClientConfiguration clientConfiguration = LettuceClientConfiguration.builder()
+                .commandTimeout(Duration.ofMillis(300))
+                .build();
+
+        // When
+        LettuceConnectionFactory factory = redisConfig.redisConnectionFactory(clientConfiguration);
+
+        // Then
+        assertSame(clientConfiguration, factory.getClientConfiguration());
+        assertEquals(300, factory.getTimeout());
+    }
+
+    @Test
+    void redisConnectionFactory_SentinelMode_ShouldUseSentinelConfiguration() {
+        // Given
+        redisConfig = new RedisConfig();
+        ReflectionTestUtils.setField(redisConfig, "redisMode", RedisConfig.Mode.SENTINEL);
+        ReflectionTestUtils.setField(redisConfig, "sentinelMaster", "mymaster");
+        ReflectionTestUtils.setField(redisConfig, "sentinelNodes", List.of("sentinel-1:26379", "sentinel-2:26379"));
+        ReflectionTestUtils.setField(redisConfig, "redisPassword", "secret");
+
+        // When
+        LettuceConnectionFactory factory = redisConfig.redisConnectionFactory(LettuceClientConfiguration.defaultConfiguration());
+
+        // Then
+        RedisSentinelConfiguration config = factory.getSentinelConfiguration();
+        assertNotNull(config);
+        assertEquals("mymaster", config.getMaster().getName());
+        assertEquals(2, config.getSentinels().size());
+        assertEquals("secret", new String(config.getPassword().get()));
+        assertNull(factory.getClusterConfiguration());
+    }
+
+    @Test
+    void redisConnectionFactory_ClusterMode_ShouldUseClusterConfiguration() {
+        // Given
+        redisConfig = new RedisConfig();
+        ReflectionTestUtils.setField(redisConfig, "redisMode", RedisConfig.Mode.CLUSTER);
+        ReflectionTestUtils.setField(redisConfig, "clusterNodes", List.of("node-1:6379", "node-2:6379", "node-3:6379"));
+        ReflectionTestUtils.setField(redisConfig, "clusterMaxRedirects", 5);
+
+        // When
+        LettuceConnectionFactory factory = redisConfig.redisConnectionFactory(LettuceClientConfiguration.defaultConfiguration());
+
+        // Then
+        RedisClusterConfiguration config = factory.getClusterConfiguration();
+        assertNotNull(config);
+        assertEquals(3, config.getClusterNodes().size());
+        assertEquals(5, config.getMaxRedirects());
+        assertNull(factory.getSentinelConfiguration());
+    }
+
+    @Test
+    void topology_ClusterModeWithoutNodes_ShouldFailFast() {
+        // Given
+        redisConfig = new RedisConfig();
+        ReflectionTestUtils.setField(redisConfig, "redisMode", RedisConfig.Mode.CLUSTER);
+
+        // When & Then
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> redisConfig.topology());
+        assertTrue(exception.getMessage().contains("spring.redis.cluster.nodes"));
+    }
+
+    @Test
+    void topology_SentinelModeWithoutNodes_ShouldFailFast() {
+        // Given
+        redisConfig = new RedisConfig();
+        ReflectionTestUtils.setField(redisConfig, "redisMode", RedisConfig.Mode.SENTINEL);
+        ReflectionTestUtils.setField(redisConfig, "sentinelMaster", "mymaster");
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> redisConfig.topology());
+    }
+
+    @Test
+    void lettuceClientConfiguration_ClusterMode_ShouldRefreshTopology() {
+        // Given
+        redisConfig = new RedisConfig();
+        ReflectionTestUtils.setField(redisConfig, "redisMode", RedisConfig.Mode.CLUSTER);
+        RedisProperties properties = new RedisProperties();
+        properties.getLettuce().getCluster().getRefresh().setPeriod(Duration.ofSeconds(30));
+        properties.getLettuce().getCluster().getRefresh().setAdaptive(true);
+
+        // When
+        LettuceClientConfiguration configuration =
+                redisConfig.lettuceClientConfiguration(mock(ClientResources.class), properties);
+
+        // Then
+        assertTrue(configuration.getClientOptions().get() instanceof ClusterClientOptions);
+        ClusterTopologyRefreshOptions refresh =
+                ((ClusterClientOptions) configuration.getClientOptions().get()).getTopologyRefreshOptions();
+        assertTrue(refresh.isPeriodicRefreshEnabled());
+        assertEquals(Duration.ofSeconds(30), refresh.getRefreshPeriod());
+        assertFalse(refresh.getAdaptiveRefreshTriggers().isEmpty());
+        assertFalse(configuration.getReadFrom().isPresent());
+    }
+
+    @Test
+    void lettuceClientConfiguration_StandaloneMode_ShouldUsePlainClientOptions() {
+        // Given
+        redisConfig = new RedisConfig();
+
+        // When
+        LettuceClientConfiguration configuration =
+                redisConfig.lettuceClientConfiguration(mock(ClientResources.class), new RedisProperties());
+
+        // Then
+        assertFalse(configuration.getClientOptions().get() instanceof ClusterClientOptions);
+        assertFalse(configuration.getReadFrom().isPresent());
+    }
+
+    @Test
+    void replicaRedisTemplate_StandaloneMode_ShouldSharePrimaryConnectionFactory() {
+        // Given
+        redisConfig = new RedisConfig();
+        ReflectionTestUtils.setField(redisConfig, "redisHost", "localhost");
+        ReflectionTestUtils.setField(redisConfig, "redisPort", 6379);
+        LettuceConnectionFactory factory =
+                redisConfig.redisConnectionFactory(LettuceClientConfiguration.defaultConfiguration());
+
+        // When
+        RedisTemplate<String, String> template = redisConfig.replicaRedisTemplate(factory, Optional.empty());
+
+        // Then
+        assertSame(factory, template.getConnectionFactory());
+    }
+
+    @Test
+    void replicaRedisTemplate_WithReplicaFactory_ShouldUseReplicaFactory() {
+        // Given
+        redisConfig = new RedisConfig();
+        ReflectionTestUtils.setField(redisConfig, "redisMode", RedisConfig.Mode.CLUSTER);
+        ReflectionTestUtils.setField(redisConfig, "clusterNodes", List.of("node-1:6379", "node-2:6379"));
+        LettuceConnectionFactory primary =
+                redisConfig.redisConnectionFactory(LettuceClientConfiguration.defaultConfiguration());
+        LettuceConnectionFactory replica =
+                redisConfig.replicaRedisConnectionFactory(mock(ClientResources.class), new RedisProperties());
+
+        // When
+        RedisTemplate<String, String> template = redisConfig.replicaRedisTemplate(primary, Optional.of(replica));
+
+        // Then
+        assertSame(replica, template.getConnectionFactory());
+        assertEquals(ReadFrom.REPLICA_PREFERRED, replica.getClientConfiguration().getReadFrom().orElse(null));
+        assertNotNull(replica.getClusterConfiguration());
+    }
+
+    @Test
+    void replicatedModeCondition_ShouldOnlyMatchSentinelAndCluster() {
+        // Given
+        RedisConfig.ReplicatedModeCondition condition = new RedisConfig.ReplicatedModeCondition();
+
+        // When & Then
+        assertFalse(condition.matches(contextWithMode(null), null));
+        assertFalse(condition.matches(contextWithMode("standalone"), null));
+        assertTrue(condition.matches(contextWithMode("sentinel"), null));
+        assertTrue(condition.matches(contextWithMode("CLUSTER"), null));
+    }
+
+    private static ConditionContext contextWithMode(String mode) {
+        MockEnvironment environment = new MockEnvironment();
+        if (mode != null) {
+            environment.setProperty("redis.mode", mode);
+        }
+        ConditionContext context = mock(ConditionContext.class);
+        when(context.getEnvironment()).thenReturn(environment);
+        return context;
+    }
 }
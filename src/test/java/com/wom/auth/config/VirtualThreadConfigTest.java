@@ -0,0 +1,46 @@
+package com.wom.auth.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Unit tests for VirtualThreadConfig.
+ */
+class VirtualThreadConfigTest {
+
+    private static final boolean VIRTUAL_THREADS_AVAILABLE = Runtime.version().feature() >= 21;
+
+    @Test
+    void newVirtualThreadPerTaskExecutor_OnJava21_ShouldRunTasksOnNamedVirtualThreads() throws Exception {
+        assumeTrue(VIRTUAL_THREADS_AVAILABLE);
+
+        // Given
+        ExecutorService executor = VirtualThreadConfig.newVirtualThreadPerTaskExecutor("test-");
+
+        // When
+        Future<Thread> thread = executor.submit(Thread::currentThread);
+
+        // Then
+        Thread worker = thread.get(5, TimeUnit.SECONDS);
+        assertTrue((Boolean) Thread.class.getMethod("isVirtual").invoke(worker));
+        assertTrue(worker.getName().startsWith("test-"));
+        executor.shutdown();
+    }
+
+    @Test
+    void newVirtualThreadPerTaskExecutor_BeforeJava21_ShouldFailFast() {
+        assumeFalse(VIRTUAL_THREADS_AVAILABLE);
+
+        // When & Then
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> VirtualThreadConfig.newVirtualThreadPerTaskExecutor("test-"));
+        assertTrue(exception.getMessage().contains("Java 21"));
+    }
+}
@@ -0,0 +1,93 @@
+package com.wom.auth.controller;
+
+import com.wom.auth.dto.BulkRevocationRequest;
+import com.wom.auth.dto.BulkRevocationStatus;
+import com.wom.auth.service.BulkRevocationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit tests for {@link AdminController}.
+ */
+@ExtendWith(MockitoExtension.class)
+class AdminControllerTest {
+
+    @Mock
+    private BulkRevocationService bulkRevocationService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new AdminController(bulkRevocationService)).build();
+    }
+
+    @Test
+    void revoke_ShouldStartJobAndReturnAccepted() throws Exception {
+        // Given
+        when(bulkRevocationService.start(any(BulkRevocationRequest.class), anyString())).thenReturn(
+                BulkRevocationStatus.builder().id("job-1").state(BulkRevocationStatus.State.RUNNING).build());
+
+        // When & Then
+        mockMvc.perform(post("/admin/revocations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userIds\":[1,2,3]}"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/admin/revocations/job-1"))
+                .andExpect(jsonPath("$.id").value("job-1"))
+                .andExpect(jsonPath("$.state").value("RUNNING"));
+    }
+
+    @Test
+    void revoke_WithoutSelector_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/admin/revocations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(bulkRevocationService);
+    }
+
+    @Test
+    void getRevocation_ShouldReturnProgress() throws Exception {
+        // Given
+        when(bulkRevocationService.getStatus("job-1")).thenReturn(Optional.of(BulkRevocationStatus.builder()
+                .id("job-1")
+                .state(BulkRevocationStatus.State.COMPLETED)
+                .usersProcessed(3)
+                .tokensRevoked(5)
+                .build()));
+
+        // When & Then
+        mockMvc.perform(get("/admin/revocations/job-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.usersProcessed").value(3))
+                .andExpect(jsonPath("$.tokensRevoked").value(5));
+    }
+
+    @Test
+    void getRevocation_UnknownJob_ShouldReturnNotFound() throws Exception {
+        // Given
+        when(bulkRevocationService.getStatus("missing")).thenReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(get("/admin/revocations/missing"))
+                .andExpect(status().isNotFound());
+    }
+}
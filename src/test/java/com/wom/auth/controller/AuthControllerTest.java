@@ -10,6 +10,7 @@ import com.wom.auth.exception.AccountLockedException;
 import com.wom.auth.exception.InvalidCredentialsException;
 import com.wom.auth.exception.InvalidTokenException;
 import com.wom.auth.filter.JwtAuthenticationFilter;
+import com.wom.auth.filter.RateLimitingFilter;
 import com.wom.auth.exception.GlobalExceptionHandler;
 import com.wom.auth.service.AuthService;
 import com.wom.auth.service.UserService;
@@ -59,7 +60,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
     excludeFilters = {
         @ComponentScan.Filter(
             type = FilterType.ASSIGNABLE_TYPE,
-            classes = {JwtAuthenticationFilter.class, JpaAuditingConfig.class}
+            classes = {JwtAuthenticationFilter.class, RateLimitingFilter.class, JpaAuditingConfig.class}
         )
     }
 )
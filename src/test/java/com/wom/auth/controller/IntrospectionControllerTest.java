@@ -0,0 +1,82 @@
+package com.wom.auth.controller;
+
+import com.wom.auth.dto.IntrospectionRequest;
+import com.wom.auth.dto.TokenIntrospection;
+import com.wom.auth.service.TokenIntrospectionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit tests for {@link IntrospectionController}.
+ */
+@ExtendWith(MockitoExtension.class)
+class IntrospectionControllerTest {
+
+    @Mock
+    private TokenIntrospectionService introspectionService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new IntrospectionController(introspectionService)).build();
+    }
+
+    @Test
+    void introspect_ShouldReturnResultsInRequestOrder() throws Exception {
+        // Given
+        when(introspectionService.introspect(List.of("t1", "t2"))).thenReturn(List.of(
+                TokenIntrospection.builder().active(true).sub("admin").userId(1L).tokenType("access").build(),
+                TokenIntrospection.inactive()
+        ));
+
+        // When & Then
+        mockMvc.perform(post("/auth/introspect")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"tokens\":[\"t1\",\"t2\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].active").value(true))
+                .andExpect(jsonPath("$.results[0].sub").value("admin"))
+                .andExpect(jsonPath("$.results[1].active").value(false))
+                .andExpect(jsonPath("$.results[1].sub").doesNotExist());
+    }
+
+    @Test
+    void introspect_EmptyBatch_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/auth/introspect")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"tokens\":[]}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(introspectionService);
+    }
+
+    @Test
+    void introspect_OversizedBatch_ShouldReturnBadRequest() throws Exception {
+        StringBuilder body = new StringBuilder("{\"tokens\":[");
+        for (int i = 0; i <= IntrospectionRequest.MAX_TOKENS; i++) {
+            body.append(i == 0 ? "" : ",").append("\"t").append(i).append('"');
+        }
+        body.append("]}");
+
+        mockMvc.perform(post("/auth/introspect")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body.toString()))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(introspectionService);
+    }
+}
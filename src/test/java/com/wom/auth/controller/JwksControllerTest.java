@@ -0,0 +1,126 @@
+package com.wom.auth.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wom.auth.service.JwtKey;
+import com.wom.auth.service.JwtKeyRing;
+import com.wom.auth.service.JwtService;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit tests for {@link JwksController}.
+ */
+@ExtendWith(MockitoExtension.class)
+class JwksControllerTest {
+
+    @Mock
+    private JwtService jwtService;
+
+    private MockMvc mockMvc;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final KeyPair rsaKeyPair = Keys.keyPairFor(SignatureAlgorithm.RS256);
+    private final JwtKey rsaKey = JwtKey.of(SignatureAlgorithm.RS256, rsaKeyPair.getPrivate(), rsaKeyPair.getPublic());
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new JwksController(jwtService, 300)).build();
+    }
+
+    @Test
+    void jwks_ShouldPublishRsaKeyWithCachingHeaders() throws Exception {
+        // Given
+        when(jwtService.getKeyRing()).thenReturn(JwtKeyRing.of(rsaKey));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/.well-known/jwks.json"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=300, public"))
+                .andExpect(header().exists("ETag"))
+                .andReturn();
+
+        // Then
+        JsonNode jwk = objectMapper.readTree(result.getResponse().getContentAsByteArray()).get("keys").get(0);
+        RSAPublicKey publicKey = (RSAPublicKey) rsaKeyPair.getPublic();
+        assertEquals("RSA", jwk.get("kty").asText());
+        assertEquals(rsaKey.getKid(), jwk.get("kid").asText());
+        assertEquals("RS256", jwk.get("alg").asText());
+        assertEquals("sig", jwk.get("use").asText());
+        assertEquals(publicKey.getModulus(), new BigInteger(1, Decoders.BASE64URL.decode(jwk.get("n").asText())));
+        assertEquals("AQAB", jwk.get("e").asText());
+    }
+
+    @Test
+    void jwks_WithMatchingETag_ShouldReturnNotModified() throws Exception {
+        // Given
+        when(jwtService.getKeyRing()).thenReturn(JwtKeyRing.of(rsaKey));
+        String etag = mockMvc.perform(get("/.well-known/jwks.json"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // When & Then
+        mockMvc.perform(get("/.well-known/jwks.json").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void jwks_AfterRotation_ShouldPublishBothKeysWithNewETag() throws Exception {
+        // Given
+        KeyPair ecKeyPair = Keys.keyPairFor(SignatureAlgorithm.ES256);
+        JwtKey ecKey = JwtKey.of(SignatureAlgorithm.ES256, ecKeyPair.getPrivate(), ecKeyPair.getPublic());
+        JwtKeyRing before = JwtKeyRing.of(rsaKey);
+        JwtKeyRing after = before.rotate(ecKey, Instant.now().plusSeconds(60));
+        when(jwtService.getKeyRing()).thenReturn(before, after);
+
+        // When
+        String oldEtag = mockMvc.perform(get("/.well-known/jwks.json"))
+                .andReturn().getResponse().getHeader("ETag");
+        MvcResult result = mockMvc.perform(get("/.well-known/jwks.json").header("If-None-Match", oldEtag))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Then
+        assertNotEquals(oldEtag, result.getResponse().getHeader("ETag"));
+        JsonNode keys = objectMapper.readTree(result.getResponse().getContentAsByteArray()).get("keys");
+        assertEquals(2, keys.size());
+        JsonNode ecJwk = keys.get(0);
+        assertEquals("EC", ecJwk.get("kty").asText());
+        assertEquals("P-256", ecJwk.get("crv").asText());
+        assertEquals(32, Decoders.BASE64URL.decode(ecJwk.get("x").asText()).length);
+        assertEquals(32, Decoders.BASE64URL.decode(ecJwk.get("y").asText()).length);
+        assertEquals(rsaKey.getKid(), keys.get(1).get("kid").asText());
+    }
+
+    @Test
+    void jwks_ShouldReuseSerializedBodyForSameKeyRing() throws Exception {
+        // Given
+        when(jwtService.getKeyRing()).thenReturn(JwtKeyRing.of(rsaKey));
+
+        // When
+        byte[] first = mockMvc.perform(get("/.well-known/jwks.json")).andReturn().getResponse().getContentAsByteArray();
+        byte[] second = mockMvc.perform(get("/.well-known/jwks.json")).andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        assertArrayEquals(first, second);
+    }
+}
@@ -0,0 +1,81 @@
+package com.wom.auth.controller;
+
+import com.wom.auth.dto.SessionResponse;
+import com.wom.auth.service.JwtService;
+import com.wom.auth.service.TokenService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit tests for {@link SessionController}.
+ */
+@ExtendWith(MockitoExtension.class)
+class SessionControllerTest {
+
+    private static final String AUTHORIZATION = "Bearer access.token.jwt";
+
+    @Mock
+    private TokenService tokenService;
+
+    @Mock
+    private JwtService jwtService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new SessionController(tokenService, jwtService)).build();
+        when(jwtService.getUserIdFromToken("access.token.jwt")).thenReturn(7L);
+    }
+
+    @Test
+    void listSessions_ShouldReturnCurrentUsersSessions() throws Exception {
+        // Given
+        when(tokenService.findActiveSessions(7L)).thenReturn(List.of(SessionResponse.builder()
+                .id(42L)
+                .deviceName("Pixel 8")
+                .ipAddress("203.0.113.7")
+                .build()));
+
+        // When & Then
+        mockMvc.perform(get("/auth/sessions").header("Authorization", AUTHORIZATION))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(42))
+                .andExpect(jsonPath("$[0].deviceName").value("Pixel 8"))
+                .andExpect(jsonPath("$[0].userAgent").doesNotExist());
+    }
+
+    @Test
+    void revokeSession_OwnedSession_ShouldReturnNoContent() throws Exception {
+        // Given
+        when(tokenService.revokeSession(7L, 42L)).thenReturn(true);
+
+        // When & Then
+        mockMvc.perform(delete("/auth/sessions/42").header("Authorization", AUTHORIZATION))
+                .andExpect(status().isNoContent());
+        verify(tokenService).revokeSession(7L, 42L);
+    }
+
+    @Test
+    void revokeSession_UnknownOrForeignSession_ShouldReturnNotFound() throws Exception {
+        // Given
+        when(tokenService.revokeSession(7L, 43L)).thenReturn(false);
+
+        // When & Then
+        mockMvc.perform(delete("/auth/sessions/43").header("Authorization", AUTHORIZATION))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,110 @@
+package com.wom.auth.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ReadReplicaRoutingDataSource.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReadReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private ReplicaLagMonitor lagMonitor;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection replicaConnection;
+
+    private ReadReplicaRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new ReadReplicaRoutingDataSource(primary, replica, lagMonitor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void getConnection_ReadOnlyTransaction_ShouldUseReplica() throws Exception {
+        // Given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(lagMonitor.isReplicaUsable()).thenReturn(true);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+
+        // When
+        Connection connection = dataSource.getConnection();
+
+        // Then
+        assertSame(replicaConnection, connection);
+        verifyNoInteractions(primary);
+    }
+
+    @Test
+    void getConnection_ReadWriteTransaction_ShouldUsePrimary() throws Exception {
+        // Given
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        // When
+        Connection connection = dataSource.getConnection();
+
+        // Then
+        assertSame(primaryConnection, connection);
+        verifyNoInteractions(replica, lagMonitor);
+    }
+
+    @Test
+    void getConnection_ReplicaLagging_ShouldFallBackToPrimary() throws Exception {
+        // Given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(lagMonitor.isReplicaUsable()).thenReturn(false);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        // When
+        Connection connection = dataSource.getConnection();
+
+        // Then
+        assertSame(primaryConnection, connection);
+        verifyNoInteractions(replica);
+    }
+
+    @Test
+    void getConnection_ReplicaRefusesConnection_ShouldFallBackToPrimary() throws Exception {
+        // Given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        SQLException failure = new SQLException("Connection is not available");
+        when(lagMonitor.isReplicaUsable()).thenReturn(true);
+        when(replica.getConnection()).thenThrow(failure);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        // When
+        Connection connection = dataSource.getConnection();
+
+        // Then
+        assertSame(primaryConnection, connection);
+        verify(lagMonitor).markUnavailable(failure);
+    }
+}
@@ -0,0 +1,141 @@
+package com.wom.auth.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ReplicaLagMonitor.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReplicaLagMonitorTest {
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private Statement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReplicaLagMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        monitor = new ReplicaLagMonitor(replica, Duration.ofSeconds(5), meterRegistry);
+    }
+
+    @Test
+    void isReplicaUsable_BeforeFirstCheck_ShouldReturnFalse() {
+        assertFalse(monitor.isReplicaUsable());
+    }
+
+    @Test
+    void check_LagWithinLimit_ShouldPutReplicaInRotation() throws Exception {
+        // Given
+        stubLag(1.5);
+
+        // When
+        monitor.check();
+
+        // Then
+        assertTrue(monitor.isReplicaUsable());
+        assertEquals(1.5, meterRegistry.get("db.replica.lag").gauge().value());
+        assertEquals(1.0, meterRegistry.get("db.replica.usable").gauge().value());
+        verify(statement).executeQuery(ReplicaLagMonitor.LAG_QUERY);
+        verify(connection).close();
+    }
+
+    @Test
+    void check_LagAboveLimit_ShouldTakeReplicaOutOfRotation() throws Exception {
+        // Given
+        stubLag(1.0);
+        monitor.check();
+        when(resultSet.getDouble(1)).thenReturn(12.0);
+
+        // When
+        monitor.check();
+
+        // Then
+        assertFalse(monitor.isReplicaUsable());
+        assertEquals(0.0, meterRegistry.get("db.replica.usable").gauge().value());
+    }
+
+    @Test
+    void check_ReplicaUnreachable_ShouldTakeReplicaOutOfRotation() throws Exception {
+        // Given
+        stubLag(0.0);
+        monitor.check();
+        when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        // When
+        monitor.check();
+
+        // Then
+        assertFalse(monitor.isReplicaUsable());
+        assertTrue(Double.isNaN(meterRegistry.get("db.replica.lag").gauge().value()));
+    }
+
+    @Test
+    void check_WalReceiverNotStreaming_ShouldTakeReplicaOutOfRotation() throws Exception {
+        // Given
+        stubLag(0.0);
+        monitor.check();
+        when(resultSet.wasNull()).thenReturn(true);
+
+        // When
+        monitor.check();
+
+        // Then
+        assertFalse(monitor.isReplicaUsable());
+        assertTrue(Double.isNaN(meterRegistry.get("db.replica.lag").gauge().value()));
+        assertEquals(0.0, meterRegistry.get("db.replica.usable").gauge().value());
+    }
+
+    @Test
+    void lagQuery_ShouldRequireStreamingWalReceiver() {
+        assertTrue(ReplicaLagMonitor.LAG_QUERY.contains("pg_stat_wal_receiver WHERE status = 'streaming'"));
+    }
+
+    @Test
+    void markUnavailable_ShouldTakeReplicaOutOfRotationUntilNextCheck() throws Exception {
+        // Given
+        stubLag(0.0);
+        monitor.check();
+
+        // When
+        monitor.markUnavailable(new SQLException("Connection is not available"));
+
+        // Then
+        assertFalse(monitor.isReplicaUsable());
+        monitor.check();
+        assertTrue(monitor.isReplicaUsable());
+    }
+
+    private void stubLag(double lagSeconds) throws SQLException {
+        when(replica.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(ReplicaLagMonitor.LAG_QUERY)).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getDouble(1)).thenReturn(lagSeconds);
+    }
+}
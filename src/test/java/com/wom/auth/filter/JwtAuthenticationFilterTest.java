@@ -1,9 +1,14 @@
 package com.wom.auth.filter;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wom.auth.exception.InvalidJwtException;
 import com.wom.auth.exception.InvalidTokenException;
 import com.wom.auth.exception.TokenExpiredException;
 import com.wom.auth.service.JwtService;
 import com.wom.auth.service.TokenService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,14 +21,19 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 
 import javax.servlet.FilterChain;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.io.PrintWriter;
-import java.io.StringWriter;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.Collections;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -97,7 +107,7 @@ class JwtAuthenticationFilterTest {
     @Test
     void doFilterInternal_WithValidToken_ShouldAuthenticateUser() throws Exception {
         // Arrange
-        String token = "valid.jwt.token";
+        String token = token("valid");
         String username = "testuser";
         UserDetails userDetails = User.builder()
                 .username(username)
@@ -106,7 +116,7 @@ class JwtAuthenticationFilterTest {
                 .build();
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(tokenService.isTokenBlacklisted(token)).thenReturn(false);
+        when(tokenService.isAccessTokenRevoked(eq(token), any())).thenReturn(false);
         when(jwtService.validateToken(token)).thenReturn(null); // Returns Claims, but we don't use it
         when(jwtService.isTokenExpired(token)).thenReturn(false);
         when(jwtService.getUsernameFromToken(token)).thenReturn(username);
@@ -126,14 +136,14 @@ class JwtAuthenticationFilterTest {
     @Test
     void doFilterInternal_WithBlacklistedToken_ShouldReturnUnauthorized() throws Exception {
         // Arrange
-        String token = "blacklisted.jwt.token";
-        StringWriter stringWriter = new StringWriter();
-        PrintWriter writer = new PrintWriter(stringWriter);
+        String token = token("blacklisted");
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(tokenService.isTokenBlacklisted(token)).thenReturn(true);
+        when(jwtService.validateToken(token)).thenReturn(Jwts.claims());
+        when(tokenService.isAccessTokenRevoked(eq(token), any())).thenReturn(true);
         when(request.getRequestURI()).thenReturn("/api/test");
-        when(response.getWriter()).thenReturn(writer);
+        when(response.getOutputStream()).thenReturn(outputStream(body));
 
         // Act
         filter.doFilterInternal(request, response, filterChain);
@@ -142,22 +152,21 @@ class JwtAuthenticationFilterTest {
         verify(response).setStatus(401);
         verify(response).setContentType("application/json");
         verify(filterChain, never()).doFilter(request, response);
-        assertTrue(stringWriter.toString().contains("Token has been revoked"));
+        assertTrue(body.toString(StandardCharsets.UTF_8).contains("Token has been revoked"));
     }
 
     @Test
     void doFilterInternal_WithExpiredToken_ShouldReturnUnauthorized() throws Exception {
         // Arrange
-        String token = "expired.jwt.token";
-        StringWriter stringWriter = new StringWriter();
-        PrintWriter writer = new PrintWriter(stringWriter);
+        String token = token("expired");
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(tokenService.isTokenBlacklisted(token)).thenReturn(false);
+        when(tokenService.isAccessTokenRevoked(eq(token), any())).thenReturn(false);
         when(jwtService.validateToken(token)).thenReturn(null);
         when(jwtService.isTokenExpired(token)).thenReturn(true);
         when(request.getRequestURI()).thenReturn("/api/test");
-        when(response.getWriter()).thenReturn(writer);
+        when(response.getOutputStream()).thenReturn(outputStream(body));
 
         // Act
         filter.doFilterInternal(request, response, filterChain);
@@ -166,21 +175,19 @@ class JwtAuthenticationFilterTest {
         verify(response).setStatus(401);
         verify(response).setContentType("application/json");
         verify(filterChain, never()).doFilter(request, response);
-        assertTrue(stringWriter.toString().contains("Token has expired"));
+        assertTrue(body.toString(StandardCharsets.UTF_8).contains("Token has expired"));
     }
 
     @Test
     void doFilterInternal_WithTokenExpiredException_ShouldReturnUnauthorized() throws Exception {
         // Arrange
-        String token = "expired.jwt.token";
-        StringWriter stringWriter = new StringWriter();
-        PrintWriter writer = new PrintWriter(stringWriter);
+        String token = token("expired");
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(tokenService.isTokenBlacklisted(token)).thenReturn(false);
         doThrow(new TokenExpiredException("Token has expired")).when(jwtService).validateToken(token);
         when(request.getRequestURI()).thenReturn("/api/test");
-        when(response.getWriter()).thenReturn(writer);
+        when(response.getOutputStream()).thenReturn(outputStream(body));
 
         // Act
         filter.doFilterInternal(request, response, filterChain);
@@ -189,21 +196,19 @@ class JwtAuthenticationFilterTest {
         verify(response).setStatus(401);
         verify(response).setContentType("application/json");
         verify(filterChain, never()).doFilter(request, response);
-        assertTrue(stringWriter.toString().contains("Token has expired"));
+        assertTrue(body.toString(StandardCharsets.UTF_8).contains("Token has expired"));
     }
 
     @Test
     void doFilterInternal_WithInvalidTokenException_ShouldReturnUnauthorized() throws Exception {
         // Arrange
-        String token = "invalid.jwt.token";
-        StringWriter stringWriter = new StringWriter();
-        PrintWriter writer = new PrintWriter(stringWriter);
+        String token = token("invalid");
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(tokenService.isTokenBlacklisted(token)).thenReturn(false);
         doThrow(new InvalidTokenException("Invalid token signature")).when(jwtService).validateToken(token);
         when(request.getRequestURI()).thenReturn("/api/test");
-        when(response.getWriter()).thenReturn(writer);
+        when(response.getOutputStream()).thenReturn(outputStream(body));
 
         // Act
         filter.doFilterInternal(request, response, filterChain);
@@ -212,21 +217,19 @@ class JwtAuthenticationFilterTest {
         verify(response).setStatus(401);
         verify(response).setContentType("application/json");
         verify(filterChain, never()).doFilter(request, response);
-        assertTrue(stringWriter.toString().contains("Invalid token signature"));
+        assertTrue(body.toString(StandardCharsets.UTF_8).contains("Invalid token signature"));
     }
 
     @Test
     void doFilterInternal_WithGenericException_ShouldReturnUnauthorized() throws Exception {
         // Arrange
-        String token = "malformed.jwt.token";
-        StringWriter stringWriter = new StringWriter();
-        PrintWriter writer = new PrintWriter(stringWriter);
+        String token = token("malformed");
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(tokenService.isTokenBlacklisted(token)).thenReturn(false);
         doThrow(new RuntimeException("Unexpected error")).when(jwtService).validateToken(token);
         when(request.getRequestURI()).thenReturn("/api/test");
-        when(response.getWriter()).thenReturn(writer);
+        when(response.getOutputStream()).thenReturn(outputStream(body));
 
         // Act
         filter.doFilterInternal(request, response, filterChain);
@@ -235,16 +238,16 @@ class JwtAuthenticationFilterTest {
         verify(response).setStatus(401);
         verify(response).setContentType("application/json");
         verify(filterChain, never()).doFilter(request, response);
-        assertTrue(stringWriter.toString().contains("Invalid token"));
+        assertTrue(body.toString(StandardCharsets.UTF_8).contains("Invalid token"));
     }
 
     @Test
     void doFilterInternal_WithNullUsername_ShouldContinueWithoutAuth() throws Exception {
         // Arrange
-        String token = "valid.jwt.token";
+        String token = token("valid");
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(tokenService.isTokenBlacklisted(token)).thenReturn(false);
+        when(tokenService.isAccessTokenRevoked(eq(token), any())).thenReturn(false);
         when(jwtService.validateToken(token)).thenReturn(null);
         when(jwtService.isTokenExpired(token)).thenReturn(false);
         when(jwtService.getUsernameFromToken(token)).thenReturn(null);
@@ -261,7 +264,7 @@ class JwtAuthenticationFilterTest {
     @Test
     void doFilterInternal_WithExistingAuthentication_ShouldNotReauthenticate() throws Exception {
         // Arrange
-        String token = "valid.jwt.token";
+        String token = token("valid");
         String username = "testuser";
         UserDetails userDetails = User.builder()
                 .username(username)
@@ -277,7 +280,7 @@ class JwtAuthenticationFilterTest {
         );
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(tokenService.isTokenBlacklisted(token)).thenReturn(false);
+        when(tokenService.isAccessTokenRevoked(eq(token), any())).thenReturn(false);
         when(jwtService.validateToken(token)).thenReturn(null);
         when(jwtService.isTokenExpired(token)).thenReturn(false);
         when(jwtService.getUsernameFromToken(token)).thenReturn(username);
@@ -290,4 +293,112 @@ class JwtAuthenticationFilterTest {
         verify(userDetailsService, never()).loadUserByUsername(anyString());
         assertNotNull(SecurityContextHolder.getContext().getAuthentication());
     }
+
+    @Test
+    void doFilterInternal_WithStructurallyInvalidToken_ShouldRejectWithoutLookups() throws Exception {
+        // Arrange
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer not-a-jwt");
+        when(request.getRequestURI()).thenReturn("/api/test");
+        when(response.getOutputStream()).thenReturn(outputStream(body));
+
+        // Act
+        filter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        verify(response).setStatus(401);
+        verify(filterChain, never()).doFilter(request, response);
+        verifyNoInteractions(tokenService, jwtService);
+        assertTrue(body.toString(StandardCharsets.UTF_8).contains("Invalid token"));
+    }
+
+    @Test
+    void doFilterInternal_WithJwtException_ShouldReturnUnauthorized() throws Exception {
+        // Arrange
+        String token = token("forged");
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        doThrow(new InvalidJwtException("Invalid or expired JWT token")).when(jwtService).validateToken(token);
+        when(request.getRequestURI()).thenReturn("/api/test");
+        when(response.getOutputStream()).thenReturn(outputStream(body));
+
+        // Act
+        filter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        verify(response).setStatus(401);
+        verify(filterChain, never()).doFilter(request, response);
+        assertTrue(body.toString(StandardCharsets.UTF_8).contains("Invalid token"));
+    }
+
+    @Test
+    void doFilterInternal_WithTokenCoveredByUserRevocation_ShouldReturnUnauthorized() throws Exception {
+        // Arrange
+        String token = token("bulkrevoked");
+        Claims claims = Jwts.claims();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtService.validateToken(token)).thenReturn(claims);
+        when(tokenService.isAccessTokenRevoked(token, claims)).thenReturn(true);
+        when(request.getRequestURI()).thenReturn("/api/test");
+        when(response.getOutputStream()).thenReturn(outputStream(body));
+
+        // Act
+        filter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        verify(response).setStatus(401);
+        verify(filterChain, never()).doFilter(request, response);
+        assertTrue(body.toString(StandardCharsets.UTF_8).contains("Token has been revoked"));
+    }
+
+    @Test
+    void doFilterInternal_RejectionBody_ShouldBeCompleteJson() throws Exception {
+        // Arrange
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer junk");
+        when(request.getRequestURI()).thenReturn("/api/\"quoted\"");
+        when(response.getOutputStream()).thenReturn(outputStream(body));
+
+        // Act
+        filter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        JsonNode json = new ObjectMapper().readTree(body.toByteArray());
+        assertEquals(401, json.get("status").asInt());
+        assertEquals("Unauthorized", json.get("error").asText());
+        assertEquals("Invalid token", json.get("message").asText());
+        assertEquals("/api/\"quoted\"", json.get("path").asText());
+        assertNotNull(LocalDateTime.parse(json.get("timestamp").asText()));
+        verify(response).setContentLength(body.size());
+    }
+
+    private static ServletOutputStream outputStream(ByteArrayOutputStream body) {
+        return new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+
+            @Override
+            public void write(int b) {
+                body.write(b);
+            }
+        };
+    }
+
+    /**
+     * Builds a structurally valid compact JWS whose payload segment is {@code name}.
+     */
+    private static String token(String name) {
+        return "eyJhbGciOiJSUzI1NiJ9." + name + ".c2lnbmF0dXJl";
+    }
 }
@@ -0,0 +1,159 @@
+package com.wom.auth.filter;
+
+import com.wom.auth.exception.RateLimitExceededException;
+import com.wom.auth.ratelimit.RateLimitPolicy;
+import com.wom.auth.ratelimit.RateLimitPolicyResolver;
+import com.wom.auth.ratelimit.RateLimitResult;
+import com.wom.auth.ratelimit.RateLimiter;
+import com.wom.auth.web.ClientAddressResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link RateLimitingFilter}.
+ */
+@ExtendWith(MockitoExtension.class)
+class RateLimitingFilterTest {
+
+    private static final String LOGIN_BODY = "{\"identifier\":\"Admin@Test.com\",\"password\":\"Test123!\"}";
+
+    @Mock
+    private RateLimiter rateLimiter;
+
+    private final RateLimitPolicy general = new RateLimitPolicy(
+            "general", 100, 100, Duration.ofMinutes(1), RateLimitPolicy.KeyStrategy.CLIENT);
+    private final RateLimitPolicy login = new RateLimitPolicy(
+            "login", 5, 5, Duration.ofMinutes(1), RateLimitPolicy.KeyStrategy.CLIENT_AND_IDENTIFIER);
+
+    private RateLimitingFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private MockFilterChain filterChain;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitPolicyResolver resolver = new RateLimitPolicyResolver(
+                general, Map.of(login, List.of("/auth/login")), List.of("/actuator/**"));
+        filter = new RateLimitingFilter(rateLimiter, resolver, new ClientAddressResolver(List.of("127.0.0.0/8")));
+
+        request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.1");
+        response = new MockHttpServletResponse();
+        filterChain = new MockFilterChain();
+    }
+
+    @Test
+    void doFilterInternal_ExemptPath_ShouldSkipRateLimiting() throws Exception {
+        request.setRequestURI("/actuator/health");
+
+        filter.doFilterInternal(request, response, filterChain);
+
+        verifyNoInteractions(rateLimiter);
+        assertNotNull(filterChain.getRequest());
+    }
+
+    @Test
+    void doFilterInternal_GeneralPathWithinLimit_ShouldContinue() throws Exception {
+        request.setRequestURI("/auth/me");
+        when(rateLimiter.tryConsume("10.0.0.1", general)).thenReturn(RateLimitResult.allow(4));
+
+        filter.doFilterInternal(request, response, filterChain);
+
+        assertNotNull(filterChain.getRequest());
+        assertEquals("4", response.getHeader("X-RateLimit-Remaining"));
+    }
+
+    @Test
+    void doFilterInternal_WithSpoofedForwardedForFromUntrustedPeer_ShouldKeyByPeerAddress() throws Exception {
+        request.setRequestURI("/auth/me");
+        request.addHeader("X-Forwarded-For", "1.2.3.4, 5.6.7.8");
+        when(rateLimiter.tryConsume("10.0.0.1", general)).thenReturn(RateLimitResult.allow(4));
+
+        filter.doFilterInternal(request, response, filterChain);
+
+        assertNotNull(filterChain.getRequest());
+    }
+
+    @Test
+    void doFilterInternal_BehindTrustedProxy_ShouldKeyByForwardedClient() throws Exception {
+        request.setRequestURI("/auth/me");
+        request.setRemoteAddr("127.0.0.1");
+        request.addHeader("X-Forwarded-For", "203.0.113.9");
+        when(rateLimiter.tryConsume("203.0.113.9", general)).thenReturn(RateLimitResult.allow(4));
+
+        filter.doFilterInternal(request, response, filterChain);
+
+        assertNotNull(filterChain.getRequest());
+    }
+
+    @Test
+    void doFilterInternal_OverLimit_ShouldThrowRateLimitExceeded() {
+        request.setRequestURI("/auth/me");
+        when(rateLimiter.tryConsume("10.0.0.1", general)).thenReturn(RateLimitResult.reject(30_000));
+
+        RateLimitExceededException ex = assertThrows(RateLimitExceededException.class,
+                () -> filter.doFilterInternal(request, response, filterChain));
+        assertNull(filterChain.getRequest());
+        assertEquals(30L, ex.getRetryAfterSeconds());
+        assertEquals("30", response.getHeader("Retry-After"));
+    }
+
+    @Test
+    void doFilterInternal_Login_ShouldKeyByClientAndIdentifierAndReplayBody() throws Exception {
+        request.setRequestURI("/auth/login");
+        request.setContent(LOGIN_BODY.getBytes(StandardCharsets.UTF_8));
+        when(rateLimiter.tryConsume("10.0.0.1|admin@test.com", login)).thenReturn(RateLimitResult.allow(2));
+        when(rateLimiter.tryConsume("10.0.0.1", general)).thenReturn(RateLimitResult.allow(97));
+
+        filter.doFilterInternal(request, response, filterChain);
+
+        assertEquals("2", response.getHeader("X-RateLimit-Remaining"));
+
+        byte[] replayed = filterChain.getRequest().getInputStream().readAllBytes();
+        assertEquals(LOGIN_BODY, new String(replayed, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void doFilterInternal_LoginOverLimit_ShouldNotChargeGeneralPolicy() {
+        request.setRequestURI("/auth/login");
+        request.setContent(LOGIN_BODY.getBytes(StandardCharsets.UTF_8));
+        when(rateLimiter.tryConsume("10.0.0.1|admin@test.com", login)).thenReturn(RateLimitResult.reject(30_000));
+
+        assertThrows(RateLimitExceededException.class,
+                () -> filter.doFilterInternal(request, response, filterChain));
+        verify(rateLimiter, never()).tryConsume(any(), eq(general));
+    }
+
+    @Test
+    void extractIdentifier_WithoutIdentifierField_ShouldReturnNull() {
+        assertNull(RateLimitingFilter.extractIdentifier("{\"password\":\"x\"}".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void extractIdentifier_WithMalformedJson_ShouldReturnNull() {
+        assertNull(RateLimitingFilter.extractIdentifier("{\"identifier\":".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void extractIdentifier_WithNestedObjects_ShouldSkipThem() {
+        byte[] body = "{\"meta\":{\"identifier\":\"nested\"},\"identifier\":\"user\"}".getBytes(StandardCharsets.UTF_8);
+
+        assertEquals("user", RateLimitingFilter.extractIdentifier(body));
+    }
+}
@@ -0,0 +1,131 @@
+package com.wom.auth.ratelimit;
+
+import com.wom.auth.repository.redis.RateLimitRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link DistributedRateLimiter}.
+ */
+@ExtendWith(MockitoExtension.class)
+class DistributedRateLimiterTest {
+
+    @Mock
+    private RateLimitRepository rateLimitRepository;
+
+    @Mock
+    private RateLimiter fallback;
+
+    private SimpleMeterRegistry meterRegistry;
+    private DistributedRateLimiter rateLimiter;
+
+    private final RateLimitPolicy policy = new RateLimitPolicy("default", 100, 100, Duration.ofMinutes(1), RateLimitPolicy.KeyStrategy.CLIENT);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimiter = new DistributedRateLimiter(rateLimitRepository, fallback, 10, 60000, 1000, meterRegistry);
+    }
+
+    @Test
+    void tryConsume_WithTokensAvailable_ShouldAllow() {
+        // Given
+        when(rateLimitRepository.tryAcquire("default:10.0.0.1", 100, 100, 60000, 10)).thenReturn(grant(1, 99, 0));
+
+        // When
+        RateLimitResult result = rateLimiter.tryConsume("10.0.0.1", policy);
+
+        // Then
+        assertTrue(result.isAllowed());
+        assertEquals(99L, result.getRemaining());
+    }
+
+    @Test
+    void tryConsume_WithEmptyBucket_ShouldReject() {
+        // Given
+        when(rateLimitRepository.tryAcquire(anyString(), anyLong(), anyLong(), anyLong(), anyLong()))
+                .thenReturn(grant(0, 0, 600));
+
+        // When
+        RateLimitResult result = rateLimiter.tryConsume("10.0.0.1", policy);
+
+        // Then
+        assertFalse(result.isAllowed());
+        assertEquals(600L, result.getRetryAfterMillis());
+        assertEquals(1L, result.getRetryAfterSeconds());
+    }
+
+    @Test
+    void tryConsume_WithPrefetchedBatch_ShouldServeLocallyUntilExhausted() {
+        // Given
+        when(rateLimitRepository.tryAcquire(anyString(), anyLong(), anyLong(), anyLong(), anyLong()))
+                .thenReturn(grant(3, 50, 0), grant(0, 0, 600));
+
+        // When
+        RateLimitResult first = rateLimiter.tryConsume("10.0.0.1", policy);
+        RateLimitResult second = rateLimiter.tryConsume("10.0.0.1", policy);
+        RateLimitResult third = rateLimiter.tryConsume("10.0.0.1", policy);
+        RateLimitResult fourth = rateLimiter.tryConsume("10.0.0.1", policy);
+
+        // Then
+        assertTrue(first.isAllowed());
+        assertTrue(second.isAllowed());
+        assertTrue(third.isAllowed());
+        assertFalse(fourth.isAllowed());
+        assertEquals(52L, first.getRemaining());
+        assertEquals(50L, third.getRemaining());
+        verify(rateLimitRepository, times(2)).tryAcquire(anyString(), anyLong(), anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    void tryConsume_WithSmallBucket_ShouldNotPrefetch() {
+        // Given
+        RateLimitPolicy login = new RateLimitPolicy("login", 5, 5, Duration.ofMinutes(1), RateLimitPolicy.KeyStrategy.CLIENT);
+        when(rateLimitRepository.tryAcquire("login:10.0.0.1", 5, 5, 60000, 1)).thenReturn(grant(1, 4, 0));
+
+        // When & Then
+        assertTrue(rateLimiter.tryConsume("10.0.0.1", login).isAllowed());
+    }
+
+    @Test
+    void tryConsume_WhenRedisFails_ShouldFallBackToLocalLimiter() {
+        // Given
+        when(rateLimitRepository.tryAcquire(anyString(), anyLong(), anyLong(), anyLong(), anyLong()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        when(fallback.tryConsume("10.0.0.1", policy)).thenReturn(RateLimitResult.allow(99));
+
+        // When
+        RateLimitResult result = rateLimiter.tryConsume("10.0.0.1", policy);
+
+        // Then
+        assertTrue(result.isAllowed());
+        assertEquals(1.0, meterRegistry.get("auth.ratelimit.redis.errors").counter().count());
+    }
+
+    @Test
+    void tryConsume_ShouldRecordRedisLatency() {
+        // Given
+        when(rateLimitRepository.tryAcquire(anyString(), anyLong(), anyLong(), anyLong(), anyLong())).thenReturn(grant(1, 99, 0));
+
+        // When
+        rateLimiter.tryConsume("10.0.0.1", policy);
+
+        // Then
+        assertEquals(1L, meterRegistry.get("auth.ratelimit.redis.latency").timer().count());
+    }
+
+    private static RateLimitRepository.Grant grant(long granted, long remaining, long retryAfterMillis) {
+        return new RateLimitRepository.Grant(granted, remaining, retryAfterMillis);
+    }
+}
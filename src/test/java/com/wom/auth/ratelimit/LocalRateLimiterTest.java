@@ -0,0 +1,76 @@
+package com.wom.auth.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link LocalRateLimiter}.
+ */
+class LocalRateLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LocalRateLimiter rateLimiter = new LocalRateLimiter(1000, Duration.ofMinutes(10), meterRegistry);
+    private final RateLimitPolicy policy = new RateLimitPolicy("test", 2, 2, Duration.ofMinutes(1), RateLimitPolicy.KeyStrategy.CLIENT);
+
+    @Test
+    void tryConsume_WithinCapacity_ShouldAllow() {
+        assertTrue(rateLimiter.tryConsume("10.0.0.1", policy).isAllowed());
+        assertTrue(rateLimiter.tryConsume("10.0.0.1", policy).isAllowed());
+    }
+
+    @Test
+    void tryConsume_OverCapacity_ShouldReject() {
+        rateLimiter.tryConsume("10.0.0.1", policy);
+        rateLimiter.tryConsume("10.0.0.1", policy);
+
+        assertFalse(rateLimiter.tryConsume("10.0.0.1", policy).isAllowed());
+    }
+
+    @Test
+    void tryConsume_DifferentKeys_ShouldUseIndependentBuckets() {
+        rateLimiter.tryConsume("10.0.0.1", policy);
+        rateLimiter.tryConsume("10.0.0.1", policy);
+
+        assertTrue(rateLimiter.tryConsume("10.0.0.2", policy).isAllowed());
+    }
+
+    @Test
+    void tryConsume_ShouldReportRemainingQuota() {
+        RateLimitResult result = rateLimiter.tryConsume("10.0.0.1", policy);
+
+        assertTrue(result.isAllowed());
+        assertEquals(1L, result.getRemaining());
+    }
+
+    @Test
+    void tryConsume_OverCapacity_ShouldReportRetryAfterOneRefillInterval() {
+        rateLimiter.tryConsume("10.0.0.1", policy);
+        rateLimiter.tryConsume("10.0.0.1", policy);
+
+        RateLimitResult result = rateLimiter.tryConsume("10.0.0.1", policy);
+
+        assertFalse(result.isAllowed());
+        assertTrue(result.getRetryAfterMillis() > 0 && result.getRetryAfterMillis() <= 30_000);
+        assertEquals(30L, result.getRetryAfterSeconds());
+    }
+
+    @Test
+    void tryConsume_WithManyDistinctKeys_ShouldStayWithinMaxTrackedKeys() {
+        LocalRateLimiter bounded = new LocalRateLimiter(100, Duration.ofMinutes(10), meterRegistry);
+
+        for (int i = 0; i < 10_000; i++) {
+            bounded.tryConsume("spoofed-" + i, policy);
+        }
+
+        assertTrue(bounded.trackedKeys() <= 100);
+    }
+
+    @Test
+    void constructor_ShouldRegisterEvictionMetrics() {
+        assertNotNull(meterRegistry.find("cache.evictions").tag("cache", "rate-limit-buckets").functionCounter());
+    }
+}
@@ -0,0 +1,66 @@
+package com.wom.auth.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link RateLimitPolicyResolver}.
+ */
+class RateLimitPolicyResolverTest {
+
+    private final RateLimitPolicy general = new RateLimitPolicy(
+            "general", 100, 100, Duration.ofMinutes(1), RateLimitPolicy.KeyStrategy.CLIENT);
+    private final RateLimitPolicy login = new RateLimitPolicy(
+            "login", 5, 5, Duration.ofMinutes(1), RateLimitPolicy.KeyStrategy.CLIENT_AND_IDENTIFIER);
+
+    private final RateLimitPolicy introspection = new RateLimitPolicy(
+            "introspection", 3000, 3000, Duration.ofMinutes(1), RateLimitPolicy.KeyStrategy.CLIENT);
+
+    private final RateLimitPolicyResolver resolver = new RateLimitPolicyResolver(
+            general,
+            Map.of(login, List.of("/auth/login")),
+            Map.of(introspection, List.of("/auth/introspect")),
+            List.of("/actuator/**", "/swagger-ui.html")
+    );
+
+    @Test
+    void resolve_EndpointPath_ShouldReturnEndpointPolicyThenGeneral() {
+        assertEquals(List.of(login, general), resolver.resolve("/auth/login"));
+    }
+
+    @Test
+    void resolve_EndpointPathWithTrailingSlash_ShouldMatchEndpointPolicy() {
+        assertEquals(List.of(login, general), resolver.resolve("/auth/login/"));
+    }
+
+    @Test
+    void resolve_DedicatedPath_ShouldReturnOnlyItsOwnPolicy() {
+        assertEquals(List.of(introspection), resolver.resolve("/auth/introspect"));
+    }
+
+    @Test
+    void resolve_OtherPath_ShouldReturnGeneralOnly() {
+        assertEquals(List.of(general), resolver.resolve("/auth/me"));
+    }
+
+    @Test
+    void resolve_ExemptPrefix_ShouldReturnNoPolicies() {
+        assertTrue(resolver.resolve("/actuator/health").isEmpty());
+        assertTrue(resolver.resolve("/actuator").isEmpty());
+    }
+
+    @Test
+    void resolve_ExemptExactPath_ShouldReturnNoPolicies() {
+        assertTrue(resolver.resolve("/swagger-ui.html").isEmpty());
+    }
+
+    @Test
+    void resolve_PathSharingExemptPrefixText_ShouldNotBeExempt() {
+        assertEquals(List.of(general), resolver.resolve("/actuatorfoo"));
+    }
+}
@@ -0,0 +1,129 @@
+package com.wom.auth.repository.jpa;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RefreshTokenPartitionRepository.
+ */
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenPartitionRepositoryTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private RefreshTokenPartitionRepository repository;
+    private final LocalDateTime cutoff = LocalDateTime.of(2024, 3, 1, 0, 0);
+
+    @BeforeEach
+    void setUp() {
+        repository = new RefreshTokenPartitionRepository(jdbcTemplate);
+    }
+
+    @Test
+    void dropExpiredPartitions_AttachedPartition_ShouldDetachConcurrentlyBeforeDrop() {
+        // Given
+        stubExpiredPartitions("refresh_tokens_p20240101", "attached");
+
+        // When
+        int dropped = repository.dropExpiredPartitions(cutoff);
+
+        // Then
+        assertEquals(1, dropped);
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute(
+                "ALTER TABLE refresh_tokens DETACH PARTITION refresh_tokens_p20240101 CONCURRENTLY");
+        inOrder.verify(jdbcTemplate).execute("DROP TABLE IF EXISTS refresh_tokens_p20240101");
+    }
+
+    @Test
+    void dropExpiredPartitions_InterruptedRun_ShouldFinishDetachAndDrop() {
+        // Given
+        stubExpiredPartitions("refresh_tokens_p20240108", "detach_pending", "refresh_tokens_p20240115", "detached");
+
+        // When
+        int dropped = repository.dropExpiredPartitions(cutoff);
+
+        // Then
+        assertEquals(2, dropped);
+        verify(jdbcTemplate).execute("ALTER TABLE refresh_tokens DETACH PARTITION refresh_tokens_p20240108 FINALIZE");
+        verify(jdbcTemplate).execute("DROP TABLE IF EXISTS refresh_tokens_p20240108");
+        verify(jdbcTemplate).execute("DROP TABLE IF EXISTS refresh_tokens_p20240115");
+        verify(jdbcTemplate, never()).execute(contains("refresh_tokens_p20240115 CONCURRENTLY"));
+    }
+
+    @Test
+    void dropExpiredPartitions_NothingExpired_ShouldNotAlterTables() {
+        // Given
+        stubExpiredPartitions();
+
+        // When
+        int dropped = repository.dropExpiredPartitions(cutoff);
+
+        // Then
+        assertEquals(0, dropped);
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void dropExpiredPartitions_UnexpectedName_ShouldFailWithoutExecuting() {
+        // Given
+        stubExpiredPartitions("refresh_tokens; DROP TABLE users", "attached");
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> repository.dropExpiredPartitions(cutoff));
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void dropExpiredPartitions_InsideTransaction_ShouldFail() {
+        // Given
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            // When & Then
+            assertThrows(IllegalStateException.class, () -> repository.dropExpiredPartitions(cutoff));
+            verifyNoInteractions(jdbcTemplate);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubExpiredPartitions(String... nameAndState) {
+        when(jdbcTemplate.query(eq(RefreshTokenPartitionRepository.EXPIRED_PARTITIONS_QUERY),
+                any(RowMapper.class), eq(Timestamp.valueOf(cutoff))))
+                .thenAnswer(invocation -> {
+                    RowMapper<Object> mapper = invocation.getArgument(1);
+                    List<Object> rows = new ArrayList<>();
+                    for (int i = 0; i < nameAndState.length; i += 2) {
+                        rows.add(mapper.mapRow(row(nameAndState[i], nameAndState[i + 1]), i / 2));
+                    }
+                    return rows;
+                });
+    }
+
+    private static ResultSet row(String name, String state) throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getString(1)).thenReturn(name);
+        when(resultSet.getString(2)).thenReturn(state);
+        return resultSet;
+    }
+}
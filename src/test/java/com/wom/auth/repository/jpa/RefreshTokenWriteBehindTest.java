@@ -0,0 +1,181 @@
+package com.wom.auth.repository.jpa;
+
+import com.wom.auth.entity.RefreshToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RefreshTokenWriteBehind.
+ */
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenWriteBehindTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RefreshTokenWriteBehind writeBehind;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        writeBehind = new RefreshTokenWriteBehind(refreshTokenRepository, 3, 10, 1000L, meterRegistry);
+    }
+
+    private RefreshToken snapshot(String tokenHash, LocalDateTime revokedAt) {
+        return RefreshToken.builder()
+                .userId(7L)
+                .tokenHash(tokenHash)
+                .expiresAt(LocalDateTime.now().plusDays(7))
+                .revokedAt(revokedAt)
+                .build();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_ShouldInsertNewRowsAndUpdateExistingOnesInOneBatch() {
+        // Given
+        LocalDateTime revokedAt = LocalDateTime.now();
+        RefreshToken existingRow = snapshot("old", null);
+        existingRow.setId(42L);
+        when(refreshTokenRepository.findByTokenHashIn(anyCollection())).thenReturn(List.of(existingRow));
+        writeBehind.enqueue(snapshot("new", null));
+        writeBehind.enqueue(snapshot("old", revokedAt));
+
+        // When
+        int written = writeBehind.flush();
+
+        // Then
+        assertEquals(2, written);
+        ArgumentCaptor<List<RefreshToken>> rows = ArgumentCaptor.forClass(List.class);
+        verify(refreshTokenRepository, times(1)).saveAll(rows.capture());
+        assertNull(rows.getValue().get(0).getId());
+        assertSame(existingRow, rows.getValue().get(1));
+        assertEquals(revokedAt, existingRow.getRevokedAt());
+        assertEquals(2.0, meterRegistry.counter("refresh_tokens.write_behind.written").count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_ShouldKeepOnlyLatestSnapshotPerToken() {
+        // Given
+        LocalDateTime revokedAt = LocalDateTime.now();
+        when(refreshTokenRepository.findByTokenHashIn(anyCollection())).thenReturn(List.of());
+        writeBehind.enqueue(snapshot("hash", null));
+        writeBehind.enqueue(snapshot("hash", revokedAt));
+
+        // When
+        writeBehind.flush();
+
+        // Then
+        ArgumentCaptor<List<RefreshToken>> rows = ArgumentCaptor.forClass(List.class);
+        verify(refreshTokenRepository).saveAll(rows.capture());
+        assertEquals(1, rows.getValue().size());
+        assertEquals(revokedAt, rows.getValue().get(0).getRevokedAt());
+    }
+
+    @Test
+    void flush_WhenPostgresFails_ShouldKeepSnapshotsForRetry() {
+        // Given
+        when(refreshTokenRepository.findByTokenHashIn(anyCollection())).thenThrow(new RuntimeException("down"));
+        writeBehind.enqueue(snapshot("hash", null));
+
+        // When
+        int written = writeBehind.flush();
+
+        // Then
+        assertEquals(0, written);
+        assertEquals(1, writeBehind.pending());
+        assertEquals(1.0, meterRegistry.counter("refresh_tokens.write_behind.failed").count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_AfterFailedBatch_ShouldNotLetRetriedSnapshotOverwriteLaterRevocation() {
+        // Given
+        LocalDateTime revokedAt = LocalDateTime.now();
+        when(refreshTokenRepository.findByTokenHashIn(anyCollection()))
+                .thenThrow(new RuntimeException("down"))
+                .thenReturn(List.of());
+        writeBehind.enqueue(snapshot("hash", null));
+        writeBehind.flush();
+        writeBehind.enqueue(snapshot("hash", revokedAt));
+
+        // When
+        int written = writeBehind.flush();
+
+        // Then
+        assertEquals(1, written);
+        ArgumentCaptor<List<RefreshToken>> rows = ArgumentCaptor.forClass(List.class);
+        verify(refreshTokenRepository).saveAll(rows.capture());
+        assertEquals(1, rows.getValue().size());
+        assertEquals(revokedAt, rows.getValue().get(0).getRevokedAt());
+        assertEquals(0, writeBehind.pending());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_ShouldNeverReplaceRevokedSnapshotWithUnrevokedOne() {
+        // Given
+        LocalDateTime revokedAt = LocalDateTime.now();
+        when(refreshTokenRepository.findByTokenHashIn(anyCollection())).thenReturn(List.of());
+        writeBehind.enqueue(snapshot("hash", revokedAt));
+        writeBehind.enqueue(snapshot("hash", null));
+
+        // When
+        writeBehind.flush();
+
+        // Then
+        ArgumentCaptor<List<RefreshToken>> rows = ArgumentCaptor.forClass(List.class);
+        verify(refreshTokenRepository).saveAll(rows.capture());
+        assertEquals(revokedAt, rows.getValue().get(0).getRevokedAt());
+    }
+
+    @Test
+    void flushAll_WithOnlyFailedBatchPending_ShouldRetryIt() {
+        // Given
+        when(refreshTokenRepository.findByTokenHashIn(anyCollection()))
+                .thenThrow(new RuntimeException("down"))
+                .thenReturn(List.of());
+        writeBehind.enqueue(snapshot("hash", null));
+        writeBehind.flush();
+
+        // When
+        writeBehind.flushAll();
+
+        // Then
+        assertEquals(0, writeBehind.pending());
+        verify(refreshTokenRepository, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    void enqueue_WhenQueueFull_ShouldDropAndCount() {
+        // When
+        for (int i = 0; i < 4; i++) {
+            writeBehind.enqueue(snapshot("hash-" + i, null));
+        }
+
+        // Then
+        assertEquals(3, writeBehind.pending());
+        assertEquals(1.0, meterRegistry.counter("refresh_tokens.write_behind.dropped").count());
+    }
+
+    @Test
+    void flush_WithEmptyQueue_ShouldNotQueryPostgres() {
+        // When & Then
+        assertEquals(0, writeBehind.flush());
+        verifyNoInteractions(refreshTokenRepository);
+    }
+}
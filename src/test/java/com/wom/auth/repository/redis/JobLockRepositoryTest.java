@@ -0,0 +1,63 @@
+package com.wom.auth.repository.redis;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for JobLockRepository.
+ */
+@ExtendWith(MockitoExtension.class)
+class JobLockRepositoryTest {
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @InjectMocks
+    private JobLockRepository jobLockRepository;
+
+    @Test
+    void tryLock_WhenFree_ShouldAcquireWithLease() {
+        // Given
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent("lock:job:purge", "owner-1", Duration.ofMinutes(10))).thenReturn(true);
+
+        // When & Then
+        assertTrue(jobLockRepository.tryLock("purge", "owner-1", Duration.ofMinutes(10)));
+    }
+
+    @Test
+    void tryLock_WhenHeld_ShouldReturnFalse() {
+        // Given
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(false);
+
+        // When & Then
+        assertFalse(jobLockRepository.tryLock("purge", "owner-1", Duration.ofMinutes(10)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void unlock_ShouldReleaseOnlyOwnLockThroughScript() {
+        // When
+        jobLockRepository.unlock("purge", "owner-1");
+
+        // Then
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("lock:job:purge")), eq("owner-1"));
+    }
+}
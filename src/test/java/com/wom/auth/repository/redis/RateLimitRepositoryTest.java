@@ -7,7 +7,10 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -34,73 +37,6 @@ class RateLimitRepositoryTest {
     private final long duration = 60L;
     private final TimeUnit timeUnit = TimeUnit.SECONDS;
 
-    @Test
-    void increment_FirstAttempt_ShouldReturnOneAndSetExpiration() {
-        // Given
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.increment(expectedRedisKey)).thenReturn(1L);
-
-        // When
-        Long result = rateLimitRepository.increment(testKey, duration, timeUnit);
-
-        // Then
-        assertEquals(1L, result);
-        verify(valueOperations, times(1)).increment(expectedRedisKey);
-        verify(redisTemplate, times(1)).expire(expectedRedisKey, duration, timeUnit);
-    }
-
-    @Test
-    void increment_SecondAttempt_ShouldReturnTwoAndNotSetExpiration() {
-        // Given
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.increment(expectedRedisKey)).thenReturn(2L);
-
-        // When
-        Long result = rateLimitRepository.increment(testKey, duration, timeUnit);
-
-        // Then
-        assertEquals(2L, result);
-        verify(valueOperations, times(1)).increment(expectedRedisKey);
-        verify(redisTemplate, never()).expire(anyString(), anyLong(), any(TimeUnit.class));
-    }
-
-    @Test
-    void increment_MultipleAttempts_ShouldIncrementCorrectly() {
-        // Given
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.increment(expectedRedisKey))
-                .thenReturn(1L, 2L, 3L, 4L, 5L);
-
-        // When
-        Long attempt1 = rateLimitRepository.increment(testKey, duration, timeUnit);
-        Long attempt2 = rateLimitRepository.increment(testKey, duration, timeUnit);
-        Long attempt3 = rateLimitRepository.increment(testKey, duration, timeUnit);
-        Long attempt4 = rateLimitRepository.increment(testKey, duration, timeUnit);
-        Long attempt5 = rateLimitRepository.increment(testKey, duration, timeUnit);
-
-        // Then
-        assertEquals(1L, attempt1);
-        assertEquals(2L, attempt2);
-        assertEquals(3L, attempt3);
-        assertEquals(4L, attempt4);
-        assertEquals(5L, attempt5);
-        verify(redisTemplate, times(1)).expire(expectedRedisKey, duration, timeUnit);
-    }
-
-    @Test
-    void increment_WithNullCount_ShouldHandleGracefully() {
-        // Given
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.increment(expectedRedisKey)).thenReturn(null);
-
-        // When
-        Long result = rateLimitRepository.increment(testKey, duration, timeUnit);
-
-        // Then
-        assertNull(result);
-        verify(redisTemplate, never()).expire(anyString(), anyLong(), any(TimeUnit.class));
-    }
-
     @Test
     void getAttempts_WithExistingKey_ShouldReturnCount() {
         // Given
@@ -190,84 +126,127 @@ class RateLimitRepositoryTest {
     }
 
     @Test
-    void increment_WithDifferentTimeUnits_ShouldHandleCorrectly() {
+    void getAttempts_WithInvalidNumberFormat_ShouldThrowException() {
         // Given
         when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.increment(expectedRedisKey)).thenReturn(1L);
+        when(valueOperations.get(expectedRedisKey)).thenReturn("invalid");
 
-        // When - Minutes
-        rateLimitRepository.increment(testKey, 5L, TimeUnit.MINUTES);
+        // When & Then
+        assertThrows(NumberFormatException.class, 
+                () -> rateLimitRepository.getAttempts(testKey));
+    }
+
+    @Test
+    void reset_MultipleKeys_ShouldDeleteEachSeparately() {
+        // Given
+        String key1 = "user:1";
+        String key2 = "user:2";
+
+        // When
+        rateLimitRepository.reset(key1);
+        rateLimitRepository.reset(key2);
+
+        // Then
+        verify(redisTemplate, times(1)).delete("rate_limit:user:1");
+        verify(redisTemplate, times(1)).delete("rate_limit:user:2");
+    }
+
+    @Test
+    void getTimeToLive_WithKeyWithoutExpiration_ShouldReturnMinusOne() {
+        // Given - Redis returns -1 for keys without expiration
+        when(redisTemplate.getExpire(expectedRedisKey, TimeUnit.SECONDS)).thenReturn(-1L);
+
+        // When
+        Long result = rateLimitRepository.getTimeToLive(testKey);
 
         // Then
-        verify(redisTemplate, times(1)).expire(expectedRedisKey, 5L, TimeUnit.MINUTES);
+        assertEquals(-1L, result);
     }
 
     @Test
-    void increment_WithHoursTimeUnit_ShouldSetExpirationCorrectly() {
+    void increment_ShouldRunFixedWindowScriptWithWindowInMillis() {
         // Given
-        String hourlyKey = "hourly:limit";
-        String expectedHourlyKey = "rate_limit:hourly:limit";
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.increment(expectedHourlyKey)).thenReturn(1L);
+        when(redisTemplate.execute(any(RedisScript.class),
+                eq(Collections.singletonList(expectedRedisKey)), eq("60000"))).thenReturn(1L);
 
         // When
-        rateLimitRepository.increment(hourlyKey, 1L, TimeUnit.HOURS);
+        Long result = rateLimitRepository.increment(testKey, duration, timeUnit);
 
         // Then
-        verify(redisTemplate, times(1)).expire(expectedHourlyKey, 1L, TimeUnit.HOURS);
+        assertEquals(1L, result);
+        verify(redisTemplate, never()).opsForValue();
+        verify(redisTemplate, never()).expire(anyString(), anyLong(), any(TimeUnit.class));
     }
 
     @Test
-    void getAttempts_WithInvalidNumberFormat_ShouldThrowException() {
+    void increment_SubsequentAttempts_ShouldReturnScriptCount() {
         // Given
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.get(expectedRedisKey)).thenReturn("invalid");
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any())).thenReturn(1L, 2L, 3L);
 
-        // When & Then
-        assertThrows(NumberFormatException.class, 
-                () -> rateLimitRepository.getAttempts(testKey));
+        // When
+        Long attempt1 = rateLimitRepository.increment(testKey, duration, timeUnit);
+        Long attempt2 = rateLimitRepository.increment(testKey, duration, timeUnit);
+        Long attempt3 = rateLimitRepository.increment(testKey, duration, timeUnit);
+
+        // Then
+        assertEquals(1L, attempt1);
+        assertEquals(2L, attempt2);
+        assertEquals(3L, attempt3);
     }
 
     @Test
-    void increment_WithIPAddressKey_ShouldHandleCorrectly() {
+    void increment_WithHoursTimeUnit_ShouldConvertWindowToMillis() {
         // Given
-        String ipKey = "ip:192.168.1.1";
-        String expectedIpKey = "rate_limit:ip:192.168.1.1";
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.increment(expectedIpKey)).thenReturn(1L);
+        when(redisTemplate.execute(any(RedisScript.class),
+                eq(Collections.singletonList("rate_limit:hourly:limit")), eq("3600000"))).thenReturn(1L);
 
         // When
-        Long result = rateLimitRepository.increment(ipKey, duration, timeUnit);
+        Long result = rateLimitRepository.increment("hourly:limit", 1L, TimeUnit.HOURS);
 
         // Then
         assertEquals(1L, result);
-        verify(redisTemplate, times(1)).expire(expectedIpKey, duration, timeUnit);
     }
 
     @Test
-    void reset_MultipleKeys_ShouldDeleteEachSeparately() {
+    void tryAcquire_ShouldRunGcraScriptAndReturnGrant() {
         // Given
-        String key1 = "user:1";
-        String key2 = "user:2";
+        when(redisTemplate.execute(any(RedisScript.class),
+                eq(Collections.singletonList("rate_limit:bucket:default:10.0.0.1")),
+                eq("100"), eq("100"), eq("60000"), eq("10"))).thenReturn(List.of(10L, 90L, 0L));
 
         // When
-        rateLimitRepository.reset(key1);
-        rateLimitRepository.reset(key2);
+        RateLimitRepository.Grant grant = rateLimitRepository.tryAcquire("default:10.0.0.1", 100, 100, 60000, 10);
 
         // Then
-        verify(redisTemplate, times(1)).delete("rate_limit:user:1");
-        verify(redisTemplate, times(1)).delete("rate_limit:user:2");
+        assertEquals(10L, grant.getGranted());
+        assertEquals(90L, grant.getRemaining());
+        assertEquals(0L, grant.getRetryAfterMillis());
     }
 
     @Test
-    void getTimeToLive_WithKeyWithoutExpiration_ShouldReturnMinusOne() {
-        // Given - Redis returns -1 for keys without expiration
-        when(redisTemplate.getExpire(expectedRedisKey, TimeUnit.SECONDS)).thenReturn(-1L);
+    void tryAcquire_WhenRejected_ShouldReturnRetryAfter() {
+        // Given
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any(), any()))
+                .thenReturn(List.of(0L, 0L, 12000L));
 
         // When
-        Long result = rateLimitRepository.getTimeToLive(testKey);
+        RateLimitRepository.Grant grant = rateLimitRepository.tryAcquire("login:10.0.0.1", 5, 5, 60000, 1);
 
         // Then
-        assertEquals(-1L, result);
+        assertEquals(0L, grant.getGranted());
+        assertEquals(12000L, grant.getRetryAfterMillis());
+    }
+
+    @Test
+    void tryAcquire_WithNullScriptResult_ShouldRejectForOneInterval() {
+        // Given
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any(), any())).thenReturn(null);
+
+        // When
+        RateLimitRepository.Grant grant = rateLimitRepository.tryAcquire("default:10.0.0.1", 100, 100, 60000, 1);
+
+        // Then
+        assertEquals(0L, grant.getGranted());
+        assertEquals(600L, grant.getRetryAfterMillis());
     }
 }
@@ -0,0 +1,389 @@
+package com.wom.auth.repository.redis;
+
+import com.wom.auth.entity.RefreshToken;
+import com.wom.auth.repository.jpa.RefreshTokenRepository;
+import com.wom.auth.repository.jpa.RefreshTokenWriteBehind;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.OngoingStubbing;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RedisRefreshTokenStore.
+ */
+@ExtendWith(MockitoExtension.class)
+class RedisRefreshTokenStoreTest {
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private RedisOperations<String, String> operations;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    @Mock
+    private SetOperations<String, String> setOperations;
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private RefreshTokenWriteBehind writeBehind;
+
+    private RedisRefreshTokenStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new RedisRefreshTokenStore(redisTemplate, refreshTokenRepository, writeBehind);
+    }
+
+    @SafeVarargs
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void runPipelinesAgainstMocks(List<Object>... results) {
+        lenient().when(operations.opsForHash()).thenReturn((HashOperations) hashOperations);
+        lenient().when(operations.opsForSet()).thenReturn(setOperations);
+        OngoingStubbing<List<Object>> stubbing = when(redisTemplate.executePipelined(any(SessionCallback.class)));
+        for (List<Object> result : results) {
+            stubbing = stubbing.thenAnswer(inv -> {
+                inv.<SessionCallback<Object>>getArgument(0).execute(operations);
+                return result;
+            });
+        }
+    }
+
+    @Test
+    void save_NewToken_ShouldWriteHashAndUserSetInOnePipelineAndEnqueue() {
+        // Given
+        runPipelinesAgainstMocks(List.of());
+        LocalDateTime expiresAt = LocalDateTime.now().plusDays(7);
+        RefreshToken token = RefreshToken.builder()
+                .userId(7L)
+                .tokenHash("hash-1")
+                .expiresAt(expiresAt)
+                .build();
+
+        // When
+        RefreshToken saved = store.save(token);
+
+        // Then
+        assertSame(token, saved);
+        verify(redisTemplate, times(1)).executePipelined(any(SessionCallback.class));
+        verify(hashOperations).putAll(eq("refresh:token:hash-1"), argThat(hash ->
+                "7".equals(hash.get("userId")) && expiresAt.toString().equals(hash.get("expiresAt"))
+                        && !hash.containsKey("revokedAt")));
+        verify(operations).expireAt(eq("refresh:token:hash-1"), any(Date.class));
+        verify(setOperations).add("refresh:user:{7}", "hash-1");
+        verify(operations).expireAt(eq("refresh:user:{7}"), any(Date.class));
+        verify(writeBehind).enqueue(argThat(snapshot -> "hash-1".equals(snapshot.getTokenHash())));
+    }
+
+    @Test
+    void save_RevokedToken_ShouldRemoveItFromUserSet() {
+        // Given
+        runPipelinesAgainstMocks(List.of());
+        RefreshToken token = RefreshToken.builder()
+                .userId(7L)
+                .tokenHash("hash-1")
+                .expiresAt(LocalDateTime.now().plusDays(7))
+                .revokedAt(LocalDateTime.now())
+                .build();
+
+        // When
+        store.save(token);
+
+        // Then
+        verify(hashOperations).putAll(eq("refresh:token:hash-1"), argThat(hash -> hash.containsKey("revokedAt")));
+        verify(setOperations).remove("refresh:user:{7}", "hash-1");
+        verify(setOperations, never()).add(anyString(), any());
+    }
+
+    @Test
+    void save_TokenWithFamily_ShouldIndexItInFamilySet() {
+        // Given
+        runPipelinesAgainstMocks(List.of());
+        RefreshToken token = RefreshToken.builder()
+                .userId(7L)
+                .tokenHash("hash-1")
+                .familyId("family-1")
+                .expiresAt(LocalDateTime.now().plusDays(7))
+                .build();
+
+        // When
+        store.save(token);
+
+        // Then
+        verify(hashOperations).putAll(eq("refresh:token:hash-1"), argThat(hash -> "family-1".equals(hash.get("familyId"))));
+        verify(setOperations).add("refresh:family:family-1", "hash-1");
+        verify(operations).expireAt(eq("refresh:family:family-1"), any(Date.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void revokeIfActive_WhenScriptWins_ShouldUnindexTokenAndEnqueueRevokedSnapshot() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        runPipelinesAgainstMocks(List.of());
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("refresh:token:hash-1")), eq(now.toString())))
+                .thenReturn(1L);
+        RefreshToken token = RefreshToken.builder()
+                .userId(7L)
+                .tokenHash("hash-1")
+                .familyId("family-1")
+                .expiresAt(now.plusDays(7))
+                .build();
+
+        // When
+        boolean revoked = store.revokeIfActive(token, now);
+
+        // Then
+        assertTrue(revoked);
+        assertNull(token.getRevokedAt());
+        verify(setOperations).remove("refresh:user:{7}", "hash-1");
+        verify(setOperations).remove("refresh:family:family-1", "hash-1");
+        verify(writeBehind).enqueue(argThat(snapshot -> now.equals(snapshot.getRevokedAt())));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void revokeIfActive_WhenAlreadyRevoked_ShouldChangeNothing() {
+        // Given
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any())).thenReturn(0L);
+        RefreshToken token = RefreshToken.builder()
+                .userId(7L)
+                .tokenHash("hash-1")
+                .expiresAt(LocalDateTime.now().plusDays(7))
+                .build();
+
+        // When
+        boolean revoked = store.revokeIfActive(token, LocalDateTime.now());
+
+        // Then
+        assertFalse(revoked);
+        verify(redisTemplate, never()).executePipelined(any(SessionCallback.class));
+        verifyNoInteractions(writeBehind);
+    }
+
+    @Test
+    void hasActiveToken_ShouldCountFamilySetMembers() {
+        // Given
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        when(setOperations.size("refresh:family:family-1")).thenReturn(1L);
+        when(setOperations.size("refresh:family:family-2")).thenReturn(0L);
+
+        // When & Then
+        assertTrue(store.hasActiveToken("family-1", LocalDateTime.now()));
+        assertFalse(store.hasActiveToken("family-2", LocalDateTime.now()));
+    }
+
+    @Test
+    void revokeFamily_ShouldRevokeEveryLiveTokenOfTheFamily() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        Map<Object, Object> live = new HashMap<>(session(now.minusMinutes(1), now));
+        live.put("familyId", "family-1");
+        runPipelinesAgainstMocks(
+                List.of(new LinkedHashSet<>(List.of("current", "expired"))),
+                List.of(live, Map.of()),
+                List.of());
+
+        // When
+        int revoked = store.revokeFamily("family-1", now);
+
+        // Then
+        assertEquals(1, revoked);
+        verify(hashOperations).put("refresh:token:current", "revokedAt", now.toString());
+        verify(setOperations).remove("refresh:family:family-1", "current");
+        verify(setOperations).remove("refresh:user:{7}", "current");
+        verify(setOperations).remove("refresh:family:family-1", "expired");
+        verify(writeBehind).enqueue(argThat(snapshot -> "current".equals(snapshot.getTokenHash())
+                && "family-1".equals(snapshot.getFamilyId())));
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void findByTokenHash_ShouldMapHash() {
+        // Given
+        LocalDateTime issuedAt = LocalDateTime.now().minusHours(1);
+        LocalDateTime expiresAt = issuedAt.plusDays(7);
+        when(redisTemplate.opsForHash()).thenReturn((HashOperations) hashOperations);
+        when(hashOperations.entries("refresh:token:hash-1")).thenReturn(Map.of(
+                "userId", "7",
+                "issuedAt", issuedAt.toString(),
+                "expiresAt", expiresAt.toString()));
+
+        // When
+        Optional<RefreshToken> result = store.findByTokenHash("hash-1");
+
+        // Then
+        assertTrue(result.isPresent());
+        assertEquals(7L, result.get().getUserId());
+        assertEquals(issuedAt, result.get().getIssuedAt());
+        assertEquals(expiresAt, result.get().getExpiresAt());
+        assertTrue(result.get().isValid());
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void findByTokenHash_Missing_ShouldReturnEmpty() {
+        // Given
+        when(redisTemplate.opsForHash()).thenReturn((HashOperations) hashOperations);
+        when(hashOperations.entries("refresh:token:hash-1")).thenReturn(Map.of());
+
+        // When & Then
+        assertTrue(store.findByTokenHash("hash-1").isEmpty());
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void revokeSession_ShouldResolveHashInPostgresAndRevokeInRedis() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        when(refreshTokenRepository.findActiveTokenHash(42L, 7L, now)).thenReturn(Optional.of("hash-1"));
+        when(redisTemplate.opsForHash()).thenReturn((HashOperations) hashOperations);
+        when(hashOperations.entries("refresh:token:hash-1")).thenReturn(Map.of(
+                "userId", "7",
+                "issuedAt", now.minusHours(1).toString(),
+                "expiresAt", now.plusDays(7).toString(),
+                "deviceName", "Pixel 8"));
+        runPipelinesAgainstMocks(List.of());
+
+        // When
+        boolean revoked = store.revokeSession(7L, 42L, now);
+
+        // Then
+        assertTrue(revoked);
+        verify(hashOperations).putAll(eq("refresh:token:hash-1"), argThat(hash ->
+                now.toString().equals(hash.get("revokedAt")) && "Pixel 8".equals(hash.get("deviceName"))));
+        verify(writeBehind).enqueue(argThat(snapshot -> now.equals(snapshot.getRevokedAt())));
+    }
+
+    @Test
+    void revokeSession_NotOwned_ShouldNotTouchRedis() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        when(refreshTokenRepository.findActiveTokenHash(42L, 8L, now)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertFalse(store.revokeSession(8L, 42L, now));
+        verifyNoInteractions(redisTemplate, writeBehind);
+    }
+
+    @Test
+    void revokeAllForUsers_ShouldRevokeLiveTokensAndDropExpiredMembers() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        Map<Object, Object> live = Map.of(
+                "userId", "7",
+                "issuedAt", now.minusHours(1).toString(),
+                "expiresAt", now.plusDays(7).toString());
+        Map<Object, Object> alreadyRevoked = Map.of(
+                "userId", "8",
+                "issuedAt", now.minusHours(1).toString(),
+                "expiresAt", now.plusDays(7).toString(),
+                "revokedAt", now.minusMinutes(5).toString());
+        runPipelinesAgainstMocks(
+                List.of(Set.of("live"), new LinkedHashSet<>(List.of("gone", "revoked"))),
+                List.of(live, Map.of(), alreadyRevoked),
+                List.of());
+
+        // When
+        int revoked = store.revokeAllForUsers(List.of(7L, 8L), now);
+
+        // Then
+        assertEquals(1, revoked);
+        verify(redisTemplate, times(3)).executePipelined(any(SessionCallback.class));
+        verify(hashOperations).put("refresh:token:live", "revokedAt", now.toString());
+        verify(setOperations).remove("refresh:user:{8}", "gone");
+        ArgumentCaptor<RefreshToken> snapshot = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(writeBehind).enqueue(snapshot.capture());
+        assertEquals("live", snapshot.getValue().getTokenHash());
+        assertEquals(now, snapshot.getValue().getRevokedAt());
+    }
+
+    @Test
+    void revokeSessionsBeyondLimit_UnderLimit_ShouldOnlyCountMembers() {
+        // Given
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        when(setOperations.size("refresh:user:{7}")).thenReturn(3L);
+
+        // When & Then
+        assertEquals(0, store.revokeSessionsBeyondLimit(7L, 3, LocalDateTime.now()));
+        verify(redisTemplate, never()).executePipelined(any(SessionCallback.class));
+    }
+
+    @Test
+    void revokeSessionsBeyondLimit_OverLimit_ShouldRevokeOldest() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        when(setOperations.size("refresh:user:{7}")).thenReturn(3L);
+        runPipelinesAgainstMocks(
+                List.of(new LinkedHashSet<>(List.of("newest", "oldest", "middle"))),
+                List.of(session(now.minusMinutes(1), now), session(now.minusDays(2), now), session(now.minusDays(1), now)),
+                List.of());
+
+        // When
+        int revoked = store.revokeSessionsBeyondLimit(7L, 2, now);
+
+        // Then
+        assertEquals(1, revoked);
+        verify(hashOperations).put("refresh:token:oldest", "revokedAt", now.toString());
+        verify(hashOperations, never()).put(eq("refresh:token:newest"), any(), any());
+        verify(hashOperations, never()).put(eq("refresh:token:middle"), any(), any());
+        verify(setOperations).remove("refresh:user:{7}", "oldest");
+        verify(writeBehind).enqueue(argThat(snapshot -> "oldest".equals(snapshot.getTokenHash())));
+    }
+
+    private static Map<Object, Object> session(LocalDateTime issuedAt, LocalDateTime now) {
+        return Map.of(
+                "userId", "7",
+                "issuedAt", issuedAt.toString(),
+                "expiresAt", now.plusDays(7).toString());
+    }
+
+    @Test
+    void revokeAllForUsers_WithoutSessions_ShouldStopAfterReadingSets() {
+        // Given
+        runPipelinesAgainstMocks(Collections.singletonList(null));
+
+        // When
+        int revoked = store.revokeAllForUsers(List.of(7L), LocalDateTime.now());
+
+        // Then
+        assertEquals(0, revoked);
+        verify(redisTemplate, times(1)).executePipelined(any(SessionCallback.class));
+        verifyNoInteractions(writeBehind);
+    }
+
+    @Test
+    void revokeAllForUsers_WithNoUsers_ShouldNotCallRedis() {
+        // When & Then
+        assertEquals(0, store.revokeAllForUsers(List.of(), LocalDateTime.now()));
+        verifyNoInteractions(redisTemplate);
+    }
+}
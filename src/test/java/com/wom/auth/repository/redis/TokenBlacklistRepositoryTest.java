@@ -1,13 +1,17 @@
 package com.wom.auth.repository.redis;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.ValueOperations;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -23,16 +27,23 @@ class TokenBlacklistRepositoryTest {
     @Mock
     private RedisTemplate<String, String> redisTemplate;
 
+    @Mock
+    private RedisTemplate<String, String> replicaRedisTemplate;
+
     @Mock
     private ValueOperations<String, String> valueOperations;
 
-    @InjectMocks
     private TokenBlacklistRepository tokenBlacklistRepository;
 
     private final String testTokenId = "test-token-123";
     private final String expectedKey = "blacklist:token:test-token-123";
     private final long expirationSeconds = 900L;
 
+    @BeforeEach
+    void setUp() {
+        tokenBlacklistRepository = new TokenBlacklistRepository(redisTemplate, replicaRedisTemplate);
+    }
+
     @Test
     void blacklistToken_ShouldStoreTokenInRedis() {
         // Given
@@ -76,7 +87,7 @@ class TokenBlacklistRepositoryTest {
     @Test
     void isTokenBlacklisted_WithBlacklistedToken_ShouldReturnTrue() {
         // Given
-        when(redisTemplate.hasKey(expectedKey)).thenReturn(true);
+        when(replicaRedisTemplate.hasKey(expectedKey)).thenReturn(true);
 
         // When
         boolean result = tokenBlacklistRepository.isTokenBlacklisted(testTokenId);
@@ -89,7 +100,7 @@ class TokenBlacklistRepositoryTest {
     @Test
     void isTokenBlacklisted_WithNonBlacklistedToken_ShouldReturnFalse() {
         // Given
-        when(redisTemplate.hasKey(expectedKey)).thenReturn(false);
+        when(replicaRedisTemplate.hasKey(expectedKey)).thenReturn(false);
 
         // When
         boolean result = tokenBlacklistRepository.isTokenBlacklisted(testTokenId);
@@ -102,7 +113,7 @@ class TokenBlacklistRepositoryTest {
     @Test
     void isTokenBlacklisted_WithNullResponse_ShouldReturnFalse() {
         // Given
-        when(redisTemplate.hasKey(expectedKey)).thenReturn(null);
+        when(replicaRedisTemplate.hasKey(expectedKey)).thenReturn(null);
 
         // When
         boolean result = tokenBlacklistRepository.isTokenBlacklisted(testTokenId);
@@ -151,7 +162,7 @@ class TokenBlacklistRepositoryTest {
         // Given
         String emptyTokenId = "";
         String expectedEmptyKey = "blacklist:token:";
-        when(redisTemplate.hasKey(expectedEmptyKey)).thenReturn(false);
+        when(replicaRedisTemplate.hasKey(expectedEmptyKey)).thenReturn(false);
 
         // When
         boolean result = tokenBlacklistRepository.isTokenBlacklisted(emptyTokenId);
@@ -175,4 +186,93 @@ class TokenBlacklistRepositoryTest {
         verify(redisTemplate, times(1)).delete("blacklist:token:token1");
         verify(redisTemplate, times(1)).delete("blacklist:token:token2");
     }
+
+    @Test
+    void findBlacklisted_ShouldUseSingleMultiGetAndReturnBlacklistedTokens() {
+        // Given
+        when(replicaRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(List.of("blacklist:token:a", "blacklist:token:b", "blacklist:token:c")))
+                .thenReturn(Arrays.asList(null, "blacklisted", null));
+
+        // When
+        Set<String> result = tokenBlacklistRepository.findBlacklisted(List.of("a", "b", "c"));
+
+        // Then
+        assertEquals(Set.of("b"), result);
+        verify(valueOperations, times(1)).multiGet(anyCollection());
+    }
+
+    @Test
+    void findBlacklisted_EmptyInput_ShouldNotCallRedis() {
+        // When
+        Set<String> result = tokenBlacklistRepository.findBlacklisted(List.of());
+
+        // Then
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(redisTemplate, replicaRedisTemplate);
+    }
+
+    @Test
+    void findBlacklisted_NullReply_ShouldReturnEmptySet() {
+        // Given
+        when(replicaRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(anyCollection())).thenReturn(null);
+
+        // When
+        Set<String> result = tokenBlacklistRepository.findBlacklisted(List.of("a"));
+
+        // Then
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void findRevocationStatus_ShouldReadBlacklistAndWatermarkInOnePrimaryPipeline() {
+        // Given
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenAnswer(inv -> {
+            inv.<SessionCallback<Object>>getArgument(0).execute(redisTemplate);
+            return Arrays.asList(true, "1700000000123");
+        });
+
+        // When
+        TokenBlacklistRepository.RevocationStatus status =
+                tokenBlacklistRepository.findRevocationStatus(testTokenId, 42L);
+
+        // Then
+        assertTrue(status.isBlacklisted());
+        assertEquals(1_700_000_000_123L, status.getUserRevokedAt());
+        verify(redisTemplate, times(1)).executePipelined(any(SessionCallback.class));
+        verify(redisTemplate).hasKey(expectedKey);
+        verify(valueOperations).get("revoked:user:{42}");
+        verifyNoInteractions(replicaRedisTemplate);
+    }
+
+    @Test
+    void findRevocationStatus_NoEntries_ShouldReturnNotRevoked() {
+        // Given
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenReturn(Arrays.asList(false, null));
+
+        // When
+        TokenBlacklistRepository.RevocationStatus status =
+                tokenBlacklistRepository.findRevocationStatus(testTokenId, 42L);
+
+        // Then
+        assertFalse(status.isBlacklisted());
+        assertNull(status.getUserRevokedAt());
+    }
+
+    @Test
+    void findRevocationStatus_WithoutUserId_ShouldOnlyCheckBlacklist() {
+        // Given
+        when(replicaRedisTemplate.hasKey(expectedKey)).thenReturn(true);
+
+        // When
+        TokenBlacklistRepository.RevocationStatus status =
+                tokenBlacklistRepository.findRevocationStatus(testTokenId, null);
+
+        // Then
+        assertTrue(status.isBlacklisted());
+        assertNull(status.getUserRevokedAt());
+        verifyNoInteractions(redisTemplate);
+    }
 }
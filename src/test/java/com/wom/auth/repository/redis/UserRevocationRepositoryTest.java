@@ -0,0 +1,120 @@
+package com.wom.auth.repository.redis;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for UserRevocationRepository.
+ */
+@ExtendWith(MockitoExtension.class)
+class UserRevocationRepositoryTest {
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private RedisConnection connection;
+
+    @Mock
+    private RedisStringCommands stringCommands;
+
+    @InjectMocks
+    private UserRevocationRepository userRevocationRepository;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void markRevoked_ShouldSetAllWatermarksInOnePipeline() {
+        // Given
+        when(connection.stringCommands()).thenReturn(stringCommands);
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(inv -> {
+            inv.<RedisCallback<Object>>getArgument(0).doInRedis(connection);
+            return List.of();
+        });
+
+        // When
+        userRevocationRepository.markRevoked(List.of(1L, 2L), 1_700_000_000_000L, 960L);
+
+        // Then
+        verify(redisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+        byte[] value = "1700000000000".getBytes(StandardCharsets.UTF_8);
+        verify(stringCommands).set("revoked:user:{1}".getBytes(StandardCharsets.UTF_8), value,
+                Expiration.seconds(960), RedisStringCommands.SetOption.upsert());
+        verify(stringCommands).set("revoked:user:{2}".getBytes(StandardCharsets.UTF_8), value,
+                Expiration.seconds(960), RedisStringCommands.SetOption.upsert());
+    }
+
+    @Test
+    void markRevoked_WithNoUsers_ShouldNotCallRedis() {
+        // When
+        userRevocationRepository.markRevoked(List.of(), 1_700_000_000_000L, 960L);
+
+        // Then
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void findRevokedAt_ShouldParseWatermark() {
+        // Given
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("revoked:user:{7}")).thenReturn("1700000000000");
+
+        // When & Then
+        assertEquals(1_700_000_000_000L, userRevocationRepository.findRevokedAt(7L));
+    }
+
+    @Test
+    void findRevokedAt_WithoutWatermark_ShouldReturnNull() {
+        // Given
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("revoked:user:{7}")).thenReturn(null);
+
+        // When & Then
+        assertNull(userRevocationRepository.findRevokedAt(7L));
+    }
+
+    @Test
+    void findRevokedAt_ForManyUsers_ShouldUseSingleMultiGet() {
+        // Given
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(List.of("revoked:user:{1}", "revoked:user:{2}")))
+                .thenReturn(Arrays.asList("1700000000000", null));
+
+        // When
+        Map<Long, Long> result = userRevocationRepository.findRevokedAt(List.of(1L, 2L));
+
+        // Then
+        assertEquals(Map.of(1L, 1_700_000_000_000L), result);
+        verify(valueOperations, times(1)).multiGet(any());
+    }
+
+    @Test
+    void findRevokedAt_ForNoUsers_ShouldNotCallRedis() {
+        // When
+        Map<Long, Long> result = userRevocationRepository.findRevokedAt(List.of());
+
+        // Then
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(redisTemplate);
+    }
+}
@@ -2,6 +2,7 @@ package com.wom.auth.service;
 
 import com.wom.auth.entity.AuditLog;
 import com.wom.auth.repository.AuditLogRepository;
+import com.wom.auth.web.ClientAddressResolver;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,6 +14,8 @@ import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockHttpServletRequest;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
@@ -26,6 +29,10 @@ class AuditServiceTest {
     @Mock
     private AuditLogRepository auditLogRepository;
 
+    @Spy
+    private ClientAddressResolver clientAddressResolver =
+            new ClientAddressResolver(List.of("127.0.0.0/8", "10.0.0.0/8", "172.16.0.0/12", "192.168.0.0/16"));
+
     @Spy
     @InjectMocks
     private AuditService auditService;
@@ -358,7 +365,7 @@ class AuditServiceTest {
     // ========== IP Extraction Tests ==========
 
     @Test
-    @DisplayName("Should extract IP from X-Forwarded-For header")
+    @DisplayName("Should extract rightmost untrusted IP from X-Forwarded-For header")
     void shouldExtractIpFromXForwardedForHeader() {
         // Given
         request.addHeader("X-Forwarded-For", "203.0.113.195, 70.41.3.18, 150.172.238.178");
@@ -366,10 +373,45 @@ class AuditServiceTest {
         // When
         auditService.logLoginAttempt(1L, "test@example.com", true, null, request);
 
+        // Then - entries left of the first untrusted hop were written by the client and are ignored
+        verify(auditService).logLoginAttemptAsync(
+                any(), any(), anyBoolean(), any(),
+                eq("150.172.238.178"),
+                any()
+        );
+    }
+
+    @Test
+    @DisplayName("Should skip trusted proxies in X-Forwarded-For header")
+    void shouldSkipTrustedProxiesInXForwardedForHeader() {
+        // Given
+        request.addHeader("X-Forwarded-For", "203.0.113.195, 10.0.0.5");
+
+        // When
+        auditService.logLoginAttempt(1L, "test@example.com", true, null, request);
+
+        // Then
+        verify(auditService).logLoginAttemptAsync(
+                any(), any(), anyBoolean(), any(),
+                eq("203.0.113.195"),
+                any()
+        );
+    }
+
+    @Test
+    @DisplayName("Should ignore forwarding headers from untrusted peers")
+    void shouldIgnoreForwardingHeadersFromUntrustedPeer() {
+        // Given
+        request.setRemoteAddr("198.51.100.7");
+        request.addHeader("X-Forwarded-For", "203.0.113.195");
+
+        // When
+        auditService.logLoginAttempt(1L, "test@example.com", true, null, request);
+
         // Then
         verify(auditService).logLoginAttemptAsync(
                 any(), any(), anyBoolean(), any(),
-                eq("203.0.113.195"),  // First IP from X-Forwarded-For
+                eq("198.51.100.7"),
                 any()
         );
     }
@@ -6,6 +6,8 @@ import com.wom.auth.entity.User;
 import com.wom.auth.exception.AccountLockedException;
 import com.wom.auth.exception.InvalidCredentialsException;
 import com.wom.auth.metrics.MetricsService;
+import com.wom.auth.web.ClientAddress;
+import com.wom.auth.web.ClientAddressResolver;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.impl.DefaultClaims;
 import org.junit.jupiter.api.BeforeEach;
@@ -46,6 +48,9 @@ class AuthServiceTest {
     @Mock
     private AuditService auditService;
 
+    @Mock
+    private ClientAddressResolver clientAddressResolver;
+
     @InjectMocks
     private AuthService authService;
 
@@ -62,6 +67,7 @@ class AuthServiceTest {
     @BeforeEach
     void setUp() {
         ReflectionTestUtils.setField(authService, "accessTokenExpiration", 900000L);
+        lenient().when(clientAddressResolver.resolve(any())).thenReturn(ClientAddress.unknown());
         
         // Create mock HTTP request
         mockRequest = new MockHttpServletRequest();
@@ -81,6 +87,7 @@ class AuthServiceTest {
                 .id(1L)
                 .userId(testUserId)
                 .tokenHash("hashedToken")
+                .familyId("family-1")
                 .expiresAt(LocalDateTime.now().plusDays(7))
                 .build();
         
@@ -103,9 +110,11 @@ class AuthServiceTest {
         when(userService.isAccountLocked(testUser)).thenReturn(false);
         when(userService.isAccountActive(testUser)).thenReturn(true);
         when(userService.validatePassword(testPassword, testUser.getPasswordHash())).thenReturn(true);
-        when(jwtService.generateAccessToken(anyLong(), anyString(), anyString())).thenReturn(testAccessToken);
-        when(jwtService.generateRefreshToken(anyLong(), anyString())).thenReturn(testRefreshTokenJwt);
-        when(tokenService.createRefreshToken(anyLong(), anyString())).thenReturn(testRefreshToken);
+        when(jwtService.generateAccessToken(anyLong(), anyString(), anyString(), any())).thenReturn(testAccessToken);
+        when(tokenService.newSessionId()).thenReturn("family-1");
+        when(jwtService.generateRefreshToken(anyLong(), anyString(), any())).thenReturn(testRefreshTokenJwt);
+        when(tokenService.createRefreshToken(anyLong(), anyString(), any(SessionMetadata.class), anyString()))
+                .thenReturn(testRefreshToken);
 
         // Act
         LoginResponse response = authService.authenticate(testEmail, testPassword, mockRequest);
@@ -120,6 +129,45 @@ class AuthServiceTest {
         verify(userService, times(1)).updateLastLogin(testUser);
     }
 
+    @Test
+    void authenticate_ShouldRecordSessionMetadata() {
+        // Arrange
+        ((MockHttpServletRequest) mockRequest).addHeader("X-Device-Name", "Pixel 8");
+        when(userService.findByEmailOrUsername(testEmail)).thenReturn(Optional.of(testUser));
+        when(userService.isAccountLocked(testUser)).thenReturn(false);
+        when(userService.isAccountActive(testUser)).thenReturn(true);
+        when(userService.validatePassword(testPassword, testUser.getPasswordHash())).thenReturn(true);
+        when(jwtService.generateAccessToken(anyLong(), anyString(), anyString(), any())).thenReturn(testAccessToken);
+        when(jwtService.generateRefreshToken(anyLong(), anyString(), any())).thenReturn(testRefreshTokenJwt);
+        when(tokenService.newSessionId()).thenReturn("family-1");
+
+        // Act
+        authService.authenticate(testEmail, testPassword, mockRequest);
+
+        // Assert
+        verify(tokenService).createRefreshToken(testUserId, testRefreshTokenJwt,
+                new SessionMetadata("Pixel 8", "Test User Agent", null), "family-1");
+    }
+
+    @Test
+    void authenticate_ShouldTagBothTokensWithTheSameSessionId() {
+        // Arrange
+        when(userService.findByEmailOrUsername(testEmail)).thenReturn(Optional.of(testUser));
+        when(userService.isAccountLocked(testUser)).thenReturn(false);
+        when(userService.isAccountActive(testUser)).thenReturn(true);
+        when(userService.validatePassword(testPassword, testUser.getPasswordHash())).thenReturn(true);
+        when(tokenService.newSessionId()).thenReturn("family-1");
+        when(jwtService.generateAccessToken(testUserId, testUsername, testEmail, "family-1")).thenReturn(testAccessToken);
+        when(jwtService.generateRefreshToken(testUserId, testUsername, "family-1")).thenReturn(testRefreshTokenJwt);
+
+        // Act
+        authService.authenticate(testEmail, testPassword, mockRequest);
+
+        // Assert
+        verify(tokenService).createRefreshToken(eq(testUserId), eq(testRefreshTokenJwt), any(SessionMetadata.class),
+                eq("family-1"));
+    }
+
     @Test
     void authenticate_WithNonExistingUser_ShouldThrowException() {
         // Arrange
@@ -177,13 +225,14 @@ class AuthServiceTest {
     void refreshAccessToken_WithValidToken_ShouldReturnNewTokens() {
         // Arrange
         Claims mockClaims = new DefaultClaims();
-        when(tokenService.validateRefreshToken(testRefreshTokenJwt)).thenReturn(Optional.of(testRefreshToken));
+        when(tokenService.checkForRotation(testRefreshTokenJwt)).thenReturn(RotationCheck.valid(testRefreshToken));
         when(jwtService.validateToken(testRefreshTokenJwt)).thenReturn(mockClaims);
         when(jwtService.getUserIdFromToken(testRefreshTokenJwt)).thenReturn(testUserId);
         when(userService.findById(testUserId)).thenReturn(Optional.of(testUser));
-        when(jwtService.generateAccessToken(anyLong(), anyString(), anyString())).thenReturn(testAccessToken);
-        when(jwtService.generateRefreshToken(anyLong(), anyString())).thenReturn("new.refresh.token");
-        when(tokenService.createRefreshToken(anyLong(), anyString())).thenReturn(testRefreshToken);
+        when(jwtService.generateAccessToken(testUserId, testUsername, testEmail, "family-1")).thenReturn(testAccessToken);
+        when(jwtService.generateRefreshToken(testUserId, testUsername, "family-1")).thenReturn("new.refresh.token");
+        when(tokenService.completeRotation(eq(testRefreshToken), eq("new.refresh.token"), any(SessionMetadata.class)))
+                .thenReturn(Optional.of(testRefreshToken));
 
         // Act
         LoginResponse response = authService.refreshAccessToken(testRefreshTokenJwt, mockRequest);
@@ -192,26 +241,61 @@ class AuthServiceTest {
         assertNotNull(response);
         assertEquals(testAccessToken, response.getAccessToken());
         assertEquals("new.refresh.token", response.getRefreshToken());
-        verify(tokenService, times(1)).revokeRefreshToken(testRefreshTokenJwt);
-        verify(tokenService, times(1)).createRefreshToken(anyLong(), anyString());
+        verify(tokenService, times(1)).completeRotation(eq(testRefreshToken), eq("new.refresh.token"),
+                any(SessionMetadata.class));
+        verify(tokenService, never()).createRefreshToken(anyLong(), anyString(), any(SessionMetadata.class));
+    }
+
+    @Test
+    void refreshAccessToken_WithReusedToken_ShouldAuditReuseAndThrowException() {
+        // Arrange
+        testRefreshToken.revoke();
+        when(tokenService.checkForRotation(testRefreshTokenJwt)).thenReturn(RotationCheck.reused(testRefreshToken));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> authService.refreshAccessToken(testRefreshTokenJwt, mockRequest));
+        verify(auditService).logRefreshToken(testUserId, false,
+                "Refresh token reuse detected, token family revoked", mockRequest);
+        verify(tokenService, never()).completeRotation(any(), anyString(), any(SessionMetadata.class));
+        verify(jwtService, never()).generateAccessToken(anyLong(), anyString(), anyString(), any());
+    }
+
+    @Test
+    void refreshAccessToken_WhenConcurrentRequestRevokedToken_ShouldThrowException() {
+        // Arrange
+        Claims mockClaims = new DefaultClaims();
+        when(tokenService.checkForRotation(testRefreshTokenJwt)).thenReturn(RotationCheck.valid(testRefreshToken));
+        when(jwtService.validateToken(testRefreshTokenJwt)).thenReturn(mockClaims);
+        when(jwtService.getUserIdFromToken(testRefreshTokenJwt)).thenReturn(testUserId);
+        when(userService.findById(testUserId)).thenReturn(Optional.of(testUser));
+        when(jwtService.generateRefreshToken(testUserId, testUsername, "family-1")).thenReturn("new.refresh.token");
+        when(tokenService.completeRotation(eq(testRefreshToken), eq("new.refresh.token"), any(SessionMetadata.class)))
+                .thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> authService.refreshAccessToken(testRefreshTokenJwt, mockRequest));
+        verify(auditService).logRefreshToken(testUserId, false,
+                "Refresh token revoked by a concurrent request", mockRequest);
     }
 
     @Test
     void refreshAccessToken_WithInvalidToken_ShouldThrowException() {
         // Arrange
-        when(tokenService.validateRefreshToken(testRefreshTokenJwt)).thenReturn(Optional.empty());
+        when(tokenService.checkForRotation(testRefreshTokenJwt)).thenReturn(RotationCheck.invalid());
 
         // Act & Assert
         assertThrows(IllegalArgumentException.class, 
                 () -> authService.refreshAccessToken(testRefreshTokenJwt, mockRequest));
-        verify(jwtService, never()).generateAccessToken(anyLong(), anyString(), anyString());
+        verify(jwtService, never()).generateAccessToken(anyLong(), anyString(), anyString(), any());
     }
 
     @Test
     void refreshAccessToken_WithNonExistingUser_ShouldThrowException() {
         // Arrange
         Claims mockClaims = new DefaultClaims();
-        when(tokenService.validateRefreshToken(testRefreshTokenJwt)).thenReturn(Optional.of(testRefreshToken));
+        when(tokenService.checkForRotation(testRefreshTokenJwt)).thenReturn(RotationCheck.valid(testRefreshToken));
         when(jwtService.validateToken(testRefreshTokenJwt)).thenReturn(mockClaims);
         when(jwtService.getUserIdFromToken(testRefreshTokenJwt)).thenReturn(testUserId);
         when(userService.findById(testUserId)).thenReturn(Optional.empty());
@@ -219,39 +303,55 @@ class AuthServiceTest {
         // Act & Assert
         assertThrows(IllegalArgumentException.class, 
                 () -> authService.refreshAccessToken(testRefreshTokenJwt, mockRequest));
-        verify(jwtService, never()).generateAccessToken(anyLong(), anyString(), anyString());
+        verify(jwtService, never()).generateAccessToken(anyLong(), anyString(), anyString(), any());
     }
 
     @Test
-    void logout_WithValidToken_ShouldBlacklistTokenAndRevokeRefresh() {
+    void logout_WithValidToken_ShouldBlacklistTokenAndRevokeSession() {
         // Arrange
         when(jwtService.isTokenExpired(testAccessToken)).thenReturn(false);
         when(jwtService.getUserIdFromToken(testAccessToken)).thenReturn(testUserId);
-        when(jwtService.getUsernameFromToken(testAccessToken)).thenReturn(testUsername);
-        when(jwtService.generateRefreshToken(anyLong(), anyString())).thenReturn(testRefreshTokenJwt);
+        when(jwtService.getSessionIdFromToken(testAccessToken)).thenReturn("family-1");
 
         // Act
         authService.logout(testAccessToken, mockRequest);
 
         // Assert
         verify(tokenService, times(1)).blacklistAccessToken(eq(testAccessToken), anyLong());
-        verify(tokenService, times(1)).revokeRefreshToken(testRefreshTokenJwt);
+        verify(tokenService, times(1)).revokeSessionTokens("family-1");
+        verify(jwtService, never()).generateRefreshToken(anyLong(), anyString(), any());
+        verify(jwtService, never()).generateRefreshToken(anyLong(), anyString());
     }
 
     @Test
-    void logout_WithExpiredToken_ShouldNotBlacklistButRevokeRefresh() {
+    void logout_WithExpiredToken_ShouldNotBlacklistButRevokeSession() {
         // Arrange
         when(jwtService.isTokenExpired(testAccessToken)).thenReturn(true);
         when(jwtService.getUserIdFromToken(testAccessToken)).thenReturn(testUserId);
-        when(jwtService.getUsernameFromToken(testAccessToken)).thenReturn(testUsername);
-        when(jwtService.generateRefreshToken(anyLong(), anyString())).thenReturn(testRefreshTokenJwt);
+        when(jwtService.getSessionIdFromToken(testAccessToken)).thenReturn("family-1");
 
         // Act
         authService.logout(testAccessToken, mockRequest);
 
         // Assert
         verify(tokenService, never()).blacklistAccessToken(anyString(), anyLong());
-        verify(tokenService, times(1)).revokeRefreshToken(testRefreshTokenJwt);
+        verify(tokenService, times(1)).revokeSessionTokens("family-1");
+    }
+
+    @Test
+    void logout_WithTokenWithoutSessionId_ShouldOnlyBlacklist() {
+        // Arrange
+        when(jwtService.isTokenExpired(testAccessToken)).thenReturn(false);
+        when(jwtService.getUserIdFromToken(testAccessToken)).thenReturn(testUserId);
+        when(jwtService.getSessionIdFromToken(testAccessToken)).thenReturn(null);
+
+        // Act
+        authService.logout(testAccessToken, mockRequest);
+
+        // Assert
+        verify(tokenService, times(1)).blacklistAccessToken(eq(testAccessToken), anyLong());
+        verify(tokenService, never()).revokeSessionTokens(any());
+        verify(auditService).logLogout(testUserId, false, mockRequest);
     }
 
     @Test
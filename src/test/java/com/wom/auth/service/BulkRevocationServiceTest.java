@@ -0,0 +1,135 @@
+package com.wom.auth.service;
+
+import com.wom.auth.dto.BulkRevocationRequest;
+import com.wom.auth.dto.BulkRevocationStatus;
+import com.wom.auth.repository.jpa.JpaRefreshTokenStore;
+import com.wom.auth.repository.jpa.RefreshTokenRepository;
+import com.wom.auth.repository.jpa.UserRepository;
+import com.wom.auth.repository.redis.UserRevocationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link BulkRevocationService}.
+ */
+@ExtendWith(MockitoExtension.class)
+class BulkRevocationServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private UserRevocationRepository userRevocationRepository;
+
+    private BulkRevocationService service;
+
+    @BeforeEach
+    void setUp() {
+        // Runs jobs on the calling thread
+        service = new BulkRevocationService(userRepository, new JpaRefreshTokenStore(refreshTokenRepository),
+                userRevocationRepository, 2, 900_000L, Runnable::run);
+    }
+
+    @Test
+    void start_WithUserIds_ShouldRevokeInChunks() {
+        // Given
+        when(refreshTokenRepository.revokeAllTokensForUsers(anyCollection(), any(LocalDateTime.class)))
+                .thenReturn(3, 1);
+        BulkRevocationRequest request = BulkRevocationRequest.builder().userIds(List.of(1L, 2L, 3L, 2L)).build();
+
+        // When
+        BulkRevocationStatus started = service.start(request, "admin");
+
+        // Then
+        BulkRevocationStatus status = service.getStatus(started.getId()).orElseThrow();
+        assertEquals(BulkRevocationStatus.State.COMPLETED, status.getState());
+        assertEquals(3, status.getUsersProcessed());
+        assertEquals(4, status.getTokensRevoked());
+        assertNotNull(status.getFinishedAt());
+        verify(refreshTokenRepository).revokeAllTokensForUsers(eq(List.of(1L, 2L)), any(LocalDateTime.class));
+        verify(refreshTokenRepository).revokeAllTokensForUsers(eq(List.of(3L)), any(LocalDateTime.class));
+        verify(userRevocationRepository).markRevoked(eq(List.of(1L, 2L)), anyLong(), eq(960L));
+        verify(userRevocationRepository).markRevoked(eq(List.of(3L)), anyLong(), eq(960L));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void start_WithLastLoginFilter_ShouldWalkUsersByKeyset() {
+        // Given
+        LocalDateTime since = LocalDateTime.of(2025, 10, 1, 0, 0);
+        PageRequest page = PageRequest.of(0, 2);
+        when(userRepository.findIdsLoggedInSince(since, 0L, page)).thenReturn(List.of(4L, 9L));
+        when(userRepository.findIdsLoggedInSince(since, 9L, page)).thenReturn(List.of(12L));
+        when(userRepository.findIdsLoggedInSince(since, 12L, page)).thenReturn(List.of());
+        when(refreshTokenRepository.revokeAllTokensForUsers(anyCollection(), any(LocalDateTime.class))).thenReturn(1);
+
+        // When
+        BulkRevocationStatus started = service.start(
+                BulkRevocationRequest.builder().lastLoginSince(since).build(), "admin");
+
+        // Then
+        BulkRevocationStatus status = service.getStatus(started.getId()).orElseThrow();
+        assertEquals(BulkRevocationStatus.State.COMPLETED, status.getState());
+        assertEquals(3, status.getUsersProcessed());
+        verify(userRevocationRepository).markRevoked(eq(List.of(4L, 9L)), anyLong(), anyLong());
+        verify(userRevocationRepository).markRevoked(eq(List.of(12L)), anyLong(), anyLong());
+    }
+
+    @Test
+    void start_WithAllUsers_ShouldWalkWholeTable() {
+        // Given
+        PageRequest page = PageRequest.of(0, 2);
+        when(userRepository.findIdsAfter(0L, page)).thenReturn(List.of(1L));
+        when(userRepository.findIdsAfter(1L, page)).thenReturn(List.of());
+
+        // When
+        BulkRevocationStatus started = service.start(BulkRevocationRequest.builder().allUsers(true).build(), "admin");
+
+        // Then
+        assertEquals(1, service.getStatus(started.getId()).orElseThrow().getUsersProcessed());
+    }
+
+    @Test
+    void start_WhenChunkFails_ShouldReportFailureAndProgress() {
+        // Given
+        when(refreshTokenRepository.revokeAllTokensForUsers(anyCollection(), any(LocalDateTime.class)))
+                .thenReturn(2)
+                .thenThrow(new IllegalStateException("database unavailable"));
+
+        // When
+        BulkRevocationStatus started = service.start(
+                BulkRevocationRequest.builder().userIds(List.of(1L, 2L, 3L)).build(), "admin");
+
+        // Then
+        BulkRevocationStatus status = service.getStatus(started.getId()).orElseThrow();
+        assertEquals(BulkRevocationStatus.State.FAILED, status.getState());
+        assertEquals(2, status.getUsersProcessed());
+        assertEquals("database unavailable", status.getError());
+    }
+
+    @Test
+    void getStatus_UnknownJob_ShouldReturnEmpty() {
+        assertTrue(service.getStatus("missing").isEmpty());
+    }
+
+    @Test
+    void selectorValidation_ShouldRequireExactlyOneSelector() {
+        assertFalse(new BulkRevocationRequest().isSelectorValid());
+        assertTrue(BulkRevocationRequest.builder().allUsers(true).build().isSelectorValid());
+        assertFalse(BulkRevocationRequest.builder().allUsers(true).userIds(List.of(1L)).build().isSelectorValid());
+    }
+}
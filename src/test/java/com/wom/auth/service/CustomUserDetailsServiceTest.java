@@ -10,9 +10,11 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -206,4 +208,18 @@ class CustomUserDetailsServiceTest {
         // Assert
         assertTrue(userDetails.isCredentialsNonExpired());
     }
+
+    @Test
+    void loadUserByUsername_WithConfiguredAdmin_ShouldGrantAdminRole() {
+        // Arrange
+        ReflectionTestUtils.setField(userDetailsService, "adminUsernames", Set.of("testuser"));
+        when(userRepository.findByEmailOrUsername("testuser")).thenReturn(Optional.of(testUser));
+
+        // Act
+        UserDetails userDetails = userDetailsService.loadUserByUsername("testuser");
+
+        // Assert
+        assertEquals(1, userDetails.getAuthorities().size());
+        assertEquals("ROLE_ADMIN", userDetails.getAuthorities().iterator().next().getAuthority());
+    }
 }
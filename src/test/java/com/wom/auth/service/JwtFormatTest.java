@@ -0,0 +1,47 @@
+package com.wom.auth.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link JwtFormat}.
+ */
+class JwtFormatTest {
+
+    @Test
+    void isWellFormed_WithCompactJws_ShouldReturnTrue() {
+        assertTrue(JwtFormat.isWellFormed("eyJhbGciOiJSUzI1NiJ9.eyJzdWIiOiJhZG1pbiJ9.c2ln-_0", 0));
+    }
+
+    @Test
+    void isWellFormed_WithOffset_ShouldCheckOnlyTheToken() {
+        assertTrue(JwtFormat.isWellFormed("Bearer eyJhbGciOiJSUzI1NiJ9.eyJzdWIiOiJhZG1pbiJ9.c2ln", 7));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "",
+            "garbage",
+            "eyJhbGciOiJSUzI1NiJ9.eyJzdWIiOiJhZG1pbiJ9",          // two segments
+            "eyJhbGciOiJSUzI1NiJ9.eyJzdWIiOiJhZG1pbiJ9.",         // unsigned
+            "eyJhbGciOiJSUzI1NiJ9..c2ln",                          // empty payload
+            "eyJhbGciOiJSUzI1NiJ9.eyJzdWIiOiJhZG1pbiJ9.c2ln.x",   // four segments
+            "eyJhbGciOiJSUzI1NiJ9.eyJzdWIiOiJhZG1pbiJ9.c2ln=",    // padding
+            "eyJhbGciOiJSUzI1NiJ9.eyJzdWIi+OiJhZG1pbiJ9.c2ln",    // standard Base64 alphabet
+            "eyJhbGciOiJSUzI1NiJ9.eyJzdWIiOiJhZG1pbiJ9.c2 ln",    // whitespace
+            "YWxnOm5vbmU.eyJzdWIiOiJhZG1pbiJ9.c2ln"                 // header is not a JSON object
+    })
+    void isWellFormed_WithMalformedToken_ShouldReturnFalse(String token) {
+        assertFalse(JwtFormat.isWellFormed(token, 0));
+    }
+
+    @Test
+    void isWellFormed_WithOversizedToken_ShouldReturnFalse() {
+        String token = "eyJhbGciOiJSUzI1NiJ9." + "a".repeat(JwtFormat.MAX_LENGTH) + ".c2ln";
+
+        assertFalse(JwtFormat.isWellFormed(token, 0));
+    }
+}
@@ -0,0 +1,75 @@
+package com.wom.auth.service;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPair;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link JwtKeyRing}.
+ */
+class JwtKeyRingTest {
+
+    private final JwtKey first = key();
+    private final JwtKey second = key();
+    private final JwtKey third = key();
+
+    @Test
+    void of_ShouldExposeActiveKeyByKid() {
+        JwtKeyRing ring = JwtKeyRing.of(first);
+
+        assertSame(first, ring.getActive());
+        assertSame(first, ring.findVerificationKey(first.getKid()));
+        assertNull(ring.findVerificationKey(second.getKid()));
+        assertNull(ring.findVerificationKey(null));
+    }
+
+    @Test
+    void rotate_ShouldKeepPreviousKeysUntilTheirOverlapEnds() {
+        Instant now = Instant.now();
+
+        JwtKeyRing ring = JwtKeyRing.of(first)
+                .rotate(second, now.plusSeconds(60))
+                .rotate(third, now.plusSeconds(120));
+
+        assertSame(third, ring.getActive());
+        assertEquals(3, ring.getVerificationKeys().size());
+
+        JwtKeyRing pruned = ring.prune(now.plusSeconds(90));
+        assertNull(pruned.findVerificationKey(first.getKid()));
+        assertSame(second, pruned.findVerificationKey(second.getKid()));
+        assertSame(third, pruned.getActive());
+    }
+
+    @Test
+    void rotate_BackToRetiringKey_ShouldMakeItActiveAgain() {
+        Instant until = Instant.now().plusSeconds(60);
+
+        JwtKeyRing ring = JwtKeyRing.of(first).rotate(second, until).rotate(first, until);
+
+        assertSame(first, ring.getActive());
+        assertEquals(2, ring.getVerificationKeys().size());
+        assertSame(ring, ring.prune(Instant.now()));
+    }
+
+    @Test
+    void kid_ShouldBeStableForSamePublicKey() {
+        assertEquals(first.getKid(), JwtKey.kidOf(first.getPublicKey()));
+        assertNotEquals(first.getKid(), second.getKid());
+        assertEquals(22, first.getKid().length());
+    }
+
+    @Test
+    void toString_ShouldNotExposePrivateKey() {
+        assertFalse(first.toString().contains("privateKey"));
+    }
+
+    private static JwtKey key() {
+        KeyPair pair = Keys.keyPairFor(SignatureAlgorithm.ES256);
+        return JwtKey.of(SignatureAlgorithm.ES256, pair.getPrivate(), pair.getPublic());
+    }
+}
@@ -1,5 +1,6 @@
 package com.wom.auth.service;
 
+import com.wom.auth.exception.InvalidJwtException;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
@@ -9,9 +10,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.NullAndEmptySource;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.nio.charset.StandardCharsets;
 import java.security.KeyPair;
+import java.util.Base64;
 import java.util.Date;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -32,8 +36,7 @@ class JwtServiceTest {
         jwtService = new JwtService();
         ReflectionTestUtils.setField(jwtService, "accessTokenExpiration", 900000L); // 15 min
         ReflectionTestUtils.setField(jwtService, "refreshTokenExpiration", 604800000L); // 7 days
-        ReflectionTestUtils.setField(jwtService, "privateKey", keyPair.getPrivate());
-        ReflectionTestUtils.setField(jwtService, "publicKey", keyPair.getPublic());
+        jwtService.activate(keyPair.getPrivate(), keyPair.getPublic());
     }
 
     @Test
@@ -286,6 +289,26 @@ class JwtServiceTest {
         assertTrue(claims.getExpiration().after(new Date()));
     }
 
+    @Test
+    void getSessionIdFromToken_ShouldReturnSidSharedByAccessAndRefreshTokens() {
+        // Given
+        String accessToken = jwtService.generateAccessToken(1L, "testuser", "test@example.com", "family-1");
+        String refreshToken = jwtService.generateRefreshToken(1L, "testuser", "family-1");
+
+        // When & Then
+        assertEquals("family-1", jwtService.getSessionIdFromToken(accessToken));
+        assertEquals("family-1", jwtService.getSessionIdFromToken(refreshToken));
+    }
+
+    @Test
+    void getSessionIdFromToken_WithoutSid_ShouldReturnNull() {
+        // Given
+        String token = jwtService.generateAccessToken(1L, "testuser", "test@example.com");
+
+        // When & Then
+        assertNull(jwtService.getSessionIdFromToken(token));
+    }
+
     @Test
     void refreshToken_ShouldHaveLongerExpirationThanAccessToken() throws InterruptedException {
         // Given
@@ -317,4 +340,302 @@ class JwtServiceTest {
         // When & Then
         assertThrows(Exception.class, () -> jwtService.validateToken(token));
     }
+
+    @Test
+    void es256_ShouldSignAndValidateTokensShorterThanRs256() {
+        // Given
+        String rsaToken = jwtService.generateAccessToken(1L, "testuser", "test@example.com");
+        KeyPair ecKeyPair = Keys.keyPairFor(SignatureAlgorithm.ES256);
+        ReflectionTestUtils.setField(jwtService, "signatureAlgorithm", SignatureAlgorithm.ES256);
+        jwtService.activate(ecKeyPair.getPrivate(), ecKeyPair.getPublic());
+
+        // When
+        String ecToken = jwtService.generateAccessToken(1L, "testuser", "test@example.com");
+
+        // Then
+        assertEquals("testuser", jwtService.getUsernameFromToken(ecToken));
+        assertTrue(ecToken.length() < rsaToken.length());
+    }
+
+    @Test
+    void init_WithEs256PemKeys_ShouldLoadEcKeys() throws Exception {
+        // Given
+        KeyPair ecKeyPair = Keys.keyPairFor(SignatureAlgorithm.ES256);
+        ReflectionTestUtils.setField(jwtService, "signatureAlgorithm", SignatureAlgorithm.ES256);
+        ReflectionTestUtils.setField(jwtService, "privateKeyResource",
+                pem("PRIVATE KEY", ecKeyPair.getPrivate().getEncoded()));
+        ReflectionTestUtils.setField(jwtService, "publicKeyResource",
+                pem("PUBLIC KEY", ecKeyPair.getPublic().getEncoded()));
+
+        // When
+        jwtService.init();
+        String token = jwtService.generateRefreshToken(7L, "testuser");
+
+        // Then
+        assertEquals(7L, jwtService.getUserIdFromToken(token));
+        assertEquals("ES256", Jwts.parserBuilder().setSigningKey(ecKeyPair.getPublic()).build()
+                .parseClaimsJws(token).getHeader().getAlgorithm());
+    }
+
+    @Test
+    void init_WithRsaKeysForEs256_ShouldFail() {
+        // Given
+        ReflectionTestUtils.setField(jwtService, "signatureAlgorithm", SignatureAlgorithm.ES256);
+        ReflectionTestUtils.setField(jwtService, "privateKeyResource",
+                pem("PRIVATE KEY", keyPair.getPrivate().getEncoded()));
+        ReflectionTestUtils.setField(jwtService, "publicKeyResource",
+                pem("PUBLIC KEY", keyPair.getPublic().getEncoded()));
+
+        // When & Then
+        assertThrows(Exception.class, () -> jwtService.init());
+    }
+
+    @Test
+    void init_WithLegacyPkcs1PrivateKey_ShouldFailWithConversionHint() {
+        // Given
+        ReflectionTestUtils.setField(jwtService, "privateKeyResource",
+                pem("RSA PRIVATE KEY", keyPair.getPrivate().getEncoded()));
+        ReflectionTestUtils.setField(jwtService, "publicKeyResource",
+                pem("PUBLIC KEY", keyPair.getPublic().getEncoded()));
+
+        // When & Then
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> jwtService.init());
+        assertTrue(ex.getMessage().contains("openssl pkcs8"));
+    }
+
+    @Test
+    void keyAlgorithm_WithHmacAlgorithm_ShouldBeRejected() {
+        assertEquals("RSA", JwtService.keyAlgorithm(SignatureAlgorithm.RS256));
+        assertEquals("EC", JwtService.keyAlgorithm(SignatureAlgorithm.ES256));
+        assertThrows(IllegalStateException.class, () -> JwtService.keyAlgorithm(SignatureAlgorithm.HS256));
+    }
+
+    @Test
+    void generateAccessToken_ShouldCarryActiveKeyId() {
+        // When
+        String token = jwtService.generateAccessToken(1L, "testuser", "test@example.com");
+
+        // Then
+        String kid = Jwts.parserBuilder().setSigningKey(keyPair.getPublic()).build()
+                .parseClaimsJws(token).getHeader().getKeyId();
+        assertEquals(jwtService.getKeyRing().getActive().getKid(), kid);
+    }
+
+    @Test
+    void validateToken_WithTokenWithoutKeyId_ShouldUseActiveKey() {
+        // Given - token issued before tokens carried a kid
+        String token = Jwts.builder()
+                .setSubject("legacy")
+                .setExpiration(new Date(System.currentTimeMillis() + 60000))
+                .signWith(keyPair.getPrivate(), SignatureAlgorithm.RS256)
+                .compact();
+
+        // When & Then
+        assertEquals("legacy", jwtService.validateToken(token).getSubject());
+    }
+
+    @Test
+    void validateToken_WithUnknownKeyId_ShouldThrowException() {
+        // Given
+        String token = Jwts.builder()
+                .setHeaderParam("kid", "unknown-kid")
+                .setSubject("testuser")
+                .setExpiration(new Date(System.currentTimeMillis() + 60000))
+                .signWith(keyPair.getPrivate(), SignatureAlgorithm.RS256)
+                .compact();
+
+        // When & Then
+        assertThrows(Exception.class, () -> jwtService.validateToken(token));
+    }
+
+    @Test
+    void activate_WithNewKey_ShouldKeepAcceptingTokensFromRetiringKey() {
+        // Given
+        String oldToken = jwtService.generateAccessToken(1L, "olduser", "old@example.com");
+        KeyPair newKeyPair = Keys.keyPairFor(SignatureAlgorithm.RS256);
+
+        // When
+        jwtService.activate(newKeyPair.getPrivate(), newKeyPair.getPublic());
+        String newToken = jwtService.generateAccessToken(2L, "newuser", "new@example.com");
+
+        // Then
+        assertEquals("olduser", jwtService.getUsernameFromToken(oldToken));
+        assertEquals("newuser", jwtService.getUsernameFromToken(newToken));
+        assertEquals(2, jwtService.getKeyRing().getVerificationKeys().size());
+        assertThrows(Exception.class, () -> Jwts.parserBuilder().setSigningKey(keyPair.getPublic()).build()
+                .parseClaimsJws(newToken));
+    }
+
+    @Test
+    void reloadKeys_AfterOverlapWindow_ShouldRejectTokensFromRetiredKey() {
+        // Given
+        String oldToken = jwtService.generateAccessToken(1L, "olduser", "old@example.com");
+        KeyPair newKeyPair = Keys.keyPairFor(SignatureAlgorithm.RS256);
+        ReflectionTestUtils.setField(jwtService, "keyOverlapMillis", -1L);
+        ReflectionTestUtils.setField(jwtService, "privateKeyResource",
+                pem("PRIVATE KEY", newKeyPair.getPrivate().getEncoded()));
+        ReflectionTestUtils.setField(jwtService, "publicKeyResource",
+                pem("PUBLIC KEY", newKeyPair.getPublic().getEncoded()));
+
+        // When
+        jwtService.reloadKeys();
+
+        // Then
+        assertEquals(JwtKey.kidOf(newKeyPair.getPublic()), jwtService.getKeyRing().getActive().getKid());
+        assertEquals(1, jwtService.getKeyRing().getVerificationKeys().size());
+        assertThrows(Exception.class, () -> jwtService.validateToken(oldToken));
+    }
+
+    @Test
+    void reloadKeys_AfterOverlapWindow_ShouldDropCachedVerificationsOfRetiredKey() {
+        // Given
+        String oldToken = jwtService.generateAccessToken(1L, "olduser", "old@example.com");
+        jwtService.validateToken(oldToken);
+        KeyPair newKeyPair = Keys.keyPairFor(SignatureAlgorithm.RS256);
+        ReflectionTestUtils.setField(jwtService, "keyOverlapMillis", -1L);
+        ReflectionTestUtils.setField(jwtService, "privateKeyResource",
+                pem("PRIVATE KEY", newKeyPair.getPrivate().getEncoded()));
+        ReflectionTestUtils.setField(jwtService, "publicKeyResource",
+                pem("PUBLIC KEY", newKeyPair.getPublic().getEncoded()));
+
+        // When
+        jwtService.reloadKeys();
+
+        // Then
+        assertThrows(Exception.class, () -> jwtService.validateToken(oldToken));
+    }
+
+    @Test
+    void validateToken_WithMalformedToken_ShouldThrowWithoutStackTrace() {
+        // When
+        InvalidJwtException ex = assertThrows(InvalidJwtException.class,
+                () -> jwtService.validateToken("Bearer junk"));
+
+        // Then
+        assertEquals(0, ex.getStackTrace().length);
+    }
+
+    @Test
+    void validateToken_RepeatedToken_ShouldReuseCachedClaims() {
+        // Given
+        String token = jwtService.generateAccessToken(1L, "testuser", "test@example.com");
+
+        // When
+        Claims first = jwtService.validateToken(token);
+        Claims second = jwtService.validateToken(token);
+
+        // Then
+        assertSame(first, second);
+    }
+
+    @Test
+    void generateAccessToken_ShouldCarryMillisecondIssueTime() {
+        // Given
+        long before = System.currentTimeMillis();
+
+        // When
+        Claims claims = jwtService.validateToken(jwtService.generateAccessToken(1L, "testuser", "test@example.com"));
+
+        // Then
+        Long issuedAtMillis = claims.get(JwtService.ISSUED_AT_MILLIS_CLAIM, Long.class);
+        assertNotNull(issuedAtMillis);
+        assertTrue(issuedAtMillis >= before && issuedAtMillis <= System.currentTimeMillis());
+        assertEquals(issuedAtMillis / 1000 * 1000, claims.getIssuedAt().getTime());
+    }
+
+    @Test
+    void validateToken_WithInjectedCache_ShouldStoreVerifiedClaimsThere() {
+        // Given
+        VerifiedTokenCache cache = new VerifiedTokenCache(100);
+        JwtService service = new JwtService(cache);
+        ReflectionTestUtils.setField(service, "accessTokenExpiration", 900000L);
+        ReflectionTestUtils.setField(service, "refreshTokenExpiration", 604800000L);
+        service.activate(keyPair.getPrivate(), keyPair.getPublic());
+        String token = service.generateAccessToken(1L, "testuser", "test@example.com");
+
+        // When
+        service.validateToken(token);
+
+        // Then
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void evictVerifiedToken_ShouldForceReverification() {
+        // Given
+        String token = jwtService.generateAccessToken(1L, "testuser", "test@example.com");
+        Claims first = jwtService.validateToken(token);
+
+        // When
+        jwtService.evictVerifiedToken(token);
+        Claims second = jwtService.validateToken(token);
+
+        // Then
+        assertNotSame(first, second);
+        assertEquals(first, second);
+    }
+
+    @Test
+    void reloadKeys_WithBrokenKeyFile_ShouldKeepCurrentKeys() {
+        // Given
+        String kid = jwtService.getKeyRing().getActive().getKid();
+        ReflectionTestUtils.setField(jwtService, "privateKeyResource",
+                new ByteArrayResource("garbage".getBytes(StandardCharsets.US_ASCII)));
+        ReflectionTestUtils.setField(jwtService, "publicKeyResource",
+                pem("PUBLIC KEY", keyPair.getPublic().getEncoded()));
+
+        // When
+        jwtService.reloadKeys();
+
+        // Then
+        assertEquals(kid, jwtService.getKeyRing().getActive().getKid());
+    }
+
+    @Test
+    void init_WithMismatchedKeyPair_ShouldFail() {
+        // Given
+        KeyPair otherKeyPair = Keys.keyPairFor(SignatureAlgorithm.RS256);
+        ReflectionTestUtils.setField(jwtService, "privateKeyResource",
+                pem("PRIVATE KEY", keyPair.getPrivate().getEncoded()));
+        ReflectionTestUtils.setField(jwtService, "publicKeyResource",
+                pem("PUBLIC KEY", otherKeyPair.getPublic().getEncoded()));
+
+        // When & Then
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> jwtService.init());
+        assertTrue(ex.getMessage().contains("key pair"));
+    }
+
+    @Test
+    void reloadKeys_WithMismatchedKeyPair_ShouldKeepCurrentKeys() {
+        // Given
+        String token = jwtService.generateAccessToken(1L, "testuser", "test@example.com");
+        JwtKeyRing ring = jwtService.getKeyRing();
+        KeyPair newKeyPair = Keys.keyPairFor(SignatureAlgorithm.RS256);
+        ReflectionTestUtils.setField(jwtService, "privateKeyResource",
+                pem("PRIVATE KEY", newKeyPair.getPrivate().getEncoded()));
+        ReflectionTestUtils.setField(jwtService, "publicKeyResource",
+                pem("PUBLIC KEY", keyPair.getPublic().getEncoded()));
+
+        // When
+        jwtService.reloadKeys();
+
+        // Then
+        assertSame(ring, jwtService.getKeyRing());
+        String reissued = jwtService.generateAccessToken(1L, "testuser", "test@example.com");
+        assertEquals(1L, jwtService.getUserIdFromToken(reissued));
+        assertEquals(1L, jwtService.getUserIdFromToken(token));
+    }
+
+    @Test
+    void assertKeyPair_WithMatchingEcKeys_ShouldPass() {
+        KeyPair ecKeyPair = Keys.keyPairFor(SignatureAlgorithm.ES256);
+        assertDoesNotThrow(() -> JwtService.assertKeyPair(
+                SignatureAlgorithm.ES256, ecKeyPair.getPrivate(), ecKeyPair.getPublic()));
+    }
+
+    private static ByteArrayResource pem(String type, byte[] der) {
+        String body = Base64.getMimeEncoder(64, "\n".getBytes(StandardCharsets.US_ASCII)).encodeToString(der);
+        String pem = "-----BEGIN " + type + "-----\n" + body + "\n-----END " + type + "-----\n";
+        return new ByteArrayResource(pem.getBytes(StandardCharsets.US_ASCII));
+    }
 }
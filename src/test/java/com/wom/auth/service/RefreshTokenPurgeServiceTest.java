@@ -0,0 +1,143 @@
+package com.wom.auth.service;
+
+import com.wom.auth.repository.redis.JobLockRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link RefreshTokenPurgeService}.
+ */
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenPurgeServiceTest {
+
+    @Mock
+    private TokenService tokenService;
+
+    @Mock
+    private JobLockRepository jobLockRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RefreshTokenPurgeService purgeService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        purgeService = new RefreshTokenPurgeService(tokenService, jobLockRepository, meterRegistry,
+                100, 0, 24, 10, false, 2);
+    }
+
+    @Test
+    void purge_ShouldDeleteBatchesUntilOneIsShort() {
+        // Given
+        when(jobLockRepository.tryLock(eq(RefreshTokenPurgeService.LOCK_NAME), anyString(), eq(Duration.ofMinutes(10))))
+                .thenReturn(true);
+        when(tokenService.purgeExpiredTokens(any(LocalDateTime.class), eq(100))).thenReturn(100, 100, 42);
+
+        // When
+        long purged = purgeService.purge();
+
+        // Then
+        assertEquals(242, purged);
+        verify(tokenService, times(3)).purgeExpiredTokens(any(LocalDateTime.class), eq(100));
+        verify(jobLockRepository).unlock(eq(RefreshTokenPurgeService.LOCK_NAME), anyString());
+        assertEquals(242.0, meterRegistry.get("refresh_tokens.purged").counter().count());
+        assertEquals(3, meterRegistry.get("refresh_tokens.purge.batch").timer().count());
+    }
+
+    @Test
+    void purge_ShouldOnlyDeleteTokensPastRetention() {
+        // Given
+        when(jobLockRepository.tryLock(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        when(tokenService.purgeExpiredTokens(any(LocalDateTime.class), anyInt())).thenReturn(0);
+
+        // When
+        purgeService.purge();
+
+        // Then
+        verify(tokenService).purgeExpiredTokens(
+                argThat(threshold -> threshold.isBefore(LocalDateTime.now().minusHours(23))), eq(100));
+    }
+
+    @Test
+    void purge_WhenLockHeldElsewhere_ShouldSkip() {
+        // Given
+        when(jobLockRepository.tryLock(anyString(), anyString(), any(Duration.class))).thenReturn(false);
+
+        // When
+        long purged = purgeService.purge();
+
+        // Then
+        assertEquals(-1, purged);
+        verifyNoInteractions(tokenService);
+        verify(jobLockRepository, never()).unlock(anyString(), anyString());
+    }
+
+    @Test
+    void purge_WhenBatchFails_ShouldReleaseLock() {
+        // Given
+        when(jobLockRepository.tryLock(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        when(tokenService.purgeExpiredTokens(any(LocalDateTime.class), anyInt()))
+                .thenThrow(new IllegalStateException("database unavailable"));
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> purgeService.purge());
+        verify(jobLockRepository).unlock(eq(RefreshTokenPurgeService.LOCK_NAME), anyString());
+    }
+
+    @Test
+    void purge_WhenPartitioned_ShouldDropExpiredPartitionsAndCreateUpcomingOnes() {
+        // Given
+        RefreshTokenPurgeService partitionedPurge = new RefreshTokenPurgeService(tokenService, jobLockRepository,
+                meterRegistry, 100, 0, 24, 10, true, 2);
+        LocalDateTime latestExpiry = LocalDateTime.of(2025, 10, 11, 12, 0);
+        when(jobLockRepository.tryLock(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        when(tokenService.dropExpiredRefreshTokenPartitions(any(LocalDateTime.class))).thenReturn(2);
+        when(tokenService.latestRefreshTokenExpiry()).thenReturn(latestExpiry);
+        when(tokenService.purgeExpiredTokens(any(LocalDateTime.class), anyInt())).thenReturn(7);
+
+        // When
+        long purged = partitionedPurge.purge();
+
+        // Then
+        assertEquals(7, purged);
+        verify(tokenService).ensureRefreshTokenPartitions(LocalDate.of(2025, 10, 25));
+        assertEquals(2.0, meterRegistry.get("refresh_tokens.partitions.dropped").counter().count());
+    }
+
+    @Test
+    void ensurePartitionsOnStartup_WhenNotPartitioned_ShouldDoNothing() {
+        // When
+        purgeService.ensurePartitionsOnStartup();
+
+        // Then
+        verifyNoInteractions(tokenService, jobLockRepository);
+    }
+
+    @Test
+    void ensurePartitionsOnStartup_WhenPartitioned_ShouldCreateUpcomingPartitionsUnderLock() {
+        // Given
+        RefreshTokenPurgeService partitionedPurge = new RefreshTokenPurgeService(tokenService, jobLockRepository,
+                meterRegistry, 100, 0, 24, 10, true, 1);
+        when(jobLockRepository.tryLock(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        when(tokenService.latestRefreshTokenExpiry()).thenReturn(LocalDateTime.of(2025, 10, 11, 12, 0));
+
+        // When
+        partitionedPurge.ensurePartitionsOnStartup();
+
+        // Then
+        verify(tokenService).ensureRefreshTokenPartitions(LocalDate.of(2025, 10, 18));
+        verify(jobLockRepository).unlock(eq(RefreshTokenPurgeService.LOCK_NAME), anyString());
+    }
+}
@@ -0,0 +1,155 @@
+package com.wom.auth.service;
+
+import com.wom.auth.dto.TokenIntrospection;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link TokenIntrospectionService}.
+ */
+@ExtendWith(MockitoExtension.class)
+class TokenIntrospectionServiceTest {
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private TokenService tokenService;
+
+    private TokenIntrospectionService introspectionService;
+
+    @BeforeEach
+    void setUp() {
+        introspectionService = new TokenIntrospectionService(jwtService, tokenService, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        introspectionService.shutdown();
+    }
+
+    @Test
+    void introspect_ValidToken_ShouldReturnActiveWithClaims() {
+        // Given
+        when(jwtService.validateToken("good")).thenReturn(claims("admin", 1L));
+        when(tokenService.findRevokedTokens(withTokens("good"))).thenReturn(Set.of());
+
+        // When
+        List<TokenIntrospection> results = introspectionService.introspect(List.of("good"));
+
+        // Then
+        assertEquals(1, results.size());
+        TokenIntrospection result = results.get(0);
+        assertTrue(result.isActive());
+        assertEquals("admin", result.getSub());
+        assertEquals(1L, result.getUserId());
+        assertEquals("access", result.getTokenType());
+        assertEquals(1_700_000_000L, result.getIat());
+        assertEquals(1_700_000_900L, result.getExp());
+    }
+
+    @Test
+    void introspect_ShouldMarkInvalidAndRevokedTokensInactiveInRequestOrder() {
+        // Given
+        when(jwtService.validateToken("good")).thenReturn(claims("admin", 1L));
+        when(jwtService.validateToken("revoked")).thenReturn(claims("user", 2L));
+        when(jwtService.validateToken("broken")).thenThrow(new JwtException("Invalid or expired JWT token"));
+        when(tokenService.findRevokedTokens(withTokens("revoked", "good"))).thenReturn(Set.of("revoked"));
+
+        // When
+        List<TokenIntrospection> results = introspectionService.introspect(List.of("broken", "revoked", "good"));
+
+        // Then
+        assertFalse(results.get(0).isActive());
+        assertNull(results.get(0).getSub());
+        assertFalse(results.get(1).isActive());
+        assertNull(results.get(1).getSub());
+        assertTrue(results.get(2).isActive());
+        assertEquals("admin", results.get(2).getSub());
+    }
+
+    @Test
+    void introspect_TokenCoveredByBulkRevocation_ShouldBeInactive() {
+        // Given
+        Claims claims = claims("user", 2L);
+        when(jwtService.validateToken("bulk-revoked")).thenReturn(claims);
+        when(tokenService.findRevokedTokens(Map.of("bulk-revoked", claims))).thenReturn(Set.of("bulk-revoked"));
+
+        // When
+        List<TokenIntrospection> results = introspectionService.introspect(List.of("bulk-revoked"));
+
+        // Then
+        assertFalse(results.get(0).isActive());
+    }
+
+    @Test
+    void introspect_AllTokensInvalid_ShouldNotQueryBlacklist() {
+        // Given
+        when(jwtService.validateToken(anyString())).thenThrow(new JwtException("Invalid or expired JWT token"));
+
+        // When
+        List<TokenIntrospection> results = introspectionService.introspect(List.of("a", "b"));
+
+        // Then
+        assertTrue(results.stream().noneMatch(TokenIntrospection::isActive));
+        verifyNoInteractions(tokenService);
+    }
+
+    @Test
+    void introspect_LargeBatch_ShouldVerifyEveryTokenAndCheckRevocationOnce() {
+        // Given
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            tokens.add("token-" + i);
+        }
+        when(jwtService.validateToken(anyString())).thenAnswer(inv -> claims(inv.getArgument(0), 1L));
+        when(tokenService.findRevokedTokens(any())).thenReturn(Set.of("token-7"));
+
+        // When
+        List<TokenIntrospection> results = introspectionService.introspect(tokens);
+
+        // Then
+        assertEquals(50, results.size());
+        for (int i = 0; i < 50; i++) {
+            assertEquals(i != 7, results.get(i).isActive());
+            if (i != 7) {
+                assertEquals("token-" + i, results.get(i).getSub());
+            }
+        }
+        verify(jwtService, times(50)).validateToken(anyString());
+        verify(tokenService, times(1)).findRevokedTokens(any());
+    }
+
+    private static Map<String, Claims> withTokens(String... tokens) {
+        return argThat(verified -> verified != null && List.copyOf(verified.keySet()).equals(List.of(tokens)));
+    }
+
+    private static Claims claims(String subject, Long userId) {
+        Claims claims = Jwts.claims();
+        claims.setSubject(subject);
+        claims.put("userId", userId);
+        claims.put("type", "access");
+        claims.setIssuedAt(new Date(1_700_000_000_000L));
+        claims.setExpiration(new Date(1_700_000_900_000L));
+        return claims;
+    }
+}
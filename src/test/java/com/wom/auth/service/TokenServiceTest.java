@@ -1,23 +1,37 @@
 package com.wom.auth.service;
 
+import com.wom.auth.dto.SessionResponse;
 import com.wom.auth.entity.RefreshToken;
+import com.wom.auth.repository.jpa.JpaRefreshTokenStore;
+import com.wom.auth.repository.jpa.RefreshTokenPartitionRepository;
 import com.wom.auth.repository.jpa.RefreshTokenRepository;
 import com.wom.auth.repository.redis.TokenBlacklistRepository;
+import com.wom.auth.repository.redis.UserRevocationRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -29,13 +43,18 @@ class TokenServiceTest {
     @Mock
     private RefreshTokenRepository refreshTokenRepository;
 
+    @Mock
+    private RefreshTokenPartitionRepository refreshTokenPartitionRepository;
+
     @Mock
     private TokenBlacklistRepository tokenBlacklistRepository;
 
+    @Mock
+    private UserRevocationRepository userRevocationRepository;
+
     @Mock
     private JwtService jwtService;
 
-    @InjectMocks
     private TokenService tokenService;
 
     private RefreshToken testRefreshToken;
@@ -45,13 +64,17 @@ class TokenServiceTest {
 
     @BeforeEach
     void setUp() {
+        tokenService = new TokenService(new JpaRefreshTokenStore(refreshTokenRepository), refreshTokenRepository,
+                refreshTokenPartitionRepository, tokenBlacklistRepository, userRevocationRepository, jwtService);
         ReflectionTestUtils.setField(tokenService, "refreshTokenExpiration", 604800000L);
         ReflectionTestUtils.setField(tokenService, "accessTokenExpiration", 900000L);
+        ReflectionTestUtils.setField(tokenService, "reuseGraceSeconds", 10L);
         
         testRefreshToken = RefreshToken.builder()
                 .id(1L)
                 .userId(testUserId)
                 .tokenHash("hashedToken")
+                .familyId("family-1")
                 .expiresAt(LocalDateTime.now().plusDays(7))
                 .build();
     }
@@ -69,13 +92,83 @@ class TokenServiceTest {
         verify(refreshTokenRepository, times(1)).save(any(RefreshToken.class));
     }
 
+    @Test
+    void createRefreshToken_WithMetadata_ShouldStoreClientDetails() {
+        // Arrange
+        when(refreshTokenRepository.save(any(RefreshToken.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        // Act
+        RefreshToken result = tokenService.createRefreshToken(testUserId, testToken,
+                new SessionMetadata("Pixel 8", "okhttp/4.12.0", "203.0.113.7"));
+
+        // Assert
+        assertEquals("Pixel 8", result.getDeviceName());
+        assertEquals("okhttp/4.12.0", result.getUserAgent());
+        assertEquals("203.0.113.7", result.getIpAddress());
+    }
+
+    @Test
+    void createRefreshToken_WithSessionLimit_ShouldRevokeSessionsBeyondLimit() {
+        // Arrange
+        ReflectionTestUtils.setField(tokenService, "maxActiveSessions", 5);
+        when(refreshTokenRepository.save(any(RefreshToken.class))).thenReturn(testRefreshToken);
+        when(refreshTokenRepository.revokeSessionsBeyondLimit(eq(testUserId), eq(5), any(LocalDateTime.class)))
+                .thenReturn(1);
+
+        // Act
+        tokenService.createRefreshToken(testUserId, testToken);
+
+        // Assert
+        verify(refreshTokenRepository, times(1)).revokeSessionsBeyondLimit(eq(testUserId), eq(5), any(LocalDateTime.class));
+    }
+
+    @Test
+    void createRefreshToken_WithoutSessionLimit_ShouldNotRevokeSessions() {
+        // Arrange
+        ReflectionTestUtils.setField(tokenService, "maxActiveSessions", 0);
+        when(refreshTokenRepository.save(any(RefreshToken.class))).thenReturn(testRefreshToken);
+
+        // Act
+        tokenService.createRefreshToken(testUserId, testToken);
+
+        // Assert
+        verify(refreshTokenRepository, never()).revokeSessionsBeyondLimit(anyLong(), anyInt(), any());
+    }
+
+    @Test
+    void findActiveSessions_ShouldUseProjectionQuery() {
+        // Arrange
+        SessionResponse session = SessionResponse.builder().id(5L).build();
+        when(refreshTokenRepository.findActiveSessions(eq(testUserId), any(LocalDateTime.class)))
+                .thenReturn(List.of(session));
+
+        // Act
+        List<SessionResponse> result = tokenService.findActiveSessions(testUserId);
+
+        // Assert
+        assertEquals(List.of(session), result);
+        verify(refreshTokenRepository, never()).findActiveTokensByUserId(anyLong(), any());
+    }
+
+    @Test
+    void revokeSession_ShouldRevokeOnlyOwnedActiveSession() {
+        // Arrange
+        when(refreshTokenRepository.revokeSession(eq(5L), eq(testUserId), any(LocalDateTime.class))).thenReturn(1);
+        when(refreshTokenRepository.revokeSession(eq(6L), eq(testUserId), any(LocalDateTime.class))).thenReturn(0);
+
+        // Act & Assert
+        assertTrue(tokenService.revokeSession(testUserId, 5L));
+        assertFalse(tokenService.revokeSession(testUserId, 6L));
+    }
+
     @Test
     void rotateRefreshToken_WithValidToken_ShouldReturnNewToken() {
         // Arrange
         when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(testRefreshToken));
         when(jwtService.getUserIdFromToken(testToken)).thenReturn(testUserId);
         when(jwtService.getUsernameFromToken(testToken)).thenReturn(testUsername);
-        when(jwtService.generateRefreshToken(anyLong(), anyString())).thenReturn("new.refresh.token");
+        when(jwtService.generateRefreshToken(anyLong(), anyString(), eq("family-1"))).thenReturn("new.refresh.token");
+        when(refreshTokenRepository.revokeIfActive(eq("hashedToken"), any(LocalDateTime.class))).thenReturn(1);
         when(refreshTokenRepository.save(any(RefreshToken.class))).thenReturn(testRefreshToken);
 
         // Act
@@ -113,6 +206,191 @@ class TokenServiceTest {
         verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
     }
 
+    @Test
+    void createRefreshToken_ShouldStartNewFamily() {
+        // Arrange
+        when(refreshTokenRepository.save(any(RefreshToken.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        // Act
+        RefreshToken first = tokenService.createRefreshToken(testUserId, testToken);
+        RefreshToken second = tokenService.createRefreshToken(testUserId, "other.refresh.token");
+
+        // Assert
+        assertNotNull(first.getFamilyId());
+        assertNotEquals(first.getFamilyId(), second.getFamilyId());
+    }
+
+    @Test
+    void checkForRotation_WithLiveToken_ShouldBeValidWithoutFamilyQueries() {
+        // Arrange
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(testRefreshToken));
+        when(tokenBlacklistRepository.isTokenBlacklisted(testToken)).thenReturn(false);
+
+        // Act
+        RotationCheck check = tokenService.checkForRotation(testToken);
+
+        // Assert
+        assertEquals(RotationCheck.Outcome.VALID, check.getOutcome());
+        assertSame(testRefreshToken, check.getToken());
+        verify(refreshTokenRepository, never()).existsByFamilyIdAndRevokedAtIsNullAndExpiresAtAfter(anyString(), any());
+        verify(refreshTokenRepository, never()).revokeFamilyAndCommit(anyString(), any());
+    }
+
+    @Test
+    void checkForRotation_WithTokenRotatedWithinGraceWindow_ShouldAcceptWithoutRevokingFamily() {
+        // Arrange
+        testRefreshToken.revokeAndReplace(2L);
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(testRefreshToken));
+        when(tokenBlacklistRepository.isTokenBlacklisted(testToken)).thenReturn(false);
+        when(refreshTokenRepository.existsByFamilyIdAndRevokedAtIsNullAndExpiresAtAfter(eq("family-1"),
+                any(LocalDateTime.class))).thenReturn(true);
+
+        // Act
+        RotationCheck check = tokenService.checkForRotation(testToken);
+
+        // Assert
+        assertEquals(RotationCheck.Outcome.RECENTLY_ROTATED, check.getOutcome());
+        assertTrue(check.isAccepted());
+        verify(refreshTokenRepository, never()).revokeFamilyAndCommit(anyString(), any());
+    }
+
+    @Test
+    void checkForRotation_WithTokenRotatedBeforeGraceWindow_ShouldRevokeFamily() {
+        // Arrange
+        testRefreshToken.setRevokedAt(LocalDateTime.now().minusMinutes(5));
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(testRefreshToken));
+        when(tokenBlacklistRepository.isTokenBlacklisted(testToken)).thenReturn(false);
+        when(refreshTokenRepository.revokeFamilyAndCommit(eq("family-1"), any(LocalDateTime.class))).thenReturn(1);
+
+        // Act
+        RotationCheck check = tokenService.checkForRotation(testToken);
+
+        // Assert
+        assertEquals(RotationCheck.Outcome.REUSED, check.getOutcome());
+        assertFalse(check.isAccepted());
+        verify(refreshTokenRepository, times(1)).revokeFamilyAndCommit(eq("family-1"), any(LocalDateTime.class));
+    }
+
+    @Test
+    void checkForRotation_WithRevokedTokenOfEndedFamily_ShouldBeInvalid() {
+        // Arrange
+        testRefreshToken.setRevokedAt(LocalDateTime.now().minusMinutes(5));
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(testRefreshToken));
+        when(tokenBlacklistRepository.isTokenBlacklisted(testToken)).thenReturn(false);
+        when(refreshTokenRepository.revokeFamilyAndCommit(eq("family-1"), any(LocalDateTime.class))).thenReturn(0);
+
+        // Act
+        RotationCheck check = tokenService.checkForRotation(testToken);
+
+        // Assert
+        assertEquals(RotationCheck.Outcome.INVALID, check.getOutcome());
+    }
+
+    @Test
+    void checkForRotation_WithExpiredToken_ShouldBeInvalidWithoutRevokingFamily() {
+        // Arrange
+        testRefreshToken.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+        testRefreshToken.revoke();
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(testRefreshToken));
+
+        // Act
+        RotationCheck check = tokenService.checkForRotation(testToken);
+
+        // Assert
+        assertEquals(RotationCheck.Outcome.INVALID, check.getOutcome());
+        verify(refreshTokenRepository, never()).revokeFamilyAndCommit(anyString(), any());
+    }
+
+    @Test
+    void completeRotation_ShouldIssueInSameFamilyAndRecordReplacement() {
+        // Arrange
+        when(refreshTokenRepository.revokeIfActive(eq("hashedToken"), any(LocalDateTime.class))).thenReturn(1);
+        when(refreshTokenRepository.save(any(RefreshToken.class))).thenAnswer(inv -> {
+            RefreshToken token = inv.getArgument(0);
+            if (token.getId() == null) {
+                token.setId(2L);
+            }
+            return token;
+        });
+
+        // Act
+        RefreshToken next = tokenService.completeRotation(testRefreshToken, "new.refresh.token", SessionMetadata.none())
+                .orElseThrow();
+
+        // Assert
+        assertEquals("family-1", next.getFamilyId());
+        assertTrue(testRefreshToken.isRevoked());
+        assertEquals(2L, testRefreshToken.getReplacedBy());
+        verify(refreshTokenRepository, times(2)).save(any(RefreshToken.class));
+    }
+
+    @Test
+    void completeRotation_LostRaceToConcurrentRefresh_ShouldBeAcceptedAsGraceRetry() {
+        // Arrange
+        when(refreshTokenRepository.revokeIfActive(eq("hashedToken"), any(LocalDateTime.class))).thenReturn(0);
+        when(refreshTokenRepository.existsByFamilyIdAndRevokedAtIsNullAndExpiresAtAfter(eq("family-1"),
+                any(LocalDateTime.class))).thenReturn(true);
+        when(refreshTokenRepository.save(any(RefreshToken.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        // Act
+        Optional<RefreshToken> next = tokenService.completeRotation(testRefreshToken, "new.refresh.token",
+                SessionMetadata.none());
+
+        // Assert
+        assertTrue(next.isPresent());
+        assertNull(testRefreshToken.getReplacedBy());
+        verify(refreshTokenRepository, times(1)).save(any(RefreshToken.class));
+        verify(refreshTokenRepository, never()).revokeFamilyAndCommit(anyString(), any());
+    }
+
+    @Test
+    void completeRotation_LostRaceToRevocationOfFamily_ShouldBeRejectedWithoutIssuing() {
+        // Arrange
+        when(refreshTokenRepository.revokeIfActive(eq("hashedToken"), any(LocalDateTime.class))).thenReturn(0);
+        when(refreshTokenRepository.existsByFamilyIdAndRevokedAtIsNullAndExpiresAtAfter(eq("family-1"),
+                any(LocalDateTime.class))).thenReturn(false);
+        when(refreshTokenRepository.revokeFamilyAndCommit(eq("family-1"), any(LocalDateTime.class))).thenReturn(0);
+
+        // Act
+        Optional<RefreshToken> next = tokenService.completeRotation(testRefreshToken, "new.refresh.token",
+                SessionMetadata.none());
+
+        // Assert
+        assertTrue(next.isEmpty());
+        verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
+    }
+
+    @Test
+    void completeRotation_WithinGraceWindow_ShouldKeepFirstReplacement() {
+        // Arrange
+        testRefreshToken.revokeAndReplace(2L);
+        when(refreshTokenRepository.save(any(RefreshToken.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        // Act
+        RefreshToken next = tokenService.completeRotation(testRefreshToken, "new.refresh.token", SessionMetadata.none())
+                .orElseThrow();
+
+        // Assert
+        assertEquals("family-1", next.getFamilyId());
+        assertEquals(2L, testRefreshToken.getReplacedBy());
+        verify(refreshTokenRepository, times(1)).save(any(RefreshToken.class));
+        verify(refreshTokenRepository, never()).revokeIfActive(anyString(), any());
+    }
+
+    @Test
+    void revokeSessionTokens_ShouldRevokeFamilyWithoutLookingUpTokens() {
+        // Arrange
+        when(refreshTokenRepository.revokeFamily(eq("family-1"), any(LocalDateTime.class))).thenReturn(1);
+
+        // Act
+        int revoked = tokenService.revokeSessionTokens("family-1");
+
+        // Assert
+        assertEquals(1, revoked);
+        verify(refreshTokenRepository, never()).findByTokenHash(anyString());
+        verify(refreshTokenRepository, never()).revokeFamilyAndCommit(anyString(), any());
+    }
+
     @Test
     void revokeRefreshToken_WithExistingToken_ShouldRevokeAndSave() {
         // Arrange
@@ -162,6 +440,7 @@ class TokenServiceTest {
         // Assert
         verify(tokenBlacklistRepository, times(1))
                 .blacklistToken(token, expirationSeconds);
+        verify(jwtService, times(1)).evictVerifiedToken(token);
     }
 
     @Test
@@ -238,4 +517,194 @@ class TokenServiceTest {
         verify(refreshTokenRepository, times(1))
                 .deleteExpiredTokens(any(LocalDateTime.class));
     }
+
+    @Test
+    void purgeExpiredTokens_ShouldDeleteOneBoundedBatch() {
+        // Arrange
+        LocalDateTime threshold = LocalDateTime.now();
+        when(refreshTokenRepository.deleteExpiredTokensBatch(threshold, 500)).thenReturn(500);
+
+        // Act
+        int deleted = tokenService.purgeExpiredTokens(threshold, 500);
+
+        // Assert
+        assertEquals(500, deleted);
+    }
+
+    @Test
+    void ensureRefreshTokenPartitions_ShouldCreateOnePartitionPerWeekThroughUntil() {
+        // Arrange
+        LocalDate until = LocalDate.now().plusDays(10);
+
+        // Act
+        tokenService.ensureRefreshTokenPartitions(until);
+
+        // Assert
+        verify(refreshTokenRepository).createPartition(LocalDate.now());
+        verify(refreshTokenRepository).createPartition(LocalDate.now().plusWeeks(1));
+        verify(refreshTokenRepository).createPartition(until);
+    }
+
+    @Test
+    void dropExpiredRefreshTokenPartitions_ShouldDelegateToRepository() {
+        // Arrange
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(1);
+        when(refreshTokenPartitionRepository.dropExpiredPartitions(cutoff)).thenReturn(3);
+
+        // Act & Assert
+        assertEquals(3, tokenService.dropExpiredRefreshTokenPartitions(cutoff));
+    }
+
+    @Test
+    void isRevokedForUser_TokenIssuedBeforeWatermark_ShouldReturnTrue() {
+        // Arrange
+        when(userRevocationRepository.findRevokedAt(testUserId)).thenReturn(1_700_000_100_000L);
+
+        // Act & Assert
+        assertTrue(tokenService.isRevokedForUser(claims(testUserId, 1_700_000_000_000L)));
+        assertTrue(tokenService.isRevokedForUser(claims(testUserId, 1_700_000_099_999L)));
+    }
+
+    @Test
+    void isRevokedForUser_TokenIssuedAfterWatermark_ShouldReturnFalse() {
+        // Arrange
+        when(userRevocationRepository.findRevokedAt(testUserId)).thenReturn(1_700_000_100_000L);
+
+        // Act & Assert
+        assertFalse(tokenService.isRevokedForUser(claims(testUserId, 1_700_000_100_000L)));
+        assertFalse(tokenService.isRevokedForUser(claims(testUserId, 1_700_000_101_000L)));
+    }
+
+    @Test
+    void isRevokedForUser_LoginInSameSecondAfterWatermark_ShouldReturnFalse() {
+        // Arrange
+        when(userRevocationRepository.findRevokedAt(testUserId)).thenReturn(1_700_000_100_500L);
+
+        // Act & Assert
+        assertTrue(tokenService.isRevokedForUser(claims(testUserId, 1_700_000_100_300L)));
+        assertFalse(tokenService.isRevokedForUser(claims(testUserId, 1_700_000_100_700L)));
+    }
+
+    @Test
+    void isRevokedForUser_TokenWithoutMillisecondClaim_ShouldBeCoveredThroughItsSecond() {
+        // Arrange
+        when(userRevocationRepository.findRevokedAt(testUserId)).thenReturn(1_700_000_100_500L);
+
+        // Act & Assert
+        assertTrue(tokenService.isRevokedForUser(legacyClaims(testUserId, 1_700_000_100L)));
+        assertFalse(tokenService.isRevokedForUser(legacyClaims(testUserId, 1_700_000_101L)));
+    }
+
+    @Test
+    void isRevokedForUser_NoWatermark_ShouldReturnFalse() {
+        // Arrange
+        when(userRevocationRepository.findRevokedAt(testUserId)).thenReturn(null);
+
+        // Act & Assert
+        assertFalse(tokenService.isRevokedForUser(claims(testUserId, 1_700_000_000_000L)));
+    }
+
+    @Test
+    void isAccessTokenRevoked_Blacklisted_ShouldReturnTrue() {
+        // Arrange
+        when(tokenBlacklistRepository.findRevocationStatus(testToken, testUserId))
+                .thenReturn(new TokenBlacklistRepository.RevocationStatus(true, null));
+
+        // Act & Assert
+        assertTrue(tokenService.isAccessTokenRevoked(testToken, claims(testUserId, 1_700_000_000_000L)));
+        verifyNoInteractions(userRevocationRepository);
+    }
+
+    @Test
+    void isAccessTokenRevoked_CoveredByWatermark_ShouldReturnTrue() {
+        // Arrange
+        when(tokenBlacklistRepository.findRevocationStatus(testToken, testUserId))
+                .thenReturn(new TokenBlacklistRepository.RevocationStatus(false, 1_700_000_100_000L));
+
+        // Act & Assert
+        assertTrue(tokenService.isAccessTokenRevoked(testToken, claims(testUserId, 1_700_000_000_000L)));
+        assertFalse(tokenService.isAccessTokenRevoked(testToken, claims(testUserId, 1_700_000_101_000L)));
+    }
+
+    @Test
+    void isAccessTokenRevoked_WithoutUserIdClaim_ShouldOnlyCheckBlacklist() {
+        // Arrange
+        Claims claims = Jwts.claims();
+        claims.setIssuedAt(new Date(1_700_000_000_000L));
+        when(tokenBlacklistRepository.findRevocationStatus(testToken, null))
+                .thenReturn(new TokenBlacklistRepository.RevocationStatus(false, null));
+
+        // Act & Assert
+        assertFalse(tokenService.isAccessTokenRevoked(testToken, claims));
+    }
+
+    @Test
+    void findRevokedTokens_ShouldCombineBlacklistAndWatermarks() {
+        // Arrange
+        Map<String, Claims> tokens = new LinkedHashMap<>();
+        tokens.put("blacklisted", claims(2L, 1_700_000_000_000L));
+        tokens.put("bulk-revoked", claims(testUserId, 1_700_000_000_000L));
+        tokens.put("reissued", claims(testUserId, 1_700_000_200_000L));
+        when(tokenBlacklistRepository.findBlacklisted(tokens.keySet())).thenReturn(Set.of("blacklisted"));
+        when(userRevocationRepository.findRevokedAt(Set.of(2L, testUserId)))
+                .thenReturn(Map.of(testUserId, 1_700_000_100_000L));
+
+        // Act
+        Set<String> revoked = tokenService.findRevokedTokens(tokens);
+
+        // Assert
+        assertEquals(Set.of("blacklisted", "bulk-revoked"), revoked);
+        verify(userRevocationRepository, times(1)).findRevokedAt(anyCollection());
+    }
+
+    @Test
+    void findRevokedTokens_RotatedRefreshToken_ShouldBeRevoked() {
+        // Arrange
+        testRefreshToken.setRevokedAt(LocalDateTime.now().minusMinutes(1));
+        testRefreshToken.setReplacedBy(2L);
+        Claims refreshClaims = claims(testUserId, 1_700_000_000_000L);
+        refreshClaims.put("type", "refresh");
+        Claims accessClaims = claims(testUserId, 1_700_000_000_000L);
+        accessClaims.put("type", "access");
+        Map<String, Claims> tokens = new LinkedHashMap<>();
+        tokens.put("rotated.refresh.token", refreshClaims);
+        tokens.put("access.token", accessClaims);
+        when(tokenBlacklistRepository.findBlacklisted(tokens.keySet())).thenReturn(Set.of());
+        when(userRevocationRepository.findRevokedAt(Set.of(testUserId))).thenReturn(Map.of());
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(testRefreshToken));
+
+        // Act
+        Set<String> revoked = tokenService.findRevokedTokens(tokens);
+
+        // Assert
+        assertEquals(Set.of("rotated.refresh.token"), revoked);
+        verify(refreshTokenRepository, times(1)).findByTokenHash(anyString());
+    }
+
+    @Test
+    void findRevokedTokens_LiveRefreshToken_ShouldStayActive() {
+        // Arrange
+        Claims refreshClaims = claims(testUserId, 1_700_000_000_000L);
+        refreshClaims.put("type", "refresh");
+        Map<String, Claims> tokens = Map.of(testToken, refreshClaims);
+        when(tokenBlacklistRepository.findBlacklisted(tokens.keySet())).thenReturn(Set.of());
+        when(userRevocationRepository.findRevokedAt(Set.of(testUserId))).thenReturn(Map.of());
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(testRefreshToken));
+
+        // Act & Assert
+        assertTrue(tokenService.findRevokedTokens(tokens).isEmpty());
+    }
+
+    private static Claims claims(Long userId, long issuedAtEpochMilli) {
+        Claims claims = legacyClaims(userId, issuedAtEpochMilli / 1000);
+        claims.put(JwtService.ISSUED_AT_MILLIS_CLAIM, issuedAtEpochMilli);
+        return claims;
+    }
+
+    private static Claims legacyClaims(Long userId, long issuedAtEpochSecond) {
+        Claims claims = Jwts.claims();
+        claims.put("userId", userId);
+        claims.setIssuedAt(new Date(issuedAtEpochSecond * 1000));
+        return claims;
+    }
 }
@@ -1,11 +1,11 @@
 package com.wom.auth.service;
 
 import com.wom.auth.entity.User;
+import com.wom.auth.exception.ServiceOverloadedException;
 import com.wom.auth.repository.jpa.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -13,6 +13,11 @@ import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -27,7 +32,6 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
-    @InjectMocks
     private UserService userService;
 
     private User testUser;
@@ -35,6 +39,7 @@ class UserServiceTest {
 
     @BeforeEach
     void setUp() {
+        userService = new UserService(userRepository, 2, 4);
         passwordEncoder = new BCryptPasswordEncoder();
         ReflectionTestUtils.setField(userService, "passwordEncoder", passwordEncoder);
         
@@ -183,6 +188,29 @@ class UserServiceTest {
         assertFalse(result);
     }
 
+    @Test
+    void validatePassword_WhenHashingPoolIsSaturated_ShouldShedRequest() throws Exception {
+        // Arrange
+        userService = new UserService(userRepository, 1, 1);
+        ExecutorService passwordHasher = (ExecutorService) ReflectionTestUtils.getField(userService, "passwordHasher");
+        CountDownLatch release = new CountDownLatch(1);
+        Callable<Boolean> blocked = () -> release.await(5, TimeUnit.SECONDS);
+        Future<Boolean> running = passwordHasher.submit(blocked);
+        Future<Boolean> queued = passwordHasher.submit(blocked);
+        String encodedPassword = passwordEncoder.encode("password123");
+
+        // Act & Assert
+        try {
+            assertThrows(ServiceOverloadedException.class,
+                    () -> userService.validatePassword("password123", encodedPassword));
+        } finally {
+            release.countDown();
+            running.get(5, TimeUnit.SECONDS);
+            queued.get(5, TimeUnit.SECONDS);
+        }
+        assertTrue(userService.validatePassword("password123", encodedPassword));
+    }
+
     @Test
     void isAccountLocked_WithLockedAccount_ShouldReturnTrue() {
         // Arrange
@@ -0,0 +1,109 @@
+package com.wom.auth.service;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link VerifiedTokenCache}.
+ */
+class VerifiedTokenCacheTest {
+
+    private final VerifiedTokenCache cache = new VerifiedTokenCache(100);
+    private final AtomicInteger verifications = new AtomicInteger();
+
+    @Test
+    void get_SameToken_ShouldVerifyOnce() {
+        // Given
+        Function<String, Claims> verifier = countingVerifier(60_000);
+
+        // When
+        Claims first = cache.get("token", verifier);
+        Claims second = cache.get("token", verifier);
+
+        // Then
+        assertSame(first, second);
+        assertEquals(1, verifications.get());
+    }
+
+    @Test
+    void get_DifferentTokens_ShouldVerifyEach() {
+        // Given
+        Function<String, Claims> verifier = countingVerifier(60_000);
+
+        // When
+        cache.get("token-a", verifier);
+        cache.get("token-b", verifier);
+
+        // Then
+        assertEquals(2, verifications.get());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void get_AlreadyExpiredClaims_ShouldNotBeServedFromCache() {
+        // Given
+        Function<String, Claims> verifier = countingVerifier(-1_000);
+
+        // When
+        cache.get("token", verifier);
+        cache.get("token", verifier);
+
+        // Then
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void get_FailedVerification_ShouldPropagateAndNotCache() {
+        // When & Then
+        assertThrows(JwtException.class, () -> cache.get("bad", t -> {
+            throw new JwtException("Invalid or expired JWT token");
+        }));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void invalidate_ShouldForceReverification() {
+        // Given
+        Function<String, Claims> verifier = countingVerifier(60_000);
+        cache.get("token", verifier);
+
+        // When
+        cache.invalidate("token");
+        cache.get("token", verifier);
+
+        // Then
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void invalidateAll_ShouldEmptyCache() {
+        // Given
+        Function<String, Claims> verifier = countingVerifier(60_000);
+        cache.get("token-a", verifier);
+        cache.get("token-b", verifier);
+
+        // When
+        cache.invalidateAll();
+
+        // Then
+        assertEquals(0, cache.size());
+    }
+
+    private Function<String, Claims> countingVerifier(long expiresInMillis) {
+        return token -> {
+            verifications.incrementAndGet();
+            Claims claims = Jwts.claims();
+            claims.setSubject(token);
+            claims.setExpiration(new Date(System.currentTimeMillis() + expiresInMillis));
+            return claims;
+        };
+    }
+}
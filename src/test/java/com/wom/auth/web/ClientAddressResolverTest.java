@@ -0,0 +1,139 @@
+package com.wom.auth.web;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ClientAddressResolver}.
+ */
+class ClientAddressResolverTest {
+
+    private final ClientAddressResolver resolver = new ClientAddressResolver(
+            List.of("127.0.0.0/8", "10.0.0.0/8", "::1/128", "fc00::/7"));
+
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    void setUp() {
+        request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.2");
+    }
+
+    @Test
+    void resolve_UntrustedPeer_ShouldIgnoreForwardingHeaders() {
+        request.setRemoteAddr("198.51.100.7");
+        request.addHeader("X-Forwarded-For", "203.0.113.9");
+        request.addHeader("X-Real-IP", "203.0.113.10");
+
+        assertEquals("198.51.100.7", resolver.resolve(request).getHostAddress());
+    }
+
+    @Test
+    void resolve_TrustedPeer_ShouldReturnRightmostUntrustedHop() {
+        request.addHeader("X-Forwarded-For", "1.1.1.1, 203.0.113.9, 10.0.0.7");
+
+        assertEquals("203.0.113.9", resolver.resolve(request).getHostAddress());
+    }
+
+    @Test
+    void resolve_RepeatedForwardedForHeaders_ShouldBeReadAsOneChain() {
+        request.addHeader("X-Forwarded-For", "1.1.1.1");
+        request.addHeader("X-Forwarded-For", "203.0.113.9, 10.0.0.7");
+
+        assertEquals("203.0.113.9", resolver.resolve(request).getHostAddress());
+    }
+
+    @Test
+    void resolve_AllHopsTrusted_ShouldReturnLeftmostHop() {
+        request.addHeader("X-Forwarded-For", "10.0.0.9, 10.0.0.7");
+
+        assertEquals("10.0.0.9", resolver.resolve(request).getHostAddress());
+    }
+
+    @Test
+    void resolve_InvalidHop_ShouldStopAtLastValidHop() {
+        request.addHeader("X-Forwarded-For", "evil.example.com, 10.0.0.7");
+
+        assertEquals("10.0.0.7", resolver.resolve(request).getHostAddress());
+    }
+
+    @Test
+    void resolve_WithoutForwardedFor_ShouldUseRealIp() {
+        request.addHeader("X-Real-IP", "203.0.113.10");
+
+        assertEquals("203.0.113.10", resolver.resolve(request).getHostAddress());
+    }
+
+    @Test
+    void resolve_WithInvalidRealIp_ShouldUsePeer() {
+        request.addHeader("X-Real-IP", "not-an-ip");
+
+        assertEquals("10.0.0.2", resolver.resolve(request).getHostAddress());
+    }
+
+    @Test
+    void resolve_ShouldNormalizeEquivalentForms() {
+        request.addHeader("X-Forwarded-For", "[::ffff:203.0.113.9]:443");
+
+        ClientAddress address = resolver.resolve(request);
+
+        assertEquals("203.0.113.9", address.getHostAddress());
+        assertEquals(4, address.getBytes().length);
+    }
+
+    @Test
+    void resolve_Ipv6Client_ShouldReturnSixteenBytes() {
+        request.setRemoteAddr("::1");
+        request.addHeader("X-Forwarded-For", "2001:DB8::1");
+
+        ClientAddress address = resolver.resolve(request);
+
+        assertEquals(16, address.getBytes().length);
+        assertEquals("2001:db8:0:0:0:0:0:1", address.getHostAddress());
+    }
+
+    @Test
+    void resolve_ShouldCacheResultOnRequest() {
+        ClientAddress first = resolver.resolve(request);
+        request.setRemoteAddr("198.51.100.7");
+
+        assertSame(first, resolver.resolve(request));
+        assertSame(first, request.getAttribute(ClientAddressResolver.ATTRIBUTE));
+    }
+
+    @Test
+    void resolve_UnparsablePeer_ShouldReturnUnknown() {
+        request.setRemoteAddr("localhost");
+
+        assertFalse(resolver.resolve(request).isKnown());
+    }
+
+    @Test
+    void parseLiteral_ShouldRejectMalformedIpv4() {
+        assertNull(ClientAddressResolver.parseLiteral("256.1.1.1"));
+        assertNull(ClientAddressResolver.parseLiteral("1.2.3"));
+        assertNull(ClientAddressResolver.parseLiteral("1.2.3.4.5"));
+        assertNull(ClientAddressResolver.parseLiteral("1..2.3"));
+        assertNotNull(ClientAddressResolver.parseLiteral("203.0.113.9:8080"));
+    }
+
+    @Test
+    void constructor_WithInvalidCidr_ShouldFail() {
+        assertThrows(IllegalArgumentException.class, () -> new ClientAddressResolver(List.of("10.0.0.0/33")));
+        assertThrows(IllegalArgumentException.class, () -> new ClientAddressResolver(List.of("proxy.internal")));
+    }
+
+    @Test
+    void cidr_ShouldMatchPartialBytePrefix() {
+        ClientAddressResolver.Cidr cidr = ClientAddressResolver.Cidr.parse("172.16.0.0/12");
+
+        assertTrue(cidr.contains(ClientAddressResolver.parseLiteral("172.31.255.1")));
+        assertFalse(cidr.contains(ClientAddressResolver.parseLiteral("172.32.0.1")));
+        assertFalse(cidr.contains(ClientAddressResolver.parseLiteral("::1")));
+    }
+}